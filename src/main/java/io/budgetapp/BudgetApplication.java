@@ -1,23 +1,43 @@
 package io.budgetapp;
 
 import com.bazaarvoice.dropwizard.assets.ConfiguredAssetsBundle;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+import com.google.common.collect.ImmutableList;
 import io.budgetapp.application.ConstraintViolationExceptionMapper;
 import io.budgetapp.application.DataConstraintExceptionMapper;
 import io.budgetapp.application.NotFoundExceptionMapper;
+import io.budgetapp.application.RejectedExecutionExceptionMapper;
 import io.budgetapp.application.SQLConstraintViolationExceptionMapper;
+import io.budgetapp.application.SqlStatisticsFeature;
+import io.budgetapp.auth.CachingTokenAuthenticator;
 import io.budgetapp.auth.DefaultAuthorizer;
 import io.budgetapp.auth.DefaultUnauthorizedHandler;
 import io.budgetapp.auth.TokenAuthenticator;
 import io.budgetapp.configuration.AppConfiguration;
+import io.budgetapp.configuration.ImportConfiguration;
+import io.budgetapp.configuration.PasswordEncoderConfiguration;
+import io.budgetapp.configuration.RecurringConfiguration;
 import io.budgetapp.crypto.PasswordEncoder;
+import io.budgetapp.hibernate.HibernateStatisticsMetricSet;
+import io.budgetapp.hibernate.SqlStatisticsEventListener;
+import io.budgetapp.hibernate.SqlStatisticsSessionListener;
 import io.budgetapp.dao.*;
+import io.budgetapp.job.JobLeases;
 import io.budgetapp.job.RecurringJob;
+import io.budgetapp.job.RecurringPoster;
+import io.budgetapp.job.TransactionImporter;
 import io.budgetapp.managed.JobsManaged;
+import io.budgetapp.managed.LeaseManager;
 import io.budgetapp.managed.MigrationManaged;
+import io.budgetapp.managed.SuggestionManaged;
 import io.budgetapp.model.*;
 import io.budgetapp.resource.*;
 import io.budgetapp.service.FinanceService;
+import io.budgetapp.service.ImportService;
+import io.budgetapp.service.SuggestionService;
+import io.budgetapp.service.SummaryCache;
+import io.budgetapp.service.TransactionExporter;
 import io.dropwizard.Application;
 import io.dropwizard.auth.AuthDynamicFeature;
 import io.dropwizard.auth.AuthValueFactoryProvider;
@@ -26,16 +46,20 @@ import io.dropwizard.configuration.EnvironmentVariableSubstitutor;
 import io.dropwizard.configuration.SubstitutingSourceProvider;
 import io.dropwizard.db.DataSourceFactory;
 import io.dropwizard.hibernate.HibernateBundle;
+import io.dropwizard.hibernate.SessionFactoryFactory;
 import io.dropwizard.hibernate.UnitOfWorkAwareProxyFactory;
 import io.dropwizard.migrations.MigrationsBundle;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
 import org.glassfish.jersey.server.filter.RolesAllowedDynamicFeature;
+import org.hibernate.cfg.AvailableSettings;
 import org.tuckey.web.filters.urlrewrite.UrlRewriteFilter;
 
 import javax.servlet.DispatcherType;
 import javax.servlet.FilterRegistration;
 import java.util.EnumSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
 
 /**
  *
@@ -46,7 +70,9 @@ public class BudgetApplication extends Application<AppConfiguration> {
         new BudgetApplication().run(args);
     }
 
-    private final HibernateBundle<AppConfiguration> hibernate = new HibernateBundle<AppConfiguration>(User.class, Category.class, Budget.class, BudgetType.class, Transaction.class, Recurring.class, AuthToken.class) {
+    public static final ImmutableList<Class<?>> ENTITIES = ImmutableList.of(User.class, Category.class, Budget.class, BudgetType.class, Transaction.class, Recurring.class, AuthToken.class, MonthlyRollup.class, DailySpend.class, JobLease.class);
+
+    private final HibernateBundle<AppConfiguration> hibernate = new HibernateBundle<AppConfiguration>(ENTITIES, new SessionFactoryFactory()) {
 
         @Override
         protected Hibernate5Module createHibernate5Module() {
@@ -61,8 +87,26 @@ public class BudgetApplication extends Application<AppConfiguration> {
         public DataSourceFactory getDataSourceFactory(AppConfiguration configuration) {
             return configuration.getDataSourceFactory();
         }
+
+        @Override
+        protected void configure(org.hibernate.cfg.Configuration configuration) {
+            // JDBC batching for bulk writes, can be overridden in database properties
+            setDefaultProperty(configuration, AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(DefaultDAO.BATCH_SIZE));
+            setDefaultProperty(configuration, AvailableSettings.ORDER_INSERTS, "true");
+            setDefaultProperty(configuration, AvailableSettings.ORDER_UPDATES, "true");
+            // application wide statistics for the admin metrics, per request statistics through the session listener
+            setDefaultProperty(configuration, AvailableSettings.GENERATE_STATISTICS, "true");
+            setDefaultProperty(configuration, AvailableSettings.LOG_SESSION_METRICS, "false");
+            setDefaultProperty(configuration, AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlStatisticsSessionListener.class.getName());
+        }
     };
 
+    private static void setDefaultProperty(org.hibernate.cfg.Configuration configuration, String key, String value) {
+        if(configuration.getProperty(key) == null) {
+            configuration.setProperty(key, value);
+        }
+    }
+
     @Override
     public String getName() {
         return "budget-app";
@@ -94,7 +138,14 @@ public class BudgetApplication extends Application<AppConfiguration> {
     public void run(AppConfiguration configuration, Environment environment) {
 
         // password encoder
-        final PasswordEncoder passwordEncoder = new PasswordEncoder();
+        final PasswordEncoderConfiguration passwordConfiguration = configuration.getPasswordEncoder();
+        final ExecutorService passwordExecutor = environment.lifecycle()
+                .executorService("password-encoder-%d")
+                .minThreads(passwordConfiguration.getEffectiveThreads())
+                .maxThreads(passwordConfiguration.getEffectiveThreads())
+                .workQueue(new ArrayBlockingQueue<>(passwordConfiguration.getQueueSize()))
+                .build();
+        final PasswordEncoder passwordEncoder = new PasswordEncoder("", passwordConfiguration.getIterations(), passwordExecutor);
 
         // DAO
         final CategoryDAO categoryDAO = new CategoryDAO(hibernate.getSessionFactory(), configuration);
@@ -104,20 +155,61 @@ public class BudgetApplication extends Application<AppConfiguration> {
         final TransactionDAO transactionDAO = new TransactionDAO(hibernate.getSessionFactory());
         final RecurringDAO recurringDAO = new RecurringDAO(hibernate.getSessionFactory());
         final AuthTokenDAO authTokenDAO = new AuthTokenDAO(hibernate.getSessionFactory());
+        final MonthlyRollupDAO monthlyRollupDAO = new MonthlyRollupDAO(hibernate.getSessionFactory());
+        final DailySpendDAO dailySpendDAO = new DailySpendDAO(hibernate.getSessionFactory());
+        final JobLeaseDAO jobLeaseDAO = new JobLeaseDAO(hibernate.getSessionFactory());
 
         // service
-        final FinanceService financeService = new FinanceService(userDAO, budgetDAO, budgetTypeDAO, categoryDAO, transactionDAO, recurringDAO, authTokenDAO, passwordEncoder);
+        final FinanceService financeService = new FinanceService(userDAO, budgetDAO, budgetTypeDAO, categoryDAO, transactionDAO, recurringDAO, authTokenDAO, monthlyRollupDAO, dailySpendDAO, passwordEncoder);
 
         // jobs
-        final RecurringJob recurringJob = new UnitOfWorkAwareProxyFactory(hibernate).create(RecurringJob.class, FinanceService.class, financeService);
+        final RecurringConfiguration recurringConfiguration = configuration.getRecurring();
+        final ExecutorService recurringExecutor = environment.lifecycle()
+                .executorService("recurring-%d")
+                .minThreads(recurringConfiguration.getThreads())
+                .maxThreads(recurringConfiguration.getThreads())
+                .build();
+        final RecurringPoster recurringPoster = new UnitOfWorkAwareProxyFactory(hibernate).create(RecurringPoster.class, FinanceService.class, financeService);
+        final JobLeases recurringLeases = new UnitOfWorkAwareProxyFactory(hibernate).create(JobLeases.class,
+                new Class<?>[]{JobLeaseDAO.class, String.class, int.class}, new Object[]{jobLeaseDAO, "recurring", recurringConfiguration.getPartitions()});
+        final LeaseManager leaseManager = new LeaseManager(recurringLeases, recurringConfiguration.getLeaseDuration().toMilliseconds());
+        final RecurringJob recurringJob = new RecurringJob(recurringPoster, leaseManager, recurringExecutor, recurringConfiguration, environment.metrics());
+
+        // import
+        final ImportConfiguration importConfiguration = configuration.getTransactionImport();
+        final ExecutorService importExecutor = environment.lifecycle()
+                .executorService("transaction-import-%d")
+                .minThreads(importConfiguration.getThreads())
+                .maxThreads(importConfiguration.getThreads())
+                .workQueue(new ArrayBlockingQueue<>(importConfiguration.getQueueSize()))
+                .build();
+        final TransactionImporter transactionImporter = new UnitOfWorkAwareProxyFactory(hibernate).create(TransactionImporter.class, FinanceService.class, financeService);
+        final ImportService importService = new ImportService(transactionImporter, importExecutor, importConfiguration);
+
+        // export
+        final TransactionExporter transactionExporter = new UnitOfWorkAwareProxyFactory(hibernate).create(TransactionExporter.class,
+                new Class<?>[]{TransactionDAO.class, ObjectMapper.class}, new Object[]{transactionDAO, environment.getObjectMapper()});
+
+        // suggestion
+        final SuggestionService suggestionService = new SuggestionService(hibernate.getSessionFactory());
+        financeService.addListener(suggestionService);
+
+        // summary cache
+        final SummaryCache summaryCache = new SummaryCache(environment.metrics(), hibernate.getSessionFactory(), configuration.getSummaryCachePolicy());
+        financeService.addListener(summaryCache);
+
+        // auth
+        TokenAuthenticator tokenAuthenticator = new UnitOfWorkAwareProxyFactory(hibernate).create(TokenAuthenticator.class, FinanceService.class, financeService);
+        CachingTokenAuthenticator cachingTokenAuthenticator = new CachingTokenAuthenticator(environment.metrics(), tokenAuthenticator, hibernate.getSessionFactory(), configuration.getAuthenticationCachePolicy());
 
         // resource
-        environment.jersey().register(new UserResource(financeService));
-        environment.jersey().register(new CategoryResource(financeService));
-        environment.jersey().register(new BudgetResource(financeService));
-        environment.jersey().register(new TransactionResource(financeService));
+        environment.jersey().register(new UserResource(financeService, summaryCache, cachingTokenAuthenticator));
+        environment.jersey().register(new CategoryResource(financeService, summaryCache, suggestionService));
+        environment.jersey().register(new BudgetResource(financeService, suggestionService));
+        environment.jersey().register(new TransactionResource(financeService, summaryCache, importService));
         environment.jersey().register(new RecurringResource(financeService));
-        environment.jersey().register(new ReportResource(financeService));
+        environment.jersey().register(new ReportResource(financeService, transactionExporter));
+        environment.jersey().register(new DashboardResource(financeService, summaryCache));
 
         // health check
         environment.jersey().register(new HealthCheckResource(environment.healthChecks()));
@@ -125,13 +217,18 @@ public class BudgetApplication extends Application<AppConfiguration> {
 
         // managed
         environment.lifecycle().manage(new MigrationManaged(configuration));
-        environment.lifecycle().manage(new JobsManaged(recurringJob));
+        environment.lifecycle().manage(new UnitOfWorkAwareProxyFactory(hibernate).create(SuggestionManaged.class,
+                new Class<?>[]{BudgetDAO.class, CategoryDAO.class, SuggestionService.class}, new Object[]{budgetDAO, categoryDAO, suggestionService}));
+        final JobsManaged jobsManaged = new JobsManaged(recurringJob);
+        financeService.addListener(jobsManaged);
+        leaseManager.addListener(jobsManaged);
+        environment.lifecycle().manage(leaseManager);
+        environment.lifecycle().manage(jobsManaged);
 
-        // auth
-        TokenAuthenticator tokenAuthenticator = new UnitOfWorkAwareProxyFactory(hibernate).create(TokenAuthenticator.class, FinanceService.class, financeService);
+        // auth filter
         final OAuthCredentialAuthFilter<User> authFilter =
                 new OAuthCredentialAuthFilter.Builder<User>()
-                        .setAuthenticator(tokenAuthenticator)
+                        .setAuthenticator(cachingTokenAuthenticator)
                         .setPrefix("Bearer")
                         .setAuthorizer(new DefaultAuthorizer())
                         .setUnauthorizedHandler(new DefaultUnauthorizedHandler())
@@ -149,11 +246,17 @@ public class BudgetApplication extends Application<AppConfiguration> {
         // FilterRegistration.Dynamic filterSlow = environment.servlets().addFilter("slowFilter", SlowNetworkFilter.class);
         // filterSlow.addMappingForUrlPatterns(EnumSet.of(DispatcherType.REQUEST, DispatcherType.FORWARD), false, "/*");
 
+        // sql statistics
+        SqlStatisticsEventListener.register(hibernate.getSessionFactory());
+        environment.metrics().registerAll(new HibernateStatisticsMetricSet(hibernate.getSessionFactory().getStatistics()));
+        environment.jersey().register(new SqlStatisticsFeature(environment.metrics(), configuration.isSqlCountHeader()));
+
         // exception mapper
         environment.jersey().register(new NotFoundExceptionMapper());
         environment.jersey().register(new DataConstraintExceptionMapper());
         environment.jersey().register(new ConstraintViolationExceptionMapper());
         environment.jersey().register(new SQLConstraintViolationExceptionMapper());
+        environment.jersey().register(new RejectedExecutionExceptionMapper());
 
     }
 
@@ -0,0 +1,25 @@
+package io.budgetapp.application;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+import java.util.Collections;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * bounded worker pool (e.g. password hashing) is saturated
+ */
+@Provider
+public class RejectedExecutionExceptionMapper implements ExceptionMapper<RejectedExecutionException> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RejectedExecutionExceptionMapper.class);
+
+    @Override
+    public Response toResponse(RejectedExecutionException e) {
+        LOGGER.warn("Rejected request: {}", e.getMessage());
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE).entity(Collections.singletonMap("errors", Collections.singletonMap("message", Collections.singletonList("Server is busy, please try again later.")))).build();
+    }
+}
@@ -0,0 +1,82 @@
+package io.budgetapp.application;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.budgetapp.hibernate.SqlStatistics;
+
+import javax.annotation.Priority;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Record the SQL work of every resource method call into histograms named after the resource method,
+ * e.g. <code>io.budgetapp.resource.UserResource.getAccountSummary.sql-statements</code>.
+ * Runs before authentication so that token lookups are counted.
+ */
+public class SqlStatisticsFeature implements DynamicFeature {
+
+    public static final String SQL_COUNT_HEADER = "X-SQL-Count";
+
+    private final MetricRegistry metricRegistry;
+    private final boolean header;
+
+    /**
+     * @param header add the {@link #SQL_COUNT_HEADER} response header
+     */
+    public SqlStatisticsFeature(MetricRegistry metricRegistry, boolean header) {
+        this.metricRegistry = metricRegistry;
+        this.header = header;
+    }
+
+    @Override
+    public void configure(ResourceInfo resourceInfo, FeatureContext context) {
+        String name = MetricRegistry.name(resourceInfo.getResourceClass(), resourceInfo.getResourceMethod().getName());
+        context.register(new SqlStatisticsFilter(metricRegistry, name, header));
+    }
+
+    @Priority(0)
+    private static class SqlStatisticsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+        private final Histogram statements;
+        private final Histogram entityLoads;
+        private final Histogram collectionFetches;
+        private final Timer flushes;
+        private final boolean header;
+
+        private SqlStatisticsFilter(MetricRegistry metricRegistry, String name, boolean header) {
+            this.statements = metricRegistry.histogram(MetricRegistry.name(name, "sql-statements"));
+            this.entityLoads = metricRegistry.histogram(MetricRegistry.name(name, "entity-loads"));
+            this.collectionFetches = metricRegistry.histogram(MetricRegistry.name(name, "collection-fetches"));
+            this.flushes = metricRegistry.timer(MetricRegistry.name(name, "flush-time"));
+            this.header = header;
+        }
+
+        @Override
+        public void filter(ContainerRequestContext requestContext) {
+            SqlStatistics.start();
+        }
+
+        @Override
+        public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+            SqlStatistics statistics = SqlStatistics.current();
+            SqlStatistics.stop();
+            if(statistics == null) {
+                return;
+            }
+            statements.update(statistics.getStatements());
+            entityLoads.update(statistics.getEntityLoads());
+            collectionFetches.update(statistics.getCollectionFetches());
+            flushes.update(statistics.getFlushNanos(), TimeUnit.NANOSECONDS);
+            if(header) {
+                responseContext.getHeaders().putSingle(SQL_COUNT_HEADER, statistics.getStatements());
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package io.budgetapp.auth;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheBuilderSpec;
+import io.budgetapp.model.User;
+import io.dropwizard.auth.AuthenticationException;
+import io.dropwizard.auth.Authenticator;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+
+import javax.transaction.Synchronization;
+import java.util.Date;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Bounded token to principal cache in front of the token authenticator,
+ * a cache hit costs no database work. The cache holds an immutable snapshot without the password,
+ * every request gets its own {@link User} copy, writes load the user entity in their unit of work.
+ * Invalidations are repeated after the writing transaction completed, and a lookup that overlapped
+ * an invalidation is not cached, so a principal read before a commit does not outlive it.
+ */
+public class CachingTokenAuthenticator implements Authenticator<String, User> {
+
+    private final Authenticator<String, User> underlying;
+    private final SessionFactory sessionFactory;
+    private final Cache<String, CachedPrincipal> cache;
+    // bumped by every invalidation
+    private final AtomicLong generation = new AtomicLong();
+    private final Meter hits;
+    private final Meter misses;
+
+    public CachingTokenAuthenticator(MetricRegistry metricRegistry, Authenticator<String, User> underlying, SessionFactory sessionFactory, CacheBuilderSpec cacheSpec) {
+        this.underlying = underlying;
+        this.sessionFactory = sessionFactory;
+        this.cache = CacheBuilder.from(cacheSpec).recordStats().build();
+        this.hits = metricRegistry.meter(name(CachingTokenAuthenticator.class, "hits"));
+        this.misses = metricRegistry.meter(name(CachingTokenAuthenticator.class, "misses"));
+        metricRegistry.register(name(CachingTokenAuthenticator.class, "size"), (Gauge<Long>) cache::size);
+        metricRegistry.register(name(CachingTokenAuthenticator.class, "evictions"), (Gauge<Long>) () -> cache.stats().evictionCount());
+        metricRegistry.register(name(CachingTokenAuthenticator.class, "hit-ratio"), (Gauge<Double>) () -> cache.stats().hitRate());
+    }
+
+    @Override
+    public Optional<User> authenticate(String token) throws AuthenticationException {
+        CachedPrincipal principal = cache.getIfPresent(token);
+        if(principal != null) {
+            hits.mark();
+            return Optional.of(principal.toUser());
+        }
+
+        misses.mark();
+        long loading = generation.get();
+        Optional<User> optional = underlying.authenticate(token);
+        if(!optional.isPresent()) {
+            return optional;
+        }
+        principal = new CachedPrincipal(optional.get(), token);
+        if(generation.get() == loading) {
+            cache.put(token, principal);
+            // an invalidation between the check and the put might have missed the entry
+            if(generation.get() != loading) {
+                cache.invalidate(token);
+            }
+        }
+        return Optional.of(principal.toUser());
+    }
+
+    /**
+     * remove a revoked token
+     * @param token
+     */
+    public void invalidate(String token) {
+        remove(token);
+        afterCompletion(() -> remove(token));
+    }
+
+    /**
+     * remove all tokens belong to given user, e.g. after password or profile changed
+     * @param user
+     */
+    public void invalidate(User user) {
+        Long userId = user.getId();
+        remove(userId);
+        afterCompletion(() -> remove(userId));
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    private void remove(String token) {
+        generation.incrementAndGet();
+        cache.invalidate(token);
+    }
+
+    private void remove(Long userId) {
+        generation.incrementAndGet();
+        cache.asMap().values().removeIf(principal -> Objects.equals(principal.id, userId));
+    }
+
+    private void afterCompletion(Runnable runnable) {
+        Transaction transaction = sessionFactory.getCurrentSession().getTransaction();
+        if(transaction.isActive()) {
+            transaction.registerSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    runnable.run();
+                }
+            });
+        }
+    }
+
+    private static final class CachedPrincipal {
+
+        private final Long id;
+        private final String username;
+        private final String name;
+        private final String currency;
+        private final Date createdAt;
+        private final String token;
+
+        private CachedPrincipal(User user, String token) {
+            this.id = user.getId();
+            this.username = user.getUsername();
+            this.name = user.getName();
+            this.currency = user.getCurrency();
+            this.createdAt = user.getCreatedAt() == null ? null : new Date(user.getCreatedAt().getTime());
+            this.token = token;
+        }
+
+        private User toUser() {
+            User user = new User();
+            user.setId(id);
+            user.setUsername(username);
+            user.setName(name);
+            user.setCurrency(currency);
+            user.setCreatedAt(createdAt == null ? null : new Date(createdAt.getTime()));
+            user.setToken(token);
+            return user;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package io.budgetapp.configuration;
 import com.bazaarvoice.dropwizard.assets.AssetsBundleConfiguration;
 import com.bazaarvoice.dropwizard.assets.AssetsConfiguration;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.cache.CacheBuilderSpec;
 import io.budgetapp.model.Budget;
 import io.budgetapp.model.Category;
 import io.dropwizard.Configuration;
@@ -37,6 +38,32 @@ public class AppConfiguration extends Configuration implements AssetsBundleConfi
     @JsonProperty("budgets")
     private Map<String, List<Budget>> budgets = new LinkedHashMap<>();
 
+    @Valid
+    @NotNull
+    private PasswordEncoderConfiguration passwordEncoder = new PasswordEncoderConfiguration();
+
+    @Valid
+    @NotNull
+    private ImportConfiguration transactionImport = new ImportConfiguration();
+
+    @Valid
+    @NotNull
+    private RecurringConfiguration recurring = new RecurringConfiguration();
+
+    /**
+     * add the X-SQL-Count header with the number of SQL statements to API responses
+     */
+    private boolean sqlCountHeader = false;
+
+    @NotNull
+    private CacheBuilderSpec authenticationCachePolicy = CacheBuilderSpec.parse("maximumSize=10000, expireAfterWrite=10m");
+
+    /**
+     * summaries are weighted by their rows, so the policy bounds them by maximumWeight rather than maximumSize
+     */
+    @NotNull
+    private CacheBuilderSpec summaryCachePolicy = CacheBuilderSpec.parse("maximumWeight=200000, expireAfterAccess=1h");
+
     public DataSourceFactory getDataSourceFactory() {
         return database;
     }
@@ -72,4 +99,64 @@ public class AppConfiguration extends Configuration implements AssetsBundleConfi
     public Map<String, List<Budget>> getBudgets() {
         return budgets;
     }
-}
\ No newline at end of file
+
+    @JsonProperty("passwordEncoder")
+    public PasswordEncoderConfiguration getPasswordEncoder() {
+        return passwordEncoder;
+    }
+
+    @JsonProperty("passwordEncoder")
+    public void setPasswordEncoder(PasswordEncoderConfiguration passwordEncoder) {
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @JsonProperty("transactionImport")
+    public ImportConfiguration getTransactionImport() {
+        return transactionImport;
+    }
+
+    @JsonProperty("transactionImport")
+    public void setTransactionImport(ImportConfiguration transactionImport) {
+        this.transactionImport = transactionImport;
+    }
+
+    @JsonProperty("recurring")
+    public RecurringConfiguration getRecurring() {
+        return recurring;
+    }
+
+    @JsonProperty("recurring")
+    public void setRecurring(RecurringConfiguration recurring) {
+        this.recurring = recurring;
+    }
+
+    @JsonProperty("authenticationCachePolicy")
+    public CacheBuilderSpec getAuthenticationCachePolicy() {
+        return authenticationCachePolicy;
+    }
+
+    @JsonProperty("authenticationCachePolicy")
+    public void setAuthenticationCachePolicy(CacheBuilderSpec authenticationCachePolicy) {
+        this.authenticationCachePolicy = authenticationCachePolicy;
+    }
+
+    @JsonProperty("summaryCachePolicy")
+    public CacheBuilderSpec getSummaryCachePolicy() {
+        return summaryCachePolicy;
+    }
+
+    @JsonProperty("summaryCachePolicy")
+    public void setSummaryCachePolicy(CacheBuilderSpec summaryCachePolicy) {
+        this.summaryCachePolicy = summaryCachePolicy;
+    }
+
+    @JsonProperty("sqlCountHeader")
+    public boolean isSqlCountHeader() {
+        return sqlCountHeader;
+    }
+
+    @JsonProperty("sqlCountHeader")
+    public void setSqlCountHeader(boolean sqlCountHeader) {
+        this.sqlCountHeader = sqlCountHeader;
+    }
+}
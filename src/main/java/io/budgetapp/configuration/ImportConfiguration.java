@@ -0,0 +1,94 @@
+package io.budgetapp.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.util.Size;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ *
+ */
+public class ImportConfiguration {
+
+    /**
+     * rows committed per database transaction
+     */
+    @Min(1)
+    private int chunkSize = 500;
+
+    /**
+     * imports running at the same time
+     */
+    @Min(1)
+    private int threads = 1;
+
+    /**
+     * pending imports before reject
+     */
+    @Min(1)
+    private int queueSize = 16;
+
+    /**
+     * how long the status of an import is kept after last access
+     */
+    @NotNull
+    private Duration retention = Duration.hours(1);
+
+    /**
+     * largest accepted CSV upload
+     */
+    @NotNull
+    private Size maxFileSize = Size.megabytes(10);
+
+    @JsonProperty
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    @JsonProperty
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    @JsonProperty
+    public int getThreads() {
+        return threads;
+    }
+
+    @JsonProperty
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    @JsonProperty
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    @JsonProperty
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    @JsonProperty
+    public Duration getRetention() {
+        return retention;
+    }
+
+    @JsonProperty
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    @JsonProperty
+    public Size getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    @JsonProperty
+    public void setMaxFileSize(Size maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+}
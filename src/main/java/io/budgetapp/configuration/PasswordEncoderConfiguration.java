@@ -0,0 +1,64 @@
+package io.budgetapp.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.budgetapp.crypto.PasswordEncoder;
+
+import javax.validation.constraints.Min;
+
+/**
+ *
+ */
+public class PasswordEncoderConfiguration {
+
+    /**
+     * work factor for newly encoded password
+     */
+    @Min(1)
+    private int iterations = PasswordEncoder.DEFAULT_ITERATIONS;
+
+    /**
+     * hashing threads, 0 means one per available processor
+     */
+    @Min(0)
+    private int threads = 0;
+
+    /**
+     * pending hashing requests before reject
+     */
+    @Min(1)
+    private int queueSize = 1024;
+
+    @JsonProperty
+    public int getIterations() {
+        return iterations;
+    }
+
+    @JsonProperty
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    @JsonProperty
+    public int getThreads() {
+        return threads;
+    }
+
+    @JsonProperty
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    @JsonProperty
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    @JsonProperty
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public int getEffectiveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,77 @@
+package io.budgetapp.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ *
+ */
+public class RecurringConfiguration {
+
+    /**
+     * recurrings posted per database transaction
+     */
+    @Min(1)
+    private int chunkSize = 500;
+
+    /**
+     * workers posting at the same time, each worker owns the users with <code>user id % threads</code>
+     */
+    @Min(1)
+    private int threads = 4;
+
+    /**
+     * leases spread across the instances, each lease covers the users with <code>user id % partitions</code>
+     */
+    @Min(1)
+    private int partitions = 16;
+
+    /**
+     * how long an instance owns its partitions without renewal, renewed three times per duration
+     */
+    @NotNull
+    private Duration leaseDuration = Duration.seconds(30);
+
+    @JsonProperty
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    @JsonProperty
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    @JsonProperty
+    public int getThreads() {
+        return threads;
+    }
+
+    @JsonProperty
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    @JsonProperty
+    public int getPartitions() {
+        return partitions;
+    }
+
+    @JsonProperty
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
+    @JsonProperty
+    public Duration getLeaseDuration() {
+        return leaseDuration;
+    }
+
+    @JsonProperty
+    public void setLeaseDuration(Duration leaseDuration) {
+        this.leaseDuration = leaseDuration;
+    }
+}
@@ -1,26 +1,54 @@
 package io.budgetapp.crypto;
 
 
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
 /**
+ * Salted, iterated SHA-256 password encoder.
  *
+ * Encoded password format is <code>$v1$&lt;iterations&gt;$&lt;hex(salt + digest)&gt;</code>,
+ * legacy encoded password (plain hex) always use {@link #LEGACY_ITERATIONS}.
  */
 public class PasswordEncoder {
 
-    private static final int DEFAULT_ITERATIONS = 1024;
+    public static final int DEFAULT_ITERATIONS = 1024;
+    public static final int LEGACY_ITERATIONS = 1024;
     private static final String DEFAULT_ALGORITHM = "SHA-256";
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "$";
+    private static final String PREFIX = SEPARATOR + VERSION + SEPARATOR;
 
     private final SaltGenerator saltGenerator;
     private final Digester digester;
     private final byte[] secret;
+    private final ExecutorService executor;
 
     public PasswordEncoder() {
         this("");
     }
 
     public PasswordEncoder(String secret) {
-        this.digester = new Digester(DEFAULT_ALGORITHM, DEFAULT_ITERATIONS);
+        this(secret, DEFAULT_ITERATIONS, MoreExecutors.newDirectExecutorService());
+    }
+
+    /**
+     * @param secret application wide secret
+     * @param iterations work factor for new encoded password
+     * @param executor bounded executor which run the hashing
+     */
+    public PasswordEncoder(String secret, int iterations, ExecutorService executor) {
+        if(iterations < 1) {
+            throw new IllegalArgumentException("iterations must be positive");
+        }
+        this.digester = new Digester(DEFAULT_ALGORITHM, iterations);
         this.secret = Utf8.encode(secret);
         this.saltGenerator = new SaltGenerator();
+        this.executor = executor;
     }
 
     public String encode(CharSequence rawPassword) {
@@ -28,9 +56,18 @@ public class PasswordEncoder {
     }
 
     public boolean matches(CharSequence rawPassword, String encodedPassword) {
-        byte[] digested = decode(encodedPassword);
+        int iterations = iterations(encodedPassword);
+        byte[] digested = decode(hash(encodedPassword));
         byte[] salt = subArray(digested, 0, saltGenerator.getKeyLength());
-        return matches(digested, digest(rawPassword, salt));
+        return matches(digested, digest(rawPassword, salt, iterations));
+    }
+
+    /**
+     * Whether the encoded password was produced with an older format or a
+     * lower work factor, and should be encoded again.
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return !encodedPassword.startsWith(PREFIX) || iterations(encodedPassword) < digester.getIterations();
     }
 
     /**
@@ -49,20 +86,52 @@ public class PasswordEncoder {
     }
 
     private String encode(CharSequence rawPassword, byte[] salt) {
-        byte[] digest = digest(rawPassword, salt);
-        return new String(Hex.encode(digest));
+        int iterations = digester.getIterations();
+        byte[] digest = digest(rawPassword, salt, iterations);
+        return PREFIX + iterations + SEPARATOR + new String(Hex.encode(digest));
     }
 
     private byte[] decode(CharSequence encodedPassword) {
         return Hex.decode(encodedPassword);
     }
 
+    private int iterations(String encodedPassword) {
+        if(!encodedPassword.startsWith(PREFIX)) {
+            return LEGACY_ITERATIONS;
+        }
+        int end = encodedPassword.indexOf(SEPARATOR, PREFIX.length());
+        if(end < 0) {
+            throw new IllegalArgumentException("Invalid encoded password");
+        }
+        return Integer.parseInt(encodedPassword.substring(PREFIX.length(), end));
+    }
+
+    private String hash(String encodedPassword) {
+        if(!encodedPassword.startsWith(PREFIX)) {
+            return encodedPassword;
+        }
+        return encodedPassword.substring(encodedPassword.indexOf(SEPARATOR, PREFIX.length()) + 1);
+    }
 
-    private byte[] digest(CharSequence rawPassword, byte[] salt) {
-        byte[] digest = digester.digest(concatenate(salt, secret, Utf8.encode(rawPassword)));
+    private byte[] digest(CharSequence rawPassword, byte[] salt, int iterations) {
+        byte[] input = concatenate(salt, secret, Utf8.encode(rawPassword));
+        byte[] digest = execute(() -> digester.digest(input, iterations));
         return concatenate(salt, digest);
     }
 
+    private <T> T execute(Callable<T> task) {
+        Future<T> future = executor.submit(task);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to hash password", e.getCause());
+        }
+    }
+
     /**
      * Combine the individual byte arrays into one array.
      */
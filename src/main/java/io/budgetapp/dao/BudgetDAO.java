@@ -1,14 +1,15 @@
 package io.budgetapp.dao;
 
 import io.budgetapp.model.Budget;
-import io.budgetapp.util.Util;
+import io.budgetapp.model.NameUsage;
+import io.budgetapp.util.PeriodKey;
 import io.budgetapp.application.AccessDeniedException;
 import io.budgetapp.application.NotFoundException;
 import io.budgetapp.configuration.AppConfiguration;
 import io.budgetapp.model.User;
-import io.dropwizard.hibernate.AbstractDAO;
 import org.hibernate.Criteria;
 import org.hibernate.FetchMode;
+import org.hibernate.LockMode;
 import org.hibernate.SessionFactory;
 import org.hibernate.criterion.Order;
 import org.hibernate.criterion.Projections;
@@ -27,7 +28,7 @@ import java.util.Objects;
 /**
  *
  */
-public class BudgetDAO extends AbstractDAO<Budget> {
+public class BudgetDAO extends DefaultDAO<Budget> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BudgetDAO.class);
 
@@ -46,13 +47,31 @@ public class BudgetDAO extends AbstractDAO<Budget> {
      */
     public Budget addBudget(User user, Budget budget) {
         LOGGER.debug("User {} add budget {}", user, budget);
-        if(budget.getPeriod() == null) {
-            budget.setPeriod(Util.currentYearMonth());
+        if(budget.getPeriodKey() == 0) {
+            budget.setPeriodKey(PeriodKey.current());
         }
         budget.setUser(user);
         return persist(budget);
     }
 
+    /**
+     * add budgets for a given user with JDBC batching
+     * @param user owner
+     * @param budgets new budgets
+     * @return new budgets
+     */
+    public List<Budget> addBudgets(User user, List<Budget> budgets) {
+        LOGGER.debug("User {} add {} budgets", user, budgets.size());
+        int currentPeriod = PeriodKey.current();
+        for (Budget budget : budgets) {
+            if(budget.getPeriodKey() == 0) {
+                budget.setPeriodKey(currentPeriod);
+            }
+            budget.setUser(user);
+        }
+        return persistAll(budgets);
+    }
+
     /**
      * find budgets for a given user for current month-year
      * @param user
@@ -73,13 +92,12 @@ public class BudgetDAO extends AbstractDAO<Budget> {
      */
     public List<Budget> findBudgets(User user, int month, int year, boolean lazy) {
         LOGGER.debug("Find budgets by user {} by date {}-{}", user, month, year);
-        Date yearMonth = Util.yearMonthDate(month, year);
         Criteria criteria = criteria();
         if(!lazy) {
             criteria.setFetchMode("category", FetchMode.JOIN);
         }
         criteria.add(Restrictions.eq("user", user));
-        criteria.add(Restrictions.eq("period", yearMonth));
+        criteria.add(Restrictions.eq("periodKey", PeriodKey.of(month, year)));
         criteria.addOrder(Order.asc("id"));
         return list(criteria);
     }
@@ -143,19 +161,31 @@ public class BudgetDAO extends AbstractDAO<Budget> {
     }
 
     /**
-     * find all budgets for given user and ids
+     * find all budgets for given user and ids to change their actual amounts,
+     * locked in the order of their ids until the unit of work ends
      * @param user
      * @param budgetIds
      * @return
      */
     public List<Budget> findByIds(User user, Collection<Long> budgetIds) {
-        List<Budget> budgets = findByIds(budgetIds);
+        Criteria criteria = criteria();
+        criteria.add(Restrictions.in("id", budgetIds));
+        criteria.addOrder(Order.asc("id"));
+        criteria.setLockMode(LockMode.PESSIMISTIC_WRITE);
+        List<Budget> budgets = list(criteria);
         for (Budget budget : budgets) {
             checkBudget(user, budget);
         }
         return budgets;
     }
 
+    /**
+     * lock the budget until the unit of work ends and reload its amounts, before changing them
+     */
+    public void lock(Budget budget) {
+        currentSession().refresh(budget, LockMode.PESSIMISTIC_WRITE);
+    }
+
     public void update(Budget budget) {
         persist(budget);
     }
@@ -168,42 +198,48 @@ public class BudgetDAO extends AbstractDAO<Budget> {
     }
 
     public List<Budget> findByRange(User user, int startMonth, int startYear, int endMonth, int endYear) {
-        Date start = Util.yearMonthDate(startMonth, startYear);
-        Date end = Util.yearMonthDate(endMonth, endYear);
-        Query<Budget> query = query("FROM Budget b WHERE b.user = :user AND b.period BETWEEN :start AND :end");
+        Query<Budget> query = query("FROM Budget b WHERE b.user = :user AND b.periodKey BETWEEN :start AND :end");
         query
                 .setParameter("user", user)
-                .setParameter("start", start)
-                .setParameter("end", end);
+                .setParameter("start", PeriodKey.of(startMonth, startYear))
+                .setParameter("end", PeriodKey.of(endMonth, endYear));
 
         return list(query);
     }
 
     public Budget findByBudgetType(Long budgetTypeId) {
-        Date now = Util.currentYearMonth();
-        Query<Budget> query = query("FROM Budget b WHERE b.budgetType.id = :budgetTypeId AND b.period = :period");
+        Query<Budget> query = query("FROM Budget b WHERE b.budgetType.id = :budgetTypeId AND b.periodKey = :periodKey");
         query
                 .setParameter("budgetTypeId", budgetTypeId)
-                .setParameter("period", now);
+                .setParameter("periodKey", PeriodKey.current());
         return uniqueResult(query);
     }
 
+    /**
+     * current month budgets of the given budget types, with their category
+     */
+    public List<Budget> findByBudgetTypes(Collection<Long> budgetTypeIds) {
+        Query<Budget> query = query("FROM Budget b JOIN FETCH b.category WHERE b.budgetType.id IN (:budgetTypeIds) AND b.periodKey = :periodKey");
+        query
+                .setParameterList("budgetTypeIds", budgetTypeIds)
+                .setParameter("periodKey", PeriodKey.current());
+        return list(query);
+    }
+
     public List<Budget> findByUserAndCategory(User user, long categoryId) {
         Criteria criteria = userCriteria(user);
         criteria.add(Restrictions.eq("category.id", categoryId));
-        criteria.add(Restrictions.eq("period", Util.currentYearMonth()));
+        criteria.add(Restrictions.eq("periodKey", PeriodKey.current()));
         return list(criteria);
     }
 
-    public List<String> findSuggestions(User user, String q) {
-        q = q == null? "": q.toLowerCase();
-
-        Query<String> query = currentSession().createQuery("SELECT b.name FROM Budget l WHERE b.user != :user AND LOWER(b.name) LIKE :q", String.class);
-        query
-                .setParameter("user", user)
-                .setParameter("q", "%" + q + "%");
-
-        return query.list();
+    /**
+     * usage of every distinct budget name, reads the whole table
+     */
+    public List<NameUsage> findNameUsages() {
+        return currentSession()
+                .createQuery("SELECT NEW io.budgetapp.model.NameUsage(b.name, COUNT(b), MIN(b.user.id), MAX(b.user.id)) FROM Budget b GROUP BY b.name", NameUsage.class)
+                .list();
     }
 
     private Criteria defaultCriteria() {
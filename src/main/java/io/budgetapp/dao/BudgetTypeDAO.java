@@ -1,13 +1,15 @@
 package io.budgetapp.dao;
 
 import io.budgetapp.model.BudgetType;
-import io.dropwizard.hibernate.AbstractDAO;
 import org.hibernate.SessionFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  *
  */
-public class BudgetTypeDAO extends AbstractDAO<BudgetType> {
+public class BudgetTypeDAO extends DefaultDAO<BudgetType> {
 
     public BudgetTypeDAO(SessionFactory sessionFactory) {
         super(sessionFactory);
@@ -17,4 +19,12 @@ public class BudgetTypeDAO extends AbstractDAO<BudgetType> {
         BudgetType budgetType = new BudgetType();
         return persist(budgetType);
     }
+
+    public List<BudgetType> addBudgetTypes(int count) {
+        List<BudgetType> budgetTypes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            budgetTypes.add(new BudgetType());
+        }
+        return persistAll(budgetTypes);
+    }
 }
@@ -3,6 +3,7 @@ package io.budgetapp.dao;
 import io.budgetapp.application.NotFoundException;
 import io.budgetapp.configuration.AppConfiguration;
 import io.budgetapp.model.Category;
+import io.budgetapp.model.NameUsage;
 import io.budgetapp.model.User;
 import org.hibernate.Criteria;
 import org.hibernate.SessionFactory;
@@ -86,14 +87,12 @@ public class CategoryDAO extends DefaultDAO<Category> {
         currentSession().delete(category);
     }
 
-    public List<String> findSuggestions(User user, String q) {
-        q = q == null? "": q.toLowerCase();
-
-        Query<String> query = currentSession().createQuery("SELECT c.name FROM Category c WHERE c.user != :user AND LOWER(c.name) LIKE :q", String.class);
-        query
-                .setParameter("user", user)
-                .setParameter("q", "%" + q + "%");
-
-        return query.list();
+    /**
+     * usage of every distinct category name, reads the whole table
+     */
+    public List<NameUsage> findNameUsages() {
+        return currentSession()
+                .createQuery("SELECT NEW io.budgetapp.model.NameUsage(c.name, COUNT(c), MIN(c.user.id), MAX(c.user.id)) FROM Category c GROUP BY c.name", NameUsage.class)
+                .list();
     }
 }
@@ -0,0 +1,78 @@
+package io.budgetapp.dao;
+
+import io.budgetapp.model.DailySpend;
+import io.budgetapp.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ *
+ */
+public class DailySpendDAO extends DefaultDAO<DailySpend> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DailySpendDAO.class);
+
+    public DailySpendDAO(SessionFactory sessionFactory) {
+        super(sessionFactory);
+    }
+
+    public DailySpend find(User user, Date day) {
+        Query<DailySpend> query = query("FROM DailySpend d WHERE d.user = :user AND d.day = :day");
+        query
+                .setParameter("user", user)
+                .setParameter("day", day);
+        return uniqueResult(query);
+    }
+
+    /**
+     * add the total and count of the change to the daily spend of its user and day in a single update,
+     * so concurrent writers of the same day do not lose each other's changes.
+     * The change becomes the daily spend when there is none yet.
+     * @param change differences of a daily spend starting from zero
+     */
+    public void apply(DailySpend change) {
+        while (update(change) == 0) {
+            if(insert(change)) {
+                return;
+            }
+            // inserted by a concurrent writer in the meantime, add to its row
+        }
+    }
+
+    private int update(DailySpend change) {
+        return currentSession()
+                .createQuery("UPDATE DailySpend d SET d.total = d.total + :total, d.count = d.count + :count WHERE d.user = :user AND d.day = :day")
+                .setParameter("total", change.getTotal())
+                .setParameter("count", change.getCount())
+                .setParameter("user", change.getUser())
+                .setParameter("day", change.getDay())
+                .executeUpdate();
+    }
+
+    private boolean insert(DailySpend change) {
+        LOGGER.debug("Add daily spend {}", change);
+        return insertUnique("INSERT INTO daily_spends (user_id, spent_on, total, transaction_count) VALUES (?, ?, ?, ?)", statement -> {
+            statement.setLong(1, change.getUser().getId());
+            statement.setDate(2, new java.sql.Date(change.getDay().getTime()));
+            statement.setLong(3, change.getTotal());
+            statement.setInt(4, change.getCount());
+        });
+    }
+
+    /**
+     * days between start and end inclusive which have transactions
+     */
+    public List<DailySpend> findByRange(User user, Date start, Date end) {
+        Query<DailySpend> query = query("FROM DailySpend d WHERE d.user = :user AND d.day BETWEEN :start AND :end AND d.count > 0 ORDER BY d.day");
+        query
+                .setParameter("user", user)
+                .setParameter("start", start)
+                .setParameter("end", end);
+        return list(query);
+    }
+}
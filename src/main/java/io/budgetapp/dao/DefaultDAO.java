@@ -5,11 +5,27 @@ import io.dropwizard.hibernate.AbstractDAO;
 import org.hibernate.Criteria;
 import org.hibernate.SessionFactory;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 /**
  *
  */
 public class DefaultDAO<T> extends AbstractDAO<T> {
 
+    /**
+     * JDBC batch size, also the allocation size of the id sequences
+     */
+    public static final int BATCH_SIZE = 50;
+
+    /**
+     * SQLSTATE of a unique constraint violation, same for PostgreSQL and HSQLDB
+     */
+    private static final String UNIQUE_VIOLATION = "23505";
 
     /**
      * Creates a new DAO with a given session provider.
@@ -31,4 +47,57 @@ public class DefaultDAO<T> extends AbstractDAO<T> {
         return t;
     }
 
+    /**
+     * persist all entities with JDBC batching, flush and clear the session
+     * every {@link #BATCH_SIZE} entities to keep the session small.
+     * Entities loaded before calling this method might become detached.
+     *
+     * @param entities new entities
+     * @return persisted entities
+     */
+    protected final List<T> persistAll(Collection<T> entities) {
+        List<T> results = new ArrayList<>(entities.size());
+        int count = 0;
+        for (T entity : entities) {
+            results.add(persist(entity));
+            if(++count % BATCH_SIZE == 0) {
+                currentSession().flush();
+                currentSession().clear();
+            }
+        }
+        return results;
+    }
+
+    /**
+     * execute the insert behind a savepoint, so a row inserted concurrently with the same unique key
+     * leaves the transaction usable. Pending changes of the session are flushed first.
+     *
+     * @param sql insert statement
+     * @param parameters binds the parameters of the statement
+     * @return false when the row already exists
+     */
+    protected final boolean insertUnique(String sql, StatementParameters parameters) {
+        currentSession().flush();
+        return currentSession().doReturningWork(connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                parameters.bind(statement);
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                if(!UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                    throw e;
+                }
+                connection.rollback(savepoint);
+                return false;
+            }
+            connection.releaseSavepoint(savepoint);
+            return true;
+        });
+    }
+
+    @FunctionalInterface
+    protected interface StatementParameters {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
 }
@@ -0,0 +1,106 @@
+package io.budgetapp.dao;
+
+import io.budgetapp.model.JobLease;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Leases are taken with conditional updates, whoever updates the row owns it until it expires.
+ * A lease is valid while now is before expires_at, now is always the time of the database
+ * so the instances compare expiry against the same clock.
+ */
+public class JobLeaseDAO extends DefaultDAO<JobLease> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobLeaseDAO.class);
+
+    public JobLeaseDAO(SessionFactory sessionFactory) {
+        super(sessionFactory);
+    }
+
+    /**
+     * current time of the database
+     */
+    public Date now() {
+        String sql = ((SessionFactoryImplementor) currentSession().getSessionFactory()).getJdbcServices().getDialect().getCurrentTimestampSelectString();
+        return currentSession().doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql);
+                 ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return new Date(resultSet.getTimestamp(1).getTime());
+            }
+        });
+    }
+
+    /**
+     * insert a new lease
+     * @return false when another instance inserted it first, the unit of work stays usable
+     */
+    public boolean add(JobLease lease) {
+        LOGGER.debug("Add lease {}", lease);
+        return insertUnique("INSERT INTO job_leases (name, owner, expires_at) VALUES (?, ?, ?)", statement -> {
+            statement.setString(1, lease.getName());
+            statement.setString(2, lease.getOwner());
+            statement.setTimestamp(3, new java.sql.Timestamp(lease.getExpiresAt().getTime()));
+        });
+    }
+
+    /**
+     * take or renew the lease when it is owned by the given owner or expired
+     * @return true when the given owner holds the lease until expiresAt, false when the lease
+     * belongs to someone else or does not exist
+     */
+    public boolean acquire(String name, String owner, Date now, Date expiresAt) {
+        return currentSession()
+                .createQuery("UPDATE JobLease l SET l.owner = :owner, l.expiresAt = :expiresAt WHERE l.name = :name AND (l.owner = :owner OR l.expiresAt <= :now)")
+                .setParameter("owner", owner)
+                .setParameter("expiresAt", expiresAt)
+                .setParameter("name", name)
+                .setParameter("now", now)
+                .executeUpdate() == 1;
+    }
+
+    /**
+     * expire the lease now if it is still owned by the given owner
+     */
+    public boolean release(String name, String owner, Date now) {
+        return currentSession()
+                .createQuery("UPDATE JobLease l SET l.expiresAt = :now WHERE l.name = :name AND l.owner = :owner")
+                .setParameter("now", now)
+                .setParameter("name", name)
+                .setParameter("owner", owner)
+                .executeUpdate() == 1;
+    }
+
+    public List<String> findNames(String prefix) {
+        return currentSession()
+                .createQuery("SELECT l.name FROM JobLease l WHERE l.name LIKE :prefix", String.class)
+                .setParameter("prefix", prefix + "%")
+                .list();
+    }
+
+    /**
+     * number of leases with the given prefix which are not expired
+     */
+    public long countLive(String prefix, Date now) {
+        return currentSession()
+                .createQuery("SELECT COUNT(l) FROM JobLease l WHERE l.name LIKE :prefix AND l.expiresAt > :now", Long.class)
+                .setParameter("prefix", prefix + "%")
+                .setParameter("now", now)
+                .uniqueResult();
+    }
+
+    public int deleteExpired(String prefix, Date now) {
+        return currentSession()
+                .createQuery("DELETE FROM JobLease l WHERE l.name LIKE :prefix AND l.expiresAt <= :now")
+                .setParameter("prefix", prefix + "%")
+                .setParameter("now", now)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,109 @@
+package io.budgetapp.dao;
+
+import io.budgetapp.model.Category;
+import io.budgetapp.model.MonthlyRollup;
+import io.budgetapp.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ *
+ */
+public class MonthlyRollupDAO extends DefaultDAO<MonthlyRollup> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MonthlyRollupDAO.class);
+
+    public MonthlyRollupDAO(SessionFactory sessionFactory) {
+        super(sessionFactory);
+    }
+
+    public MonthlyRollup find(User user, int periodKey, Category category) {
+        Query<MonthlyRollup> query = query("FROM MonthlyRollup r WHERE r.user = :user AND r.periodKey = :periodKey AND r.category = :category");
+        query
+                .setParameter("user", user)
+                .setParameter("periodKey", periodKey)
+                .setParameter("category", category);
+        return uniqueResult(query);
+    }
+
+    /**
+     * add the amounts of the change to the rollup of its user, month and category in a single update,
+     * so concurrent writers of the same rollup do not lose each other's changes.
+     * The change becomes the rollup when there is none yet.
+     * @param change differences of a rollup starting from zero
+     */
+    public void apply(MonthlyRollup change) {
+        while (update(change) == 0) {
+            if(insert(change)) {
+                return;
+            }
+            // inserted by a concurrent writer in the meantime, add to its row
+        }
+    }
+
+    private int update(MonthlyRollup change) {
+        return currentSession()
+                .createQuery("UPDATE MonthlyRollup r SET r.budgets = r.budgets + :budgets, r.projected = r.projected + :projected, " +
+                        "r.actual = r.actual + :actual, r.spent = r.spent + :spent, r.refund = r.refund + :refund " +
+                        "WHERE r.user = :user AND r.periodKey = :periodKey AND r.category = :category")
+                .setParameter("budgets", change.getBudgets())
+                .setParameter("projected", change.getProjected())
+                .setParameter("actual", change.getActual())
+                .setParameter("spent", change.getSpent())
+                .setParameter("refund", change.getRefund())
+                .setParameter("user", change.getUser())
+                .setParameter("periodKey", change.getPeriodKey())
+                .setParameter("category", change.getCategory())
+                .executeUpdate();
+    }
+
+    private boolean insert(MonthlyRollup change) {
+        LOGGER.debug("Add monthly rollup {}", change);
+        return insertUnique("INSERT INTO monthly_rollups (user_id, period_key, category_id, category_type, budgets, projected, actual, spent, refund) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", statement -> {
+            statement.setLong(1, change.getUser().getId());
+            statement.setInt(2, change.getPeriodKey());
+            statement.setLong(3, change.getCategory().getId());
+            statement.setString(4, change.getCategoryType().name());
+            statement.setInt(5, change.getBudgets());
+            statement.setLong(6, change.getProjected());
+            statement.setLong(7, change.getActual());
+            statement.setLong(8, change.getSpent());
+            statement.setLong(9, change.getRefund());
+        });
+    }
+
+    /**
+     * rollups of the month which still have budgets, with their category
+     */
+    public List<MonthlyRollup> findByPeriod(User user, int periodKey) {
+        Query<MonthlyRollup> query = query("FROM MonthlyRollup r JOIN FETCH r.category WHERE r.user = :user AND r.periodKey = :periodKey AND r.budgets > 0 ORDER BY r.id");
+        query
+                .setParameter("user", user)
+                .setParameter("periodKey", periodKey);
+        return list(query);
+    }
+
+    /**
+     * rollups between both months inclusive which still have budgets
+     */
+    public List<MonthlyRollup> findByRange(User user, int start, int end) {
+        Query<MonthlyRollup> query = query("FROM MonthlyRollup r WHERE r.user = :user AND r.periodKey BETWEEN :start AND :end AND r.budgets > 0");
+        query
+                .setParameter("user", user)
+                .setParameter("start", start)
+                .setParameter("end", end);
+        return list(query);
+    }
+
+    public int deleteByCategory(Category category) {
+        return currentSession()
+                .createQuery("DELETE FROM MonthlyRollup r WHERE r.category = :category")
+                .setParameter("category", category)
+                .executeUpdate();
+    }
+}
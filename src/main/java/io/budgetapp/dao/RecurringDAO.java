@@ -1,17 +1,17 @@
 package io.budgetapp.dao;
 
+import io.budgetapp.model.DueRecurring;
 import io.budgetapp.model.Recurring;
-import io.budgetapp.model.RecurringType;
+import io.budgetapp.model.RecurringSummary;
 import io.budgetapp.model.User;
 import io.budgetapp.model.Recurring;
-import io.budgetapp.model.RecurringType;
 import io.budgetapp.model.User;
-import io.budgetapp.util.Util;
 import io.dropwizard.hibernate.AbstractDAO;
 import org.hibernate.SessionFactory;
 
-import java.time.LocalDate;
 import java.time.temporal.ChronoField;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -27,9 +27,17 @@ public class RecurringDAO extends AbstractDAO<Recurring> {
         return persist(recurring);
     }
 
-    public List<Recurring> findRecurrings(User user) {
-        return currentSession().createQuery("SELECT r FROM Recurring r JOIN r.budgetType budgetType WHERE budgetType IN (SELECT budget.budgetType FROM Budget budget WHERE budget.user = :user)")
+    /**
+     * recurrings of the user with their budget and category in the given month,
+     * without budget and category when the recurring has no budget in that month
+     */
+    public List<RecurringSummary> findSummaries(User user, int periodKey) {
+        return currentSession().createQuery("SELECT NEW io.budgetapp.model.RecurringSummary(r.id, b.name, b.id, c.id, c.name, r.amount, " +
+                "r.recurringType, r.remark, r.lastRunAt, r.nextRunAt, r.createdAt) FROM Recurring r " +
+                "LEFT JOIN Budget b ON b.budgetType = r.budgetType AND b.periodKey = :periodKey LEFT JOIN b.category c " +
+                "WHERE r.budgetType.id IN (SELECT budget.budgetType.id FROM Budget budget WHERE budget.user = :user) ORDER BY r.id", RecurringSummary.class)
                 .setParameter("user", user)
+                .setParameter("periodKey", periodKey)
                 .list();
     }
 
@@ -38,7 +46,7 @@ public class RecurringDAO extends AbstractDAO<Recurring> {
     }
 
     public Recurring find(User user, long recurringId) {
-        return (Recurring)currentSession().createQuery("SELECT r FROM Recurring r JOIN r.budgetType budgetType WHERE budgetType IN (FROM Budget budget WHERE budget.user = :user and r.id = :id)")
+        return (Recurring)currentSession().createQuery("SELECT r FROM Recurring r WHERE r.id = :id AND r.budgetType.id IN (SELECT budget.budgetType.id FROM Budget budget WHERE budget.user = :user)")
                 .setParameter("user", user)
                 .setParameter("id", recurringId).uniqueResult();
     }
@@ -49,30 +57,48 @@ public class RecurringDAO extends AbstractDAO<Recurring> {
                 .list();
     }
 
-    public List<Recurring> findActiveRecurrings() {
-        LocalDate now = LocalDate.now();
+    /**
+     * recurrings due at the given time which have a budget in the given month, earliest first
+     * @param partitions number of partitions users are split into by <code>user id % partitions</code>
+     * @param owned partitions whose recurrings are returned
+     */
+    public List<DueRecurring> findDueRecurrings(Date now, int periodKey, int partitions, Collection<Integer> owned) {
+        return currentSession().createQuery("SELECT NEW io.budgetapp.model.DueRecurring(r.id, b.user.id, r.nextRunAt) FROM Recurring r, Budget b " +
+                "WHERE b.budgetType = r.budgetType AND b.periodKey = :periodKey AND r.nextRunAt <= :now " +
+                "AND MOD(b.user.id, :partitions) IN (:owned) ORDER BY r.nextRunAt", DueRecurring.class)
+                .setParameter("now", now)
+                .setParameter("periodKey", periodKey)
+                .setParameter("partitions", partitions)
+                .setParameterList("owned", owned)
+                .list();
+    }
 
-        return currentSession()
-                .createQuery("SELECT r FROM Recurring r WHERE " +
-                        "(r.recurringType = :daily AND DAY(r.lastRunAt) = :yesterday) OR " +
-                        // last week with same day of week
-                        "(r.recurringType = :weekly AND WEEK(r.lastRunAt) = :lastWeek AND DAYOFWEEK(r.lastRunAt) = DAYOFWEEK(CURRENT_TIMESTAMP)) OR " +
-                        // last month with same day of month
-                        "(r.recurringType = :monthly AND MONTH(r.lastRunAt) = :lastMonth AND DAY(r.lastRunAt) = DAY(CURRENT_TIMESTAMP)) OR " +
-                        // last year with same month
-                        "(r.recurringType = :yearly AND YEAR(r.lastRunAt) = :lastYear AND MONTH(r.lastRunAt) = MONTH(CURRENT_TIMESTAMP)) OR " +
-                        "r.lastRunAt IS NULL")
-                .setParameter("daily", RecurringType.DAILY)
-                .setParameter("yesterday", Util.yesterday(now))
-                .setParameter("weekly", RecurringType.WEEKLY)
-                .setParameter("lastWeek", Util.lastWeek(now))
-                .setParameter("monthly", RecurringType.MONTHLY)
-                .setParameter("lastMonth", Util.lastMonth(now))
-                .setParameter("yearly", RecurringType.YEARLY)
-                .setParameter("lastYear", now.minusYears(1).getYear())
+    public List<Recurring> findByIds(Collection<Long> ids) {
+        return currentSession().createQuery("SELECT r FROM Recurring r WHERE r.id IN (:ids) ORDER BY r.id", Recurring.class)
+                .setParameterList("ids", ids)
                 .list();
     }
 
+    /**
+     * record a run only if the recurring is still due, guard against posting it twice
+     * @return true if the run is recorded
+     */
+    public boolean updateRun(long recurringId, Date runAt, Date nextRunAt) {
+        return currentSession().createQuery("UPDATE Recurring r SET r.lastRunAt = :runAt, r.nextRunAt = :nextRunAt WHERE r.id = :id AND r.nextRunAt <= :runAt")
+                .setParameter("id", recurringId)
+                .setParameter("runAt", runAt)
+                .setParameter("nextRunAt", nextRunAt)
+                .executeUpdate() == 1;
+    }
+
+    /**
+     * @return when the earliest recurring is due, null when there is no recurring
+     */
+    public Date findNextRunAt() {
+        return currentSession().createQuery("SELECT MIN(r.nextRunAt) FROM Recurring r", Date.class)
+                .uniqueResult();
+    }
+
     public void update(Recurring recurring) {
         persist(recurring);
     }
@@ -2,12 +2,16 @@ package io.budgetapp.dao;
 
 import io.budgetapp.application.NotFoundException;
 import io.budgetapp.model.Transaction;
+import io.budgetapp.model.TransactionCursor;
 import io.budgetapp.model.User;
 import io.budgetapp.model.form.report.SearchFilter;
-import io.dropwizard.hibernate.AbstractDAO;
+import org.hibernate.CacheMode;
 import org.hibernate.Criteria;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.SessionFactory;
 import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
 import org.hibernate.query.Query;
 import org.slf4j.Logger;
@@ -16,14 +20,14 @@ import org.slf4j.LoggerFactory;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  *
  */
-public class TransactionDAO extends AbstractDAO<Transaction> {
+public class TransactionDAO extends DefaultDAO<Transaction> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TransactionDAO.class);
+    private static final int SCROLL_FETCH_SIZE = 500;
 
     public TransactionDAO(SessionFactory sessionFactory) {
         super(sessionFactory);
@@ -35,10 +39,8 @@ public class TransactionDAO extends AbstractDAO<Transaction> {
     }
 
     public List<Transaction> addTransactions(List<Transaction> transactions) {
-        return transactions
-                .stream()
-                .map(this::addTransaction)
-                .collect(Collectors.toList());
+        LOGGER.debug("Add {} transactions", transactions.size());
+        return persistAll(transactions);
     }
 
     public List<Transaction> find(User user, Integer limit) {
@@ -66,19 +68,19 @@ public class TransactionDAO extends AbstractDAO<Transaction> {
     }
 
     public List<Transaction> findByBudget(User user, long budgetId) {
-        Criteria criteria = defaultCriteria();
-        criteria.createAlias("t.budget", "budget");
+        return list(budgetCriteria(user, budgetId));
+    }
 
-        criteria.add(Restrictions.eq("budget.id", budgetId));
-        criteria.add(Restrictions.eq("budget.user", user));
-        return list(criteria);
+    public List<Transaction> findByBudget(User user, long budgetId, TransactionCursor cursor, int limit) {
+        return list(page(budgetCriteria(user, budgetId), cursor, limit));
     }
 
     public List<Transaction> findByRecurring(User user, long recurringId) {
-        Query<Transaction> query = query("FROM Transaction t WHERE t.budget.user = :user AND t.recurring.id = :recurringId ORDER BY t.transactionOn DESC, t.id ASC");
-        query.setParameter("user", user);
-        query.setParameter("recurringId", recurringId);
-        return list(query);
+        return list(recurringCriteria(user, recurringId));
+    }
+
+    public List<Transaction> findByRecurring(User user, long recurringId, TransactionCursor cursor, int limit) {
+        return list(page(recurringCriteria(user, recurringId), cursor, limit));
     }
 
     public List<Transaction> findByRange(User user, Date start, Date end) {
@@ -92,6 +94,69 @@ public class TransactionDAO extends AbstractDAO<Transaction> {
     }
 
     public List<Transaction> findTransactions(User user, SearchFilter filter) {
+        return list(filterCriteria(user, filter));
+    }
+
+    public List<Transaction> findTransactions(User user, SearchFilter filter, TransactionCursor cursor, int limit) {
+        return list(page(filterCriteria(user, filter), cursor, limit));
+    }
+
+    /**
+     * forward-only scroll over the matching transactions, without loading entities.
+     * Each row is [id, transactionOn, name, category name, amount, remark, auto].
+     * Must be closed by caller.
+     */
+    public ScrollableResults scrollTransactions(User user, SearchFilter filter) {
+        Criteria criteria = filterCriteria(user, filter);
+        criteria.createAlias("budget.category", "category");
+        criteria.setProjection(Projections.projectionList()
+                .add(Projections.property("id"))
+                .add(Projections.property("transactionOn"))
+                .add(Projections.property("name"))
+                .add(Projections.property("category.name"))
+                .add(Projections.property("amount"))
+                .add(Projections.property("remark"))
+                .add(Projections.property("auto")));
+        criteria.setReadOnly(true);
+        criteria.setCacheMode(CacheMode.IGNORE);
+        criteria.setFetchSize(SCROLL_FETCH_SIZE);
+        return criteria.scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    private Criteria budgetCriteria(User user, long budgetId) {
+        Criteria criteria = defaultCriteria();
+        criteria.createAlias("t.budget", "budget");
+
+        criteria.add(Restrictions.eq("budget.id", budgetId));
+        criteria.add(Restrictions.eq("budget.user", user));
+        return criteria;
+    }
+
+    private Criteria recurringCriteria(User user, long recurringId) {
+        Criteria criteria = defaultCriteria();
+        criteria.createAlias("t.budget", "budget");
+
+        criteria.add(Restrictions.eq("t.recurring.id", recurringId));
+        criteria.add(Restrictions.eq("budget.user", user));
+        return criteria;
+    }
+
+    /**
+     * keyset pagination, seek past the cursor instead of skipping rows, fetch one extra row to detect next page
+     */
+    private Criteria page(Criteria criteria, TransactionCursor cursor, int limit) {
+        if(cursor != null) {
+            criteria.add(Restrictions.or(
+                    Restrictions.lt("transactionOn", cursor.getTransactionOn()),
+                    Restrictions.and(
+                            Restrictions.eq("transactionOn", cursor.getTransactionOn()),
+                            Restrictions.lt("id", cursor.getId()))));
+        }
+        criteria.setMaxResults(limit + 1);
+        return criteria;
+    }
+
+    private Criteria filterCriteria(User user, SearchFilter filter) {
         Criteria criteria = defaultCriteria();
         criteria.createAlias("t.budget", "budget");
 
@@ -117,10 +182,9 @@ public class TransactionDAO extends AbstractDAO<Transaction> {
             criteria.add(Restrictions.eq("auto", Boolean.TRUE));
         }
 
-        return list(criteria);
+        return criteria;
     }
 
-
     private Criteria defaultCriteria() {
         Criteria criteria = currentSession().createCriteria(Transaction.class, "t");
         criteria.addOrder(Order.desc("transactionOn"));
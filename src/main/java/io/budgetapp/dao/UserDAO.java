@@ -46,6 +46,26 @@ public class UserDAO extends AbstractDAO<User> {
         persist(user);
     }
 
+    /**
+     * current data version of the user, a principal may hold a stale one
+     */
+    public long findDataVersion(User user) {
+        return currentSession()
+                .createQuery("SELECT u.dataVersion FROM User u WHERE u.id = :id", Long.class)
+                .setParameter("id", user.getId())
+                .uniqueResult();
+    }
+
+    /**
+     * atomic increment, readers see the new version once the unit of work commits
+     */
+    public void incrementDataVersion(User user) {
+        currentSession()
+                .createQuery("UPDATE User u SET u.dataVersion = u.dataVersion + 1 WHERE u.id = :id")
+                .setParameter("id", user.getId())
+                .executeUpdate();
+    }
+
     public Optional<User> findByUsername(String username) {
         Criteria criteria = criteria();
         criteria.add(Restrictions.eq("username", username).ignoreCase());
@@ -0,0 +1,47 @@
+package io.budgetapp.hibernate;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricSet;
+import org.hibernate.stat.Statistics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Application wide Hibernate {@link Statistics} as gauges, for the admin connector
+ */
+public class HibernateStatisticsMetricSet implements MetricSet {
+
+    private final Statistics statistics;
+
+    public HibernateStatisticsMetricSet(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        Map<String, Metric> metrics = new HashMap<>();
+        gauge(metrics, "prepared-statements", statistics::getPrepareStatementCount);
+        gauge(metrics, "queries", statistics::getQueryExecutionCount);
+        gauge(metrics, "slowest-query-ms", statistics::getQueryExecutionMaxTime);
+        gauge(metrics, "entity-loads", statistics::getEntityLoadCount);
+        gauge(metrics, "entity-fetches", statistics::getEntityFetchCount);
+        gauge(metrics, "entity-inserts", statistics::getEntityInsertCount);
+        gauge(metrics, "entity-updates", statistics::getEntityUpdateCount);
+        gauge(metrics, "entity-deletes", statistics::getEntityDeleteCount);
+        gauge(metrics, "collection-loads", statistics::getCollectionLoadCount);
+        gauge(metrics, "collection-fetches", statistics::getCollectionFetchCount);
+        gauge(metrics, "flushes", statistics::getFlushCount);
+        gauge(metrics, "sessions-opened", statistics::getSessionOpenCount);
+        gauge(metrics, "transactions", statistics::getTransactionCount);
+        gauge(metrics, "optimistic-failures", statistics::getOptimisticFailureCount);
+        return metrics;
+    }
+
+    private void gauge(Map<String, Metric> metrics, String name, LongSupplier value) {
+        metrics.put(MetricRegistry.name("hibernate", name), (Gauge<Long>) value::getAsLong);
+    }
+}
@@ -0,0 +1,70 @@
+package io.budgetapp.hibernate;
+
+/**
+ * SQL work of the current request, bound to the request thread by
+ * {@link io.budgetapp.application.SqlStatisticsFeature} and filled by the Hibernate listeners.
+ */
+public class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int entityLoads;
+    private int collectionFetches;
+    private long flushNanos;
+
+    /**
+     * start counting for the current thread, replaces any previous statistics
+     */
+    public static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * @return statistics of the current thread, null outside a request
+     */
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    void statement() {
+        statements++;
+    }
+
+    void entityLoad() {
+        entityLoads++;
+    }
+
+    void collectionFetch() {
+        collectionFetches++;
+    }
+
+    void flush(long nanos) {
+        flushNanos += nanos;
+    }
+
+    /**
+     * executed statements, a JDBC batch counts once
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    public int getCollectionFetches() {
+        return collectionFetches;
+    }
+
+    public long getFlushNanos() {
+        return flushNanos;
+    }
+}
@@ -0,0 +1,45 @@
+package io.budgetapp.hibernate;
+
+import org.hibernate.HibernateException;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * Count loaded entities and fetched collections into the {@link SqlStatistics} of the current thread
+ */
+public class SqlStatisticsEventListener implements PostLoadEventListener, InitializeCollectionEventListener {
+
+    private static final long serialVersionUID = -6187519530466237795L;
+
+    public static void register(SessionFactory sessionFactory) {
+        SqlStatisticsEventListener listener = new SqlStatisticsEventListener();
+        EventListenerRegistry registry = sessionFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_LOAD, listener);
+        registry.appendListeners(EventType.INIT_COLLECTION, listener);
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if(statistics != null) {
+            statistics.entityLoad();
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) throws HibernateException {
+        SqlStatistics statistics = SqlStatistics.current();
+        if(statistics != null) {
+            statistics.collectionFetch();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.budgetapp.hibernate;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Count statements and flush time of every session into the {@link SqlStatistics} of the current thread,
+ * registered for all sessions through <code>hibernate.session.events.auto</code>.
+ */
+public class SqlStatisticsSessionListener extends BaseSessionEventListener {
+
+    private static final long serialVersionUID = 8213391741307385617L;
+
+    private long flushStart;
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatistics statistics = SqlStatistics.current();
+        if(statistics != null) {
+            statistics.statement();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatistics statistics = SqlStatistics.current();
+        if(statistics != null) {
+            statistics.statement();
+        }
+    }
+
+    @Override
+    public void flushStart() {
+        flushStart = System.nanoTime();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if(statistics != null) {
+            statistics.flush(System.nanoTime() - flushStart);
+        }
+    }
+}
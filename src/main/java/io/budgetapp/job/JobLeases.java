@@ -0,0 +1,105 @@
+package io.budgetapp.job;
+
+import io.budgetapp.dao.JobLeaseDAO;
+import io.budgetapp.model.JobLease;
+import io.dropwizard.hibernate.UnitOfWork;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Spread the partitions of a job over the running instances through the <code>job_leases</code> table.
+ * Every instance keeps a lease <code>node.&lt;owner&gt;</code> alive and holds an even share of the
+ * partition leases <code>&lt;job&gt;.&lt;partition&gt;</code>, the leases of a dead instance expire and are
+ * taken over by the others. Expiry is set and compared with the clock of the database.
+ */
+public class JobLeases {
+
+    static final String NODE_PREFIX = "node.";
+
+    private final JobLeaseDAO jobLeaseDAO;
+    private final String job;
+    private final int partitions;
+
+    public JobLeases(JobLeaseDAO jobLeaseDAO, String job, int partitions) {
+        this.jobLeaseDAO = jobLeaseDAO;
+        this.job = job;
+        this.partitions = partitions;
+    }
+
+    /**
+     * renew the instance and the owned partitions, then give up or take partitions towards an even share
+     * @param owned partitions owned so far
+     * @param duration milliseconds the leases are valid from now
+     * @return partitions owned for the duration
+     */
+    @UnitOfWork
+    public Set<Integer> renew(String owner, Set<Integer> owned, long duration) {
+        return renew(owner, owned, jobLeaseDAO.now(), duration);
+    }
+
+    Set<Integer> renew(String owner, Set<Integer> owned, Date now, long duration) {
+        Date expiresAt = new Date(now.getTime() + duration);
+        String node = NODE_PREFIX + owner;
+        if(!jobLeaseDAO.acquire(node, owner, now, expiresAt)) {
+            jobLeaseDAO.add(new JobLease(node, owner, expiresAt));
+        }
+        jobLeaseDAO.deleteExpired(NODE_PREFIX, now);
+        long nodes = Math.max(1, jobLeaseDAO.countLive(NODE_PREFIX, now));
+        long share = (partitions + nodes - 1) / nodes;
+
+        TreeSet<Integer> result = new TreeSet<>();
+        for (int partition : owned) {
+            if(partition < partitions && jobLeaseDAO.acquire(name(partition), owner, now, expiresAt)) {
+                result.add(partition);
+            }
+        }
+        // more instances joined, leave the surplus to them
+        while (result.size() > share) {
+            jobLeaseDAO.release(name(result.pollLast()), owner, now);
+        }
+        if(result.size() < share) {
+            Set<String> names = new HashSet<>(jobLeaseDAO.findNames(job + "."));
+            for (int partition = 0; partition < partitions && result.size() < share; partition++) {
+                String name = name(partition);
+                if(result.contains(partition)) {
+                    continue;
+                }
+                if(!names.contains(name)) {
+                    // another instance might have inserted it since findNames, then it is theirs
+                    if(jobLeaseDAO.add(new JobLease(name, owner, expiresAt))) {
+                        result.add(partition);
+                    }
+                } else if(jobLeaseDAO.acquire(name, owner, now, expiresAt)) {
+                    result.add(partition);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * give up the instance and its partitions, for the other instances to take over without waiting for expiry
+     */
+    @UnitOfWork
+    public void release(String owner, Set<Integer> owned) {
+        release(owner, owned, jobLeaseDAO.now());
+    }
+
+    void release(String owner, Set<Integer> owned, Date now) {
+        for (int partition : owned) {
+            jobLeaseDAO.release(name(partition), owner, now);
+        }
+        jobLeaseDAO.release(NODE_PREFIX + owner, owner, now);
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    private String name(int partition) {
+        return job + "." + partition;
+    }
+}
@@ -1,30 +1,167 @@
 package io.budgetapp.job;
 
-import io.budgetapp.service.FinanceService;
-import io.dropwizard.hibernate.UnitOfWork;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.Lists;
+import io.budgetapp.configuration.RecurringConfiguration;
+import io.budgetapp.managed.LeaseManager;
+import io.budgetapp.model.DueRecurring;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
 /**
- *
+ * Post the due recurrings of the users in the partitions leased by this instance. Users are partitioned
+ * across the workers so that budgets of a user are only touched by one worker, each worker commits its
+ * recurrings in chunks. A failed chunk is retried one recurring at a time, failed recurrings stay due for the next run.
  */
-public class RecurringJob implements Runnable {
+public class RecurringJob {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RecurringJob.class);
 
-    private final FinanceService financeService;
+    /**
+     * minimum delay before the next run when recurrings are left due, e.g. failed, without budget
+     * or owned by another instance
+     */
+    static final long RETRY_DELAY = TimeUnit.MINUTES.toMillis(1);
+
+    private final RecurringPoster recurringPoster;
+    private final LeaseManager leaseManager;
+    private final ExecutorService executor;
+    private final int threads;
+    private final int chunkSize;
 
-    public RecurringJob(FinanceService financeService) {
-        this.financeService = financeService;
+    private final Timer runs;
+    private final Meter posted;
+    private final Meter failed;
+    private final Histogram lag;
+
+    public RecurringJob(RecurringPoster recurringPoster, LeaseManager leaseManager, ExecutorService executor, RecurringConfiguration configuration, MetricRegistry metricRegistry) {
+        this.recurringPoster = recurringPoster;
+        this.leaseManager = leaseManager;
+        this.executor = executor;
+        this.threads = configuration.getThreads();
+        this.chunkSize = configuration.getChunkSize();
+        this.runs = metricRegistry.timer(MetricRegistry.name(RecurringJob.class, "runs"));
+        this.posted = metricRegistry.meter(MetricRegistry.name(RecurringJob.class, "posted"));
+        this.failed = metricRegistry.meter(MetricRegistry.name(RecurringJob.class, "failed"));
+        // milliseconds between due time and commit of the posted recurrings
+        this.lag = metricRegistry.histogram(MetricRegistry.name(RecurringJob.class, "lag"));
     }
 
-    @UnitOfWork
-    @Override
-    public void run() {
+    /**
+     * post the due recurrings
+     * @return when the next recurring is due, null when there is no recurring
+     */
+    public Date run() {
         long start = System.currentTimeMillis();
         LOGGER.debug("Start {} job", getName());
-        financeService.updateRecurrings();
-        LOGGER.debug("Complete {} job and took {}ms", getName(), System.currentTimeMillis() - start);
+        try (Timer.Context ignored = runs.time()) {
+            Set<Integer> owned = leaseManager.getOwned();
+            List<DueRecurring> dueRecurrings = owned.isEmpty()
+                    ? Collections.emptyList()
+                    : recurringPoster.findDueRecurrings(new Date(start), leaseManager.getPartitions(), owned);
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (List<DueRecurring> partition : partition(dueRecurrings)) {
+                futures.add(executor.submit(() -> post(partition)));
+            }
+            for (Future<?> future : futures) {
+                await(future);
+            }
+            LOGGER.debug("Complete {} job of {} recurring(s) and took {}ms", getName(), dueRecurrings.size(), System.currentTimeMillis() - start);
+        }
+
+        Date next = recurringPoster.findNextRunAt();
+        if(next != null && next.getTime() <= start) {
+            next = new Date(start + RETRY_DELAY);
+        }
+        return next;
+    }
+
+    /**
+     * split by <code>user id % threads</code>, keep the due order within a partition
+     */
+    private List<List<DueRecurring>> partition(List<DueRecurring> dueRecurrings) {
+        return dueRecurrings
+                .stream()
+                .collect(Collectors.groupingBy(dueRecurring -> dueRecurring.getUserId() % threads))
+                .values()
+                .stream()
+                .collect(Collectors.toList());
+    }
+
+    private void post(List<DueRecurring> partition) {
+        for (List<DueRecurring> leased : Lists.partition(partition, chunkSize)) {
+            // leases might have moved to another instance meanwhile
+            List<DueRecurring> chunk = leased
+                    .stream()
+                    .filter(this::owns)
+                    .collect(Collectors.toList());
+            if(chunk.isEmpty()) {
+                continue;
+            }
+            try {
+                posted(chunk, recurringPoster.post(ids(chunk)));
+            } catch (RuntimeException e) {
+                LOGGER.warn("Chunk of {} recurring(s) failed, retry one by one", chunk.size(), e);
+                for (DueRecurring dueRecurring : chunk) {
+                    List<DueRecurring> single = Collections.singletonList(dueRecurring);
+                    try {
+                        posted(single, recurringPoster.post(ids(single)));
+                    } catch (RuntimeException ex) {
+                        LOGGER.warn("Failed to post {}", dueRecurring, ex);
+                        failed.mark();
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean owns(DueRecurring dueRecurring) {
+        return leaseManager.owns(leaseManager.partition(dueRecurring.getUserId()));
+    }
+
+    /**
+     * skipped recurrings, e.g. without budget in the current month, stay due and are not measured
+     */
+    private void posted(List<DueRecurring> chunk, Set<Long> postedIds) {
+        posted.mark(postedIds.size());
+        long now = System.currentTimeMillis();
+        for (DueRecurring dueRecurring : chunk) {
+            if(postedIds.contains(dueRecurring.getId())) {
+                lag.update(now - dueRecurring.getNextRunAt().getTime());
+            }
+        }
+    }
+
+    private void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while posting recurrings", e);
+        } catch (ExecutionException e) {
+            LOGGER.warn("Failed to post recurrings", e.getCause());
+        }
+    }
+
+    private List<Long> ids(List<DueRecurring> dueRecurrings) {
+        return dueRecurrings
+                .stream()
+                .map(DueRecurring::getId)
+                .collect(Collectors.toList());
     }
 
     private String getName() {
@@ -0,0 +1,40 @@
+package io.budgetapp.job;
+
+import io.budgetapp.model.DueRecurring;
+import io.budgetapp.service.FinanceService;
+import io.dropwizard.hibernate.UnitOfWork;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Unit of work boundaries of the recurring job, each chunk is committed on its own
+ */
+public class RecurringPoster {
+
+    private final FinanceService financeService;
+
+    public RecurringPoster(FinanceService financeService) {
+        this.financeService = financeService;
+    }
+
+    @UnitOfWork(readOnly = true)
+    public List<DueRecurring> findDueRecurrings(Date now, int partitions, Collection<Integer> owned) {
+        return financeService.findDueRecurrings(now, partitions, owned);
+    }
+
+    /**
+     * @return ids of the posted recurrings
+     */
+    @UnitOfWork
+    public Set<Long> post(Collection<Long> recurringIds) {
+        return financeService.postRecurrings(recurringIds);
+    }
+
+    @UnitOfWork(readOnly = true)
+    public Date findNextRunAt() {
+        return financeService.findNextRecurringAt();
+    }
+}
@@ -0,0 +1,197 @@
+package io.budgetapp.job;
+
+import io.budgetapp.application.NotFoundException;
+import io.budgetapp.model.Budget;
+import io.budgetapp.model.ImportStatus;
+import io.budgetapp.model.User;
+import io.budgetapp.model.form.TransactionForm;
+import io.budgetapp.util.CsvReader;
+import io.budgetapp.util.Money;
+import io.budgetapp.util.Util;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Import transactions from a spooled CSV file, rows are committed in chunks.
+ * When a chunk fail, its rows are retried one by one so only the bad rows are rejected.
+ *
+ * CSV must have a header with <code>date</code>, <code>amount</code>, <code>budget</code> (name or id)
+ * and optional <code>remark</code> columns, other columns are ignored.
+ */
+public class TransactionImportJob implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransactionImportJob.class);
+
+    private final TransactionImporter importer;
+    private final User user;
+    private final Path file;
+    private final DateTimeFormatter dateFormatter;
+    private final int chunkSize;
+    private final ImportStatus status;
+
+    // budget name -> id, per month
+    private final Map<YearMonth, Map<String, Long>> budgetIds = new HashMap<>();
+
+    public TransactionImportJob(TransactionImporter importer, User user, Path file, DateTimeFormatter dateFormatter, int chunkSize, ImportStatus status) {
+        this.importer = importer;
+        this.user = user;
+        this.file = file;
+        this.dateFormatter = dateFormatter;
+        this.chunkSize = chunkSize;
+        this.status = status;
+    }
+
+    @Override
+    public void run() {
+        long start = System.currentTimeMillis();
+        LOGGER.debug("Start import {} by {}", status.getId(), user);
+        status.running();
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            Columns columns = Columns.of(reader.readRecord());
+            List<Long> rows = new ArrayList<>(chunkSize);
+            List<TransactionForm> forms = new ArrayList<>(chunkSize);
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                long row = reader.getRecordNumber() - 1;
+                if(record.size() == 1 && record.get(0).trim().isEmpty()) {
+                    continue;
+                }
+                status.parsed();
+                try {
+                    forms.add(toTransactionForm(columns, record));
+                    rows.add(row);
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    status.rejected(row, e.getMessage());
+                }
+                if(forms.size() >= chunkSize) {
+                    commit(rows, forms);
+                    rows.clear();
+                    forms.clear();
+                }
+            }
+            commit(rows, forms);
+            status.completed();
+        } catch (Exception e) {
+            LOGGER.warn("Failed import {} by {}", status.getId(), user, e);
+            status.failed(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOGGER.warn("Unable to delete {}", file, e);
+            }
+        }
+        LOGGER.debug("Complete import {} and took {}ms", status, System.currentTimeMillis() - start);
+    }
+
+    private void commit(List<Long> rows, List<TransactionForm> forms) {
+        if(forms.isEmpty()) {
+            return;
+        }
+        try {
+            status.committed(importer.addTransactions(user, forms));
+        } catch (RuntimeException e) {
+            LOGGER.debug("Chunk of {} rows failed, retry row by row", forms.size(), e);
+            for (int i = 0; i < forms.size(); i++) {
+                try {
+                    status.committed(importer.addTransactions(user, Collections.singletonList(forms.get(i))));
+                } catch (RuntimeException rowException) {
+                    status.rejected(rows.get(i), reason(rowException));
+                }
+            }
+        }
+    }
+
+    private TransactionForm toTransactionForm(Columns columns, List<String> record) {
+        String rawDate = columns.value(record, columns.date);
+        LocalDate date;
+        try {
+            date = LocalDate.parse(rawDate, dateFormatter);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid date '" + rawDate + "'");
+        }
+
+        String rawAmount = columns.value(record, columns.amount);
+        long amount;
+        try {
+            // negative amounts are refunds and credits
+            amount = Money.parse(rawAmount.replace(",", ""));
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid amount '" + rawAmount + "'");
+        }
+
+        TransactionForm form = new TransactionForm();
+        form.setTransactionOn(Util.toDate(date));
+        form.setAmount(amount);
+        form.setRemark(columns.remark < 0 ? null : columns.value(record, columns.remark));
+        form.setBudget(new Budget(findBudgetId(columns.value(record, columns.budget), YearMonth.from(date))));
+        return form;
+    }
+
+    private long findBudgetId(String budget, YearMonth month) {
+        if(!budget.isEmpty() && budget.chars().allMatch(Character::isDigit)) {
+            return Long.parseLong(budget);
+        }
+        Map<String, Long> ids = budgetIds.computeIfAbsent(month, m -> importer.findBudgetIds(user, m.getMonthValue(), m.getYear()));
+        Long id = ids.get(budget.toLowerCase());
+        if(id == null) {
+            throw new IllegalArgumentException("Unknown budget '" + budget + "' in " + month);
+        }
+        return id;
+    }
+
+    private static String reason(RuntimeException e) {
+        if(e instanceof NotFoundException) {
+            return "Budget not found";
+        }
+        return e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+    }
+
+    private static class Columns {
+
+        private final int date;
+        private final int amount;
+        private final int budget;
+        private final int remark;
+
+        private Columns(List<String> header) {
+            List<String> names = new ArrayList<>(header.size());
+            for (String name : header) {
+                names.add(name.trim().toLowerCase());
+            }
+            this.date = names.indexOf("date");
+            this.amount = names.indexOf("amount");
+            this.budget = names.indexOf("budget");
+            this.remark = names.indexOf("remark");
+        }
+
+        static Columns of(List<String> header) {
+            if(header == null) {
+                throw new IllegalArgumentException("Empty file");
+            }
+            Columns columns = new Columns(header);
+            if(columns.date < 0 || columns.amount < 0 || columns.budget < 0) {
+                throw new IllegalArgumentException("Header must contain date, amount and budget columns");
+            }
+            return columns;
+        }
+
+        String value(List<String> record, int index) {
+            return index < record.size() ? record.get(index).trim() : "";
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.budgetapp.job;
+
+import io.budgetapp.model.Budget;
+import io.budgetapp.model.User;
+import io.budgetapp.model.form.TransactionForm;
+import io.budgetapp.service.FinanceService;
+import io.dropwizard.hibernate.UnitOfWork;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Database work of a transaction import, each call runs in its own unit of work
+ */
+public class TransactionImporter {
+
+    private final FinanceService financeService;
+
+    public TransactionImporter(FinanceService financeService) {
+        this.financeService = financeService;
+    }
+
+    /**
+     * @return lower case budget name -> budget id of the given month
+     */
+    @UnitOfWork
+    public Map<String, Long> findBudgetIds(User user, int month, int year) {
+        Map<String, Long> budgetIds = new HashMap<>();
+        for (Budget budget : financeService.findBudgetByUser(user, month, year)) {
+            budgetIds.putIfAbsent(budget.getName().toLowerCase(), budget.getId());
+        }
+        return budgetIds;
+    }
+
+    /**
+     * @return number of transactions added
+     */
+    @UnitOfWork
+    public int addTransactions(User user, List<TransactionForm> transactionForms) {
+        return financeService.addTransactions(user, transactionForms).size();
+    }
+}
@@ -1,31 +1,114 @@
 package io.budgetapp.managed;
 
 import io.budgetapp.job.RecurringJob;
+import io.budgetapp.model.Recurring;
+import io.budgetapp.service.FinanceEventListener;
 import io.dropwizard.lifecycle.Managed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.Date;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
- *
+ * Run the recurring job when the earliest recurring is due instead of polling.
+ * The due time comes from the indexed <code>next_run_at</code> column after each run,
+ * new recurrings bring the next run forward, deleting the recurring the next run waits for refreshes it.
  */
-public class JobsManaged implements Managed {
+public class JobsManaged implements Managed, FinanceEventListener, LeaseListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobsManaged.class);
+
+    /**
+     * upper bound of the sleep, covers recurrings changed outside this instance
+     */
+    static final long MAX_DELAY = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * delay for a recurring which is already due, give its unit of work time to commit
+     */
+    static final long MIN_DELAY = TimeUnit.SECONDS.toMillis(1);
 
     private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
     private final RecurringJob recurringJob;
 
+    private ScheduledFuture<?> scheduled;
+    private long scheduledAt = Long.MAX_VALUE;
+
     public JobsManaged(RecurringJob recurringJob) {
         this.recurringJob = recurringJob;
     }
 
     @Override
     public void start() throws Exception {
-        scheduler.scheduleAtFixedRate(recurringJob, 0, 10, TimeUnit.SECONDS);
+        schedule(System.currentTimeMillis());
     }
 
     @Override
     public void stop() throws Exception {
         scheduler.shutdown();
     }
+
+    @Override
+    public void onRecurringAdded(Recurring recurring) {
+        schedule(Math.max(recurring.getNextRunAt().getTime(), System.currentTimeMillis() + MIN_DELAY));
+    }
+
+    @Override
+    public void onRecurringDeleted(Recurring recurring) {
+        synchronized (this) {
+            if(recurring.getNextRunAt().getTime() > scheduledAt) {
+                return;
+            }
+        }
+        // the job finds nothing due and schedules the earliest remaining recurring
+        schedule(System.currentTimeMillis() + MIN_DELAY);
+    }
+
+    @Override
+    public void onLeasesAcquired(Set<Integer> partitions) {
+        // recurrings of the new partitions might be due already
+        schedule(System.currentTimeMillis() + MIN_DELAY);
+    }
+
+    private void run() {
+        synchronized (this) {
+            scheduled = null;
+            scheduledAt = Long.MAX_VALUE;
+        }
+        long now = System.currentTimeMillis();
+        long next = now + MAX_DELAY;
+        try {
+            Date nextRunAt = recurringJob.run();
+            if(nextRunAt != null) {
+                next = Math.min(next, Math.max(nextRunAt.getTime(), now + MIN_DELAY));
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Recurring job failed", e);
+        }
+        schedule(next);
+    }
+
+    /**
+     * schedule a run at the given time unless an earlier run is already scheduled
+     */
+    synchronized void schedule(long at) {
+        if(scheduler.isShutdown() || at >= scheduledAt) {
+            return;
+        }
+        if(scheduled != null) {
+            scheduled.cancel(false);
+        }
+        scheduledAt = at;
+        scheduled = scheduler.schedule(this::run, Math.max(0, at - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        LOGGER.debug("Next recurring job at {}", new Date(at));
+    }
+
+    synchronized long getScheduledAt() {
+        return scheduledAt;
+    }
 }
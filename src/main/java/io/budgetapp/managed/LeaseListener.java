@@ -0,0 +1,11 @@
+package io.budgetapp.managed;
+
+import java.util.Set;
+
+/**
+ * Notified by {@link LeaseManager} when this instance takes over partitions
+ */
+public interface LeaseListener {
+
+    void onLeasesAcquired(Set<Integer> partitions);
+}
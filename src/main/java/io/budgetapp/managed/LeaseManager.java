@@ -0,0 +1,118 @@
+package io.budgetapp.managed;
+
+import io.budgetapp.job.JobLeases;
+import io.dropwizard.lifecycle.Managed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renew the job leases of this instance three times per lease duration. A partition counts as owned
+ * until the duration elapsed since the start of the last successful renewal, so an instance which
+ * cannot reach the database stops working on its partitions before another instance can take them.
+ */
+public class LeaseManager implements Managed {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LeaseManager.class);
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<LeaseListener> listeners = new CopyOnWriteArrayList<>();
+    private final JobLeases jobLeases;
+    private final String owner;
+    private final long duration;
+
+    private volatile Set<Integer> owned = Collections.emptySet();
+    private volatile long validUntil;
+
+    public LeaseManager(JobLeases jobLeases, long duration) {
+        this(jobLeases, ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8), duration);
+    }
+
+    LeaseManager(JobLeases jobLeases, String owner, long duration) {
+        this.jobLeases = jobLeases;
+        this.owner = owner;
+        this.duration = duration;
+    }
+
+    @Override
+    public void start() throws Exception {
+        renew();
+        scheduler.scheduleWithFixedDelay(this::renew, duration / 3, duration / 3, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() throws Exception {
+        scheduler.shutdown();
+        scheduler.awaitTermination(duration, TimeUnit.MILLISECONDS);
+        Set<Integer> released = owned;
+        owned = Collections.emptySet();
+        try {
+            jobLeases.release(owner, released);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to release leases of {}", owner, e);
+        }
+    }
+
+    public void addListener(LeaseListener listener) {
+        listeners.add(listener);
+    }
+
+    void renew() {
+        long now = System.currentTimeMillis();
+        try {
+            Set<Integer> previous = owned;
+            Set<Integer> renewed = Collections.unmodifiableSet(jobLeases.renew(owner, previous, duration));
+            // released partitions must not be seen with the new validity
+            owned = renewed;
+            validUntil = now + duration;
+
+            Set<Integer> acquired = new TreeSet<>(renewed);
+            acquired.removeAll(previous);
+            if(!acquired.isEmpty() || renewed.size() != previous.size()) {
+                LOGGER.info("{} owns partitions {}", owner, renewed);
+            }
+            if(!acquired.isEmpty()) {
+                listeners.forEach(listener -> listener.onLeasesAcquired(acquired));
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to renew leases of {}", owner, e);
+        }
+    }
+
+    /**
+     * partition of the given key, e.g. user id
+     */
+    public int partition(long key) {
+        return (int) (key % jobLeases.getPartitions());
+    }
+
+    public boolean owns(int partition) {
+        return System.currentTimeMillis() < validUntil && owned.contains(partition);
+    }
+
+    /**
+     * partitions owned now, empty when the leases could not be renewed in time
+     */
+    public Set<Integer> getOwned() {
+        Set<Integer> partitions = owned;
+        return System.currentTimeMillis() < validUntil ? partitions : Collections.emptySet();
+    }
+
+    public int getPartitions() {
+        return jobLeases.getPartitions();
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+}
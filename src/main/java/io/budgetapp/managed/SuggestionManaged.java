@@ -0,0 +1,33 @@
+package io.budgetapp.managed;
+
+import io.budgetapp.dao.BudgetDAO;
+import io.budgetapp.dao.CategoryDAO;
+import io.budgetapp.service.SuggestionService;
+import io.dropwizard.hibernate.UnitOfWork;
+import io.dropwizard.lifecycle.Managed;
+
+/**
+ * Load the suggestion indexes once the database is migrated
+ */
+public class SuggestionManaged implements Managed {
+
+    private final BudgetDAO budgetDAO;
+    private final CategoryDAO categoryDAO;
+    private final SuggestionService suggestionService;
+
+    public SuggestionManaged(BudgetDAO budgetDAO, CategoryDAO categoryDAO, SuggestionService suggestionService) {
+        this.budgetDAO = budgetDAO;
+        this.categoryDAO = categoryDAO;
+        this.suggestionService = suggestionService;
+    }
+
+    @Override
+    @UnitOfWork(readOnly = true)
+    public void start() throws Exception {
+        suggestionService.load(budgetDAO.findNameUsages(), categoryDAO.findNameUsages());
+    }
+
+    @Override
+    public void stop() throws Exception {
+    }
+}
@@ -0,0 +1,62 @@
+package io.budgetapp.migration;
+
+import io.budgetapp.model.RecurringType;
+import liquibase.change.custom.CustomSqlChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.RawSqlStatement;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compute <code>recurrings.next_run_at</code> from the last run and the recurring type,
+ * date arithmetic differs between HSQLDB and PostgreSQL so it is done here
+ */
+public class NextRunAtChange implements CustomSqlChange {
+
+    @Override
+    public SqlStatement[] generateStatements(Database database) throws CustomChangeException {
+        List<SqlStatement> statements = new ArrayList<>();
+        if(database.getConnection() instanceof JdbcConnection) {
+            JdbcConnection connection = (JdbcConnection) database.getConnection();
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT id, type, last_run_at FROM recurrings")) {
+                while (resultSet.next()) {
+                    LocalDate lastRun = resultSet.getTimestamp(3).toLocalDateTime().toLocalDate();
+                    LocalDate nextRun = RecurringType.valueOf(resultSet.getString(2)).next(lastRun, lastRun);
+                    statements.add(new RawSqlStatement("UPDATE recurrings SET next_run_at = '" + Date.valueOf(nextRun) + " 00:00:00' WHERE id = " + resultSet.getLong(1)));
+                }
+            } catch (Exception e) {
+                throw new CustomChangeException("Failed to compute next run of recurrings", e);
+            }
+        }
+        return statements.toArray(new SqlStatement[statements.size()]);
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Next run of recurrings computed";
+    }
+
+    @Override
+    public void setUp() {
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+}
@@ -0,0 +1,75 @@
+package io.budgetapp.migration;
+
+import liquibase.change.custom.CustomSqlChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.RawSqlStatement;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Restart a sequence right after the current max id of a table, works on both HSQLDB and PostgreSQL
+ */
+public class RestartSequenceChange implements CustomSqlChange {
+
+    private String sequenceName;
+    private String tableName;
+    private String columnName = "id";
+
+    @Override
+    public SqlStatement[] generateStatements(Database database) throws CustomChangeException {
+        long next = 1;
+        if(database.getConnection() instanceof JdbcConnection) {
+            JdbcConnection connection = (JdbcConnection) database.getConnection();
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT MAX(" + columnName + ") FROM " + tableName)) {
+                if(resultSet.next()) {
+                    next = resultSet.getLong(1) + 1;
+                }
+            } catch (Exception e) {
+                throw new CustomChangeException("Failed to find max " + columnName + " of " + tableName, e);
+            }
+        }
+        return new SqlStatement[] {
+                new RawSqlStatement("ALTER SEQUENCE " + sequenceName + " RESTART WITH " + next)
+        };
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Sequence " + sequenceName + " restarted after " + tableName + "." + columnName;
+    }
+
+    @Override
+    public void setUp() {
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        ValidationErrors errors = new ValidationErrors();
+        errors.checkRequiredField("sequenceName", sequenceName);
+        errors.checkRequiredField("tableName", tableName);
+        return errors;
+    }
+
+    public void setSequenceName(String sequenceName) {
+        this.sequenceName = sequenceName;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public void setColumnName(String columnName) {
+        this.columnName = columnName;
+    }
+}
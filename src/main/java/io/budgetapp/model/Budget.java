@@ -2,6 +2,9 @@ package io.budgetapp.model;
 
 import io.budgetapp.model.form.budget.AddBudgetForm;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.budgetapp.util.PeriodKey;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.io.Serializable;
@@ -18,9 +21,9 @@ public class Budget implements Serializable {
 
     private Long id;
     private String name;
-    private double projected;
-    private double actual;
-    private Date period;
+    private long projected;
+    private long actual;
+    private int periodKey;
     private Date createdAt;
     private User user;
     private Category category;
@@ -40,7 +43,13 @@ public class Budget implements Serializable {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "budgets_seq")
+    @GenericGenerator(name = "budgets_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = "sequence_name", value = "budgets_seq"),
+            // same as the sequence increment, allow JDBC batch inserts
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     public Long getId() {
         return id;
     }
@@ -57,31 +66,45 @@ public class Budget implements Serializable {
         this.name = name;
     }
 
-    public double getProjected() {
+    @MinorUnits
+    public long getProjected() {
         return projected;
     }
 
-    public void setProjected(double projected) {
+    public void setProjected(long projected) {
         this.projected = projected;
     }
 
-    public double getActual() {
+    @MinorUnits
+    public long getActual() {
         return actual;
     }
 
-    public void setActual(double actual) {
+    public void setActual(long actual) {
         this.actual = actual;
     }
 
 
-    @Temporal(TemporalType.TIMESTAMP)
-    @Column(name = "period_on", nullable = false, updatable = false)
+    /**
+     * month of the budget, see {@link PeriodKey}
+     */
+    @JsonIgnore
+    @Column(name = "period_key", nullable = false, updatable = false)
+    public int getPeriodKey() {
+        return periodKey;
+    }
+
+    public void setPeriodKey(int periodKey) {
+        this.periodKey = periodKey;
+    }
+
+    @Transient
     public Date getPeriod() {
-        return period;
+        return periodKey == 0 ? null : PeriodKey.toDate(periodKey);
     }
 
     public void setPeriod(Date period) {
-        this.period = period;
+        this.periodKey = period == null ? 0 : PeriodKey.of(period);
     }
 
     @Temporal(TemporalType.TIMESTAMP)
@@ -0,0 +1,98 @@
+package io.budgetapp.model;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Pre-aggregated transactions of a user in a day, kept in sync by
+ * {@link io.budgetapp.service.FinanceService} when transactions are added or deleted.
+ */
+@Entity
+@Table(name = "daily_spends")
+public class DailySpend implements Serializable {
+
+    private static final long serialVersionUID = 6243135846413391870L;
+
+    private Long id;
+    private User user;
+    private Date day;
+    private long total;
+    private int count;
+
+    public DailySpend() {
+    }
+
+    public DailySpend(User user, Date day) {
+        this.user = user;
+        this.day = day;
+    }
+
+    public void add(long amount) {
+        total += amount;
+        count++;
+    }
+
+    public void remove(long amount) {
+        total -= amount;
+        count--;
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    @JoinColumn(updatable = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    @Temporal(TemporalType.DATE)
+    @Column(name = "spent_on", nullable = false, updatable = false)
+    public Date getDay() {
+        return day;
+    }
+
+    public void setDay(Date day) {
+        this.day = day;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    @Column(name = "transaction_count")
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("DailySpend{");
+        sb.append("id=").append(id);
+        sb.append(", day=").append(day);
+        sb.append(", total=").append(total);
+        sb.append(", count=").append(count);
+        sb.append('}');
+        return sb.toString();
+    }
+}
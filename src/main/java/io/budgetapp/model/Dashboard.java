@@ -0,0 +1,70 @@
+package io.budgetapp.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * all widgets of the dashboard for a month
+ */
+public class Dashboard implements Serializable {
+
+    private static final long serialVersionUID = -4310925766113585342L;
+
+    private AccountSummary account;
+    private UsageSummary usage;
+    private List<Point> categoryUsage;
+    private List<Point> transactionUsage;
+    private List<Point> monthlyUsage;
+    private List<Transaction> recurringTransactions;
+
+    public AccountSummary getAccount() {
+        return account;
+    }
+
+    public void setAccount(AccountSummary account) {
+        this.account = account;
+    }
+
+    public UsageSummary getUsage() {
+        return usage;
+    }
+
+    public void setUsage(UsageSummary usage) {
+        this.usage = usage;
+    }
+
+    public List<Point> getCategoryUsage() {
+        return categoryUsage;
+    }
+
+    public void setCategoryUsage(List<Point> categoryUsage) {
+        this.categoryUsage = categoryUsage;
+    }
+
+    public List<Point> getTransactionUsage() {
+        return transactionUsage;
+    }
+
+    public void setTransactionUsage(List<Point> transactionUsage) {
+        this.transactionUsage = transactionUsage;
+    }
+
+    public List<Point> getMonthlyUsage() {
+        return monthlyUsage;
+    }
+
+    public void setMonthlyUsage(List<Point> monthlyUsage) {
+        this.monthlyUsage = monthlyUsage;
+    }
+
+    /**
+     * recurring transactions posted today
+     */
+    public List<Transaction> getRecurringTransactions() {
+        return recurringTransactions;
+    }
+
+    public void setRecurringTransactions(List<Transaction> recurringTransactions) {
+        this.recurringTransactions = recurringTransactions;
+    }
+}
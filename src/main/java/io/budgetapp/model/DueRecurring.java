@@ -0,0 +1,43 @@
+package io.budgetapp.model;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * A recurring which is due, with the owner of its budget
+ */
+public class DueRecurring implements Serializable {
+
+    private static final long serialVersionUID = -1450447591726286187L;
+
+    private final long id;
+    private final long userId;
+    private final Date nextRunAt;
+
+    public DueRecurring(long id, long userId, Date nextRunAt) {
+        this.id = id;
+        this.userId = userId;
+        this.nextRunAt = nextRunAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public Date getNextRunAt() {
+        return nextRunAt;
+    }
+
+    @Override
+    public String toString() {
+        return "DueRecurring{" +
+                "id=" + id +
+                ", userId=" + userId +
+                ", nextRunAt=" + nextRunAt +
+                '}';
+    }
+}
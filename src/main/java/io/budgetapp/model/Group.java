@@ -13,8 +13,8 @@ public class Group implements Serializable {
     private Long id;
     private String name;
     private CategoryType type;
-    private double budget;
-    private double spent;
+    private long budget;
+    private long spent;
     private List<Budget> budgets;
 
     public Group(Long id, String name) {
@@ -46,19 +46,21 @@ public class Group implements Serializable {
         this.type = type;
     }
 
-    public double getBudget() {
+    @MinorUnits
+    public long getBudget() {
         return budget;
     }
 
-    public void setBudget(double budget) {
+    public void setBudget(long budget) {
         this.budget = budget;
     }
 
-    public double getSpent() {
+    @MinorUnits
+    public long getSpent() {
         return spent;
     }
 
-    public void setSpent(double spent) {
+    public void setSpent(long spent) {
         this.spent = spent;
     }
 
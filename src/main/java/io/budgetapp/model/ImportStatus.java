@@ -0,0 +1,157 @@
+package io.budgetapp.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a background transaction import, updated by the import job and read by status requests.
+ */
+public class ImportStatus implements Serializable {
+
+    private static final long serialVersionUID = -2858207915542357207L;
+
+    /**
+     * only the first few rejected rows are reported
+     */
+    public static final int MAX_ERRORS = 100;
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final long userId;
+    private final Date createdAt = new Date();
+    private final AtomicLong parsed = new AtomicLong();
+    private final AtomicLong committed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final List<RowError> errors = new ArrayList<>();
+    private volatile State state = State.QUEUED;
+    private volatile String message;
+    private volatile Date finishedAt;
+
+    public ImportStatus(long userId) {
+        this.userId = userId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    @JsonIgnore
+    public long getUserId() {
+        return userId;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public long getParsed() {
+        return parsed.get();
+    }
+
+    public long getCommitted() {
+        return committed.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public List<RowError> getErrors() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public Date getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void running() {
+        state = State.RUNNING;
+    }
+
+    public void parsed() {
+        parsed.incrementAndGet();
+    }
+
+    public void committed(int count) {
+        committed.addAndGet(count);
+    }
+
+    public void rejected(long row, String reason) {
+        rejected.incrementAndGet();
+        synchronized (errors) {
+            if(errors.size() < MAX_ERRORS) {
+                errors.add(new RowError(row, reason));
+            }
+        }
+    }
+
+    public void completed() {
+        finish(State.COMPLETED, null);
+    }
+
+    public void failed(String reason) {
+        finish(State.FAILED, reason);
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    private void finish(State state, String message) {
+        this.message = message;
+        this.finishedAt = new Date();
+        this.state = state;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportStatus{" +
+                "id='" + id + '\'' +
+                ", state=" + state +
+                ", parsed=" + parsed +
+                ", committed=" + committed +
+                ", rejected=" + rejected +
+                '}';
+    }
+
+    public static class RowError implements Serializable {
+
+        private static final long serialVersionUID = 6148263817504452461L;
+
+        private final long row;
+        private final String message;
+
+        public RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
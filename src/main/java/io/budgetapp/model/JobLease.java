@@ -0,0 +1,66 @@
+package io.budgetapp.model;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Ownership of a job partition (or liveness of an instance) until it expires, see {@link io.budgetapp.job.JobLeases}
+ */
+@Entity
+@Table(name = "job_leases")
+public class JobLease implements Serializable {
+
+    private static final long serialVersionUID = 4412908526315730187L;
+
+    private String name;
+    private String owner;
+    private Date expiresAt;
+
+    public JobLease() {
+    }
+
+    public JobLease(String name, String owner, Date expiresAt) {
+        this.name = name;
+        this.owner = owner;
+        this.expiresAt = expiresAt;
+    }
+
+    @Id
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @Column(nullable = false)
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "expires_at", nullable = false)
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Date expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("JobLease{");
+        sb.append("name='").append(name).append('\'');
+        sb.append(", owner='").append(owner).append('\'');
+        sb.append(", expiresAt=").append(expiresAt);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,177 @@
+package io.budgetapp.model;
+
+import javax.persistence.*;
+import java.io.Serializable;
+
+/**
+ * Pre-aggregated budgets of a category in a month, kept in sync by
+ * {@link io.budgetapp.service.FinanceService} on every budget change.
+ */
+@Entity
+@Table(name = "monthly_rollups")
+public class MonthlyRollup implements Serializable {
+
+    private static final long serialVersionUID = -3034462781949335021L;
+
+    private Long id;
+    private User user;
+    private int periodKey;
+    private Category category;
+    private CategoryType categoryType;
+    private int budgets;
+    private long projected;
+    private long actual;
+    private long spent;
+    private long refund;
+
+    public MonthlyRollup() {
+    }
+
+    public MonthlyRollup(User user, int periodKey, Category category, CategoryType categoryType) {
+        this.user = user;
+        this.periodKey = periodKey;
+        this.category = category;
+        this.categoryType = categoryType;
+    }
+
+    /**
+     * a new budget joined this rollup
+     */
+    public void addBudget(long projected, long actual) {
+        budgets++;
+        update(projected, 0, actual);
+    }
+
+    /**
+     * a budget left this rollup
+     */
+    public void removeBudget(long projected, long actual) {
+        budgets--;
+        update(-projected, actual, 0);
+    }
+
+    /**
+     * a budget of this rollup changed
+     * @param projectedDelta change of the projected amount
+     * @param previousActual actual amount of the budget before the change
+     * @param actual actual amount of the budget after the change
+     */
+    public void update(long projectedDelta, long previousActual, long actual) {
+        this.projected += projectedDelta;
+        this.actual += actual - previousActual;
+        // a budget counts as spending or refund by the sign of its own actual
+        this.spent += Math.max(actual, 0) - Math.max(previousActual, 0);
+        this.refund += Math.min(actual, 0) - Math.min(previousActual, 0);
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    @JoinColumn(updatable = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    /**
+     * month of the rollup, see {@link io.budgetapp.util.PeriodKey}
+     */
+    @Column(name = "period_key", nullable = false, updatable = false)
+    public int getPeriodKey() {
+        return periodKey;
+    }
+
+    public void setPeriodKey(int periodKey) {
+        this.periodKey = periodKey;
+    }
+
+    @JoinColumn(updatable = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    public Category getCategory() {
+        return category;
+    }
+
+    public void setCategory(Category category) {
+        this.category = category;
+    }
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category_type", nullable = false, updatable = false)
+    public CategoryType getCategoryType() {
+        return categoryType;
+    }
+
+    public void setCategoryType(CategoryType categoryType) {
+        this.categoryType = categoryType;
+    }
+
+    public int getBudgets() {
+        return budgets;
+    }
+
+    public void setBudgets(int budgets) {
+        this.budgets = budgets;
+    }
+
+    public long getProjected() {
+        return projected;
+    }
+
+    public void setProjected(long projected) {
+        this.projected = projected;
+    }
+
+    public long getActual() {
+        return actual;
+    }
+
+    public void setActual(long actual) {
+        this.actual = actual;
+    }
+
+    /**
+     * sum of the positive budget actuals
+     */
+    public long getSpent() {
+        return spent;
+    }
+
+    public void setSpent(long spent) {
+        this.spent = spent;
+    }
+
+    /**
+     * sum of the negative budget actuals
+     */
+    public long getRefund() {
+        return refund;
+    }
+
+    public void setRefund(long refund) {
+        this.refund = refund;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("MonthlyRollup{");
+        sb.append("id=").append(id);
+        sb.append(", periodKey=").append(periodKey);
+        sb.append(", categoryType=").append(categoryType);
+        sb.append(", budgets=").append(budgets);
+        sb.append(", projected=").append(projected);
+        sb.append(", actual=").append(actual);
+        sb.append('}');
+        return sb.toString();
+    }
+}
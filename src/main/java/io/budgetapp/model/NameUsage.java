@@ -0,0 +1,50 @@
+package io.budgetapp.model;
+
+import java.io.Serializable;
+
+/**
+ * How often a budget or category name is used and by whom, to rank suggestions
+ */
+public class NameUsage implements Serializable {
+
+    private static final long serialVersionUID = 5398116342975201483L;
+
+    private final String name;
+    private final long count;
+    private final long minUserId;
+    private final long maxUserId;
+
+    public NameUsage(String name, long count, long minUserId, long maxUserId) {
+        this.name = name;
+        this.count = count;
+        this.minUserId = minUserId;
+        this.maxUserId = maxUserId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * number of rows with this name
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public long getMinUserId() {
+        return minUserId;
+    }
+
+    public long getMaxUserId() {
+        return maxUserId;
+    }
+
+    @Override
+    public String toString() {
+        return "NameUsage{" +
+                "name='" + name + '\'' +
+                ", count=" + count +
+                '}';
+    }
+}
@@ -0,0 +1,51 @@
+package io.budgetapp.model;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of results and the token of the next page, <code>null</code> on the last page
+ */
+public class Page<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private final List<T> items;
+    private final String next;
+
+    public Page(List<T> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    /**
+     * @param rows up to <code>limit + 1</code> rows, the extra row only tells there is a next page
+     * @param cursor token of the position after a row
+     */
+    public static <T> Page<T> of(List<T> rows, int limit, Function<T, String> cursor) {
+        if(rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new Page<>(items, cursor.apply(items.get(limit - 1)));
+    }
+
+    /**
+     * @return requested limit within [1, {@link #MAX_LIMIT}], {@link #DEFAULT_LIMIT} if not specified
+     */
+    public static int limit(Integer limit) {
+        if(limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNext() {
+        return next;
+    }
+}
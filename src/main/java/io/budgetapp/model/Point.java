@@ -10,10 +10,10 @@ public class Point implements Serializable {
     private static final long serialVersionUID = -4254482540288351126L;
     private String label;
     private long key;
-    private double value;
+    private long value;
     private PointType pointType;
 
-    public Point(String label, long key, double value, PointType pointType) {
+    public Point(String label, long key, long value, PointType pointType) {
         this.label = label;
         this.key = key;
         this.value = value;
@@ -28,7 +28,8 @@ public class Point implements Serializable {
         return key;
     }
 
-    public double getValue() {
+    @MinorUnits
+    public long getValue() {
         return value;
     }
 
@@ -1,5 +1,7 @@
 package io.budgetapp.model;
 
+import io.budgetapp.util.Util;
+
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
@@ -29,9 +31,11 @@ public class Recurring implements Serializable {
     private static final long serialVersionUID = -2889004877850258404L;
 
     private Long id;
-    private double amount;
+    private long amount;
     private RecurringType recurringType;
+    private Date firstRunAt;
     private Date lastRunAt;
+    private Date nextRunAt;
     private Date createdAt;
     private BudgetType budgetType;
     private String remark;
@@ -51,12 +55,13 @@ public class Recurring implements Serializable {
         this.id = id;
     }
 
+    @MinorUnits
     @Column(updatable = false)
-    public double getAmount() {
+    public long getAmount() {
         return amount;
     }
 
-    public void setAmount(double amount) {
+    public void setAmount(long amount) {
         this.amount = amount;
     }
 
@@ -75,6 +80,19 @@ public class Recurring implements Serializable {
         return recurringType.getDisplay();
     }
 
+    /**
+     * day of the first run, the schedule is counted from
+     */
+    @Temporal(TemporalType.DATE)
+    @Column(name = "first_run_at", nullable = false, updatable = false)
+    public Date getFirstRunAt() {
+        return firstRunAt;
+    }
+
+    public void setFirstRunAt(Date firstRunAt) {
+        this.firstRunAt = firstRunAt;
+    }
+
     @Temporal(TemporalType.TIMESTAMP)
     @Column(name = "last_run_at", nullable = false)
     public Date getLastRunAt() {
@@ -85,6 +103,37 @@ public class Recurring implements Serializable {
         this.lastRunAt = lastRunAt;
     }
 
+    /**
+     * start of the day this recurring is due again
+     */
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "next_run_at", nullable = false)
+    public Date getNextRunAt() {
+        return nextRunAt;
+    }
+
+    public void setNextRunAt(Date nextRunAt) {
+        this.nextRunAt = nextRunAt;
+    }
+
+    /**
+     * record a run and compute when this recurring is due again, the first run starts the schedule
+     */
+    public void run(Date runAt) {
+        if(firstRunAt == null) {
+            this.firstRunAt = Util.toDate(Util.toLocalDate(runAt));
+        }
+        this.lastRunAt = runAt;
+        this.nextRunAt = nextRunAfter(runAt);
+    }
+
+    /**
+     * start of the day this recurring is due again after a run at the given time
+     */
+    public Date nextRunAfter(Date runAt) {
+        return Util.toDate(recurringType.next(Util.toLocalDate(firstRunAt), Util.toLocalDate(runAt)));
+    }
+
     @Temporal(TemporalType.TIMESTAMP)
     @Column(name = "created_at", insertable = false, nullable = false, updatable = false)
     public Date getCreatedAt() {
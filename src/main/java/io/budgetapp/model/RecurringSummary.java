@@ -0,0 +1,103 @@
+package io.budgetapp.model;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * A recurring with its budget and category of the current month, read in one query for the recurring list.
+ * Budget and category are null when the recurring has no budget in the current month.
+ */
+public class RecurringSummary implements Serializable {
+
+    private static final long serialVersionUID = 2754983041659837186L;
+
+    private final long id;
+    private final String name;
+    private final Long budgetId;
+    private final Long categoryId;
+    private final String categoryName;
+    private final long amount;
+    private final RecurringType recurringType;
+    private final String remark;
+    private final Date lastRunAt;
+    private final Date nextRunAt;
+    private final Date createdAt;
+
+    public RecurringSummary(long id, String name, Long budgetId, Long categoryId, String categoryName, long amount,
+                            RecurringType recurringType, String remark, Date lastRunAt, Date nextRunAt, Date createdAt) {
+        this.id = id;
+        this.name = name;
+        this.budgetId = budgetId;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.amount = amount;
+        this.recurringType = recurringType;
+        this.remark = remark;
+        this.lastRunAt = lastRunAt;
+        this.nextRunAt = nextRunAt;
+        this.createdAt = createdAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * name of the budget
+     */
+    public String getName() {
+        return name;
+    }
+
+    public Long getBudgetId() {
+        return budgetId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    @MinorUnits
+    public long getAmount() {
+        return amount;
+    }
+
+    public RecurringType getRecurringType() {
+        return recurringType;
+    }
+
+    public String getRecurringTypeDisplay() {
+        return recurringType.getDisplay();
+    }
+
+    public String getRemark() {
+        return remark;
+    }
+
+    public Date getLastRunAt() {
+        return lastRunAt;
+    }
+
+    public Date getNextRunAt() {
+        return nextRunAt;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "RecurringSummary{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", recurringType=" + recurringType +
+                ", amount=" + amount +
+                ", nextRunAt=" + nextRunAt +
+                '}';
+    }
+}
@@ -1,19 +1,38 @@
 package io.budgetapp.model;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
 /**
  *
  */
 public enum RecurringType {
 
-    DAILY("Daily"),
-    WEEKLY("Weekly"),
-    MONTHLY("Monthly"),
-    YEARLY("Yearly");
+    DAILY("Daily", ChronoUnit.DAYS),
+    WEEKLY("Weekly", ChronoUnit.WEEKS),
+    MONTHLY("Monthly", ChronoUnit.MONTHS),
+    YEARLY("Yearly", ChronoUnit.YEARS);
 
     private final String display;
+    private final ChronoUnit unit;
 
-    RecurringType(String display) {
+    RecurringType(String display, ChronoUnit unit) {
         this.display = display;
+        this.unit = unit;
+    }
+
+    /**
+     * first day of the schedule after the given run, the schedule counts whole periods from the first run
+     * so neither a late run nor a short month moves it. End of month is used when a month is shorter
+     * than the day of the first run.
+     */
+    public LocalDate next(LocalDate firstRun, LocalDate lastRun) {
+        long periods = Math.max(unit.between(firstRun, lastRun), 0);
+        LocalDate next = firstRun.plus(periods, unit);
+        while (!next.isAfter(lastRun)) {
+            next = firstRun.plus(++periods, unit);
+        }
+        return next;
     }
 
     public String getDisplay() {
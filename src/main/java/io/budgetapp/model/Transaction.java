@@ -1,5 +1,8 @@
 package io.budgetapp.model;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
 import javax.persistence.*;
 import java.io.Serializable;
 import java.util.Date;
@@ -15,7 +18,7 @@ public class Transaction implements Serializable {
 
     private Long id;
     private String name;
-    private double amount;
+    private long amount;
     private String remark;
     private boolean auto;
     private Date transactionOn;
@@ -24,7 +27,13 @@ public class Transaction implements Serializable {
     private Recurring recurring;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "transactions_seq")
+    @GenericGenerator(name = "transactions_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = "sequence_name", value = "transactions_seq"),
+            // same as the sequence increment, allow JDBC batch inserts
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     public Long getId() {
         return id;
     }
@@ -42,12 +51,13 @@ public class Transaction implements Serializable {
         this.name = name;
     }
 
+    @MinorUnits
     @Column(nullable = false, updatable = false)
-    public double getAmount() {
+    public long getAmount() {
         return amount;
     }
 
-    public void setAmount(double amount) {
+    public void setAmount(long amount) {
         this.amount = amount;
     }
 
@@ -0,0 +1,63 @@
+package io.budgetapp.model;
+
+import io.budgetapp.application.DataConstraintException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Position after the last transaction of a page, in <code>transactionOn DESC, id DESC</code> order.
+ * Exposed to client as an opaque token.
+ */
+public class TransactionCursor {
+
+    private final Date transactionOn;
+    private final long id;
+
+    public TransactionCursor(Date transactionOn, long id) {
+        this.transactionOn = transactionOn;
+        this.id = id;
+    }
+
+    public static TransactionCursor of(Transaction transaction) {
+        return new TransactionCursor(transaction.getTransactionOn(), transaction.getId());
+    }
+
+    /**
+     * @return <code>null</code> for blank token, which mean the first page
+     */
+    public static TransactionCursor decode(String token) {
+        if(token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            return new TransactionCursor(new Date(Long.parseLong(value.substring(0, separator))), Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new DataConstraintException("cursor", "Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String value = transactionOn.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Date getTransactionOn() {
+        return transactionOn;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionCursor{" +
+                "transactionOn=" + transactionOn +
+                ", id=" + id +
+                '}';
+    }
+}
@@ -8,29 +8,33 @@ import java.io.Serializable;
 public class UsageSummary implements Serializable {
     private static final long serialVersionUID = 3151593231290523047L;
 
-    private double income;
-    private double projected;
-    private double actual;
+    private long income;
+    private long projected;
+    private long actual;
 
-    public UsageSummary(double income, double projected, double actual) {
+    public UsageSummary(long income, long projected, long actual) {
         this.income = income;
         this.projected = projected;
         this.actual = actual;
     }
 
-    public double getIncome() {
+    @MinorUnits
+    public long getIncome() {
         return income;
     }
 
-    public double getProjected() {
+    @MinorUnits
+    public long getProjected() {
         return projected;
     }
 
-    public double getActual() {
+    @MinorUnits
+    public long getActual() {
         return actual;
     }
 
-    public double getRemaining() {
+    @MinorUnits
+    public long getRemaining() {
         return projected - actual;
     }
 }
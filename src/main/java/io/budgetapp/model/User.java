@@ -34,6 +34,7 @@ public class User implements Principal, Serializable {
     private String name;
     private Date createdAt;
     private String currency;
+    private long dataVersion;
 
     // not in DB
     private String token;
@@ -100,6 +101,19 @@ public class User implements Principal, Serializable {
         this.currency = currency;
     }
 
+    /**
+     * increased by {@link io.budgetapp.dao.UserDAO#incrementDataVersion(User)} only
+     */
+    @JsonIgnore
+    @Column(name = "data_version", insertable = false, updatable = false)
+    public long getDataVersion() {
+        return dataVersion;
+    }
+
+    public void setDataVersion(long dataVersion) {
+        this.dataVersion = dataVersion;
+    }
+
     // not in DB
     @Transient
     @JsonProperty("avatar")
@@ -3,6 +3,7 @@ package io.budgetapp.model.form;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.budgetapp.model.Budget;
 import io.budgetapp.model.RecurringType;
+import io.budgetapp.model.MinorUnits;
 
 import java.io.Serializable;
 import java.util.Date;
@@ -15,18 +16,19 @@ public class TransactionForm implements Serializable {
 
     private static final long serialVersionUID = 1432079737348530213L;
 
-    private double amount;
+    private long amount;
     private String remark;
     private Date transactionOn;
     private Boolean recurring;
     private RecurringType recurringType;
     private Budget budget;
 
-    public double getAmount() {
+    @MinorUnits
+    public long getAmount() {
         return amount;
     }
 
-    public void setAmount(double amount) {
+    public void setAmount(long amount) {
         this.amount = amount;
     }
 
@@ -1,6 +1,7 @@
 package io.budgetapp.model.form.budget;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.budgetapp.model.MinorUnits;
 import org.hibernate.validator.constraints.NotBlank;
 
 import javax.validation.constraints.Min;
@@ -15,7 +16,7 @@ public class BudgetForm implements Serializable {
     private static final long serialVersionUID = 7677505567308081026L;
 
     private String name;
-    private double projected;
+    private long projected;
 
     @NotBlank(message = "{validation.name.required}")
     public String getName() {
@@ -26,12 +27,13 @@ public class BudgetForm implements Serializable {
         this.name = name;
     }
 
+    @MinorUnits
     @Min(value = 0, message = "{validation.projected.min}")
-    public double getProjected() {
+    public long getProjected() {
         return projected;
     }
 
-    public void setProjected(double projected) {
+    public void setProjected(long projected) {
         this.projected = projected;
     }
 
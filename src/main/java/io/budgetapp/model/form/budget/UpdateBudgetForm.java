@@ -1,6 +1,7 @@
 package io.budgetapp.model.form.budget;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.budgetapp.model.MinorUnits;
 
 import javax.validation.constraints.NotNull;
 import java.io.Serializable;
@@ -14,7 +15,7 @@ public class UpdateBudgetForm extends BudgetForm implements Serializable {
     private static final long serialVersionUID = 7677505567308081026L;
 
     private Long id;
-    private double actual;
+    private long actual;
 
     @NotNull(message = "{validation.id.required}")
     public Long getId() {
@@ -25,11 +26,12 @@ public class UpdateBudgetForm extends BudgetForm implements Serializable {
         this.id = id;
     }
 
-    public double getActual() {
+    @MinorUnits
+    public long getActual() {
         return actual;
     }
 
-    public void setActual(double actual) {
+    public void setActual(long actual) {
         this.actual = actual;
     }
 }
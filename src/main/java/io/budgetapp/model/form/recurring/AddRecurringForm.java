@@ -2,6 +2,7 @@ package io.budgetapp.model.form.recurring;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.budgetapp.model.RecurringType;
+import io.budgetapp.model.MinorUnits;
 
 import javax.validation.constraints.NotNull;
 import java.io.Serializable;
@@ -16,7 +17,7 @@ public class AddRecurringForm implements Serializable {
     private static final long serialVersionUID = -3317443535487916735L;
 
     private Long budgetId;
-    private Double amount;
+    private Long amount;
     private Date recurringAt;
     private RecurringType recurringType;
     private String remark;
@@ -30,12 +31,13 @@ public class AddRecurringForm implements Serializable {
         this.budgetId = budgetId;
     }
 
+    @MinorUnits
     @NotNull(message = "{validation.amount.required}")
-    public Double getAmount() {
+    public Long getAmount() {
         return amount;
     }
 
-    public void setAmount(Double amount) {
+    public void setAmount(Long amount) {
         this.amount = amount;
     }
 
@@ -1,5 +1,7 @@
 package io.budgetapp.model.form.report;
 
+import io.budgetapp.model.MinorUnits;
+
 import java.io.Serializable;
 import java.util.Date;
 
@@ -10,25 +12,27 @@ public class SearchFilter implements Serializable {
 
     private static final long serialVersionUID = 2152292419706145722L;
 
-    private Double maxAmount;
-    private Double minAmount;
+    private Long maxAmount;
+    private Long minAmount;
     private Date startOn;
     private Date endOn;
     private Boolean auto;
 
-    public Double getMaxAmount() {
+    @MinorUnits
+    public Long getMaxAmount() {
         return maxAmount;
     }
 
-    public void setMaxAmount(Double maxAmount) {
+    public void setMaxAmount(Long maxAmount) {
         this.maxAmount = maxAmount;
     }
 
-    public Double getMinAmount() {
+    @MinorUnits
+    public Long getMinAmount() {
         return minAmount;
     }
 
-    public void setMinAmount(Double minAmount) {
+    public void setMinAmount(Long minAmount) {
         this.minAmount = minAmount;
     }
 
@@ -1,20 +1,61 @@
 package io.budgetapp.resource;
 
+import io.budgetapp.model.Page;
+import io.budgetapp.model.User;
+
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.LocalDate;
+import java.util.function.Supplier;
 
 /**
  *
  */
 abstract class AbstractResource {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final CacheControl REVALIDATE = CacheControl.valueOf("private, no-cache");
+
     public abstract String getPath();
 
     public Response ok(Object object) {
         return Response.ok(object).build();
     }
 
+    /**
+     * page items as body, token of next page (if any) in {@link #NEXT_CURSOR_HEADER}
+     */
+    public Response ok(Page<?> page) {
+        return Response.ok(page.getItems()).header(NEXT_CURSOR_HEADER, page.getNext()).build();
+    }
+
+    /**
+     * <code>body</code> tagged with the data version of the user, or <code>304 Not Modified</code> without calling
+     * <code>body</code> when <code>If-None-Match</code> holds the same tag. Besides the user, the version and the
+     * request parameters the tag covers the current day, since defaulted months and rolling ranges move with it.
+     * Read the version before the data, so a concurrent write can only make the tag older than the body.
+     */
+    public Response versioned(Request request, User user, long dataVersion, Supplier<?> body, Object... params) {
+        StringBuilder value = new StringBuilder()
+                .append(user.getId()).append('-')
+                .append(dataVersion).append('-')
+                .append(LocalDate.now().toEpochDay());
+        for (Object param : params) {
+            value.append('-').append(param);
+        }
+        EntityTag tag = new EntityTag(value.toString());
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if(notModified != null) {
+            return notModified.cacheControl(REVALIDATE).build();
+        }
+        return Response.ok(body.get()).tag(tag).cacheControl(REVALIDATE).build();
+    }
+
     public Response ok() {
         return Response.ok().build();
     }
@@ -1,11 +1,11 @@
 package io.budgetapp.resource;
 
 import io.budgetapp.model.Budget;
-import io.budgetapp.model.Transaction;
 import io.budgetapp.model.User;
 import io.budgetapp.model.form.budget.AddBudgetForm;
 import io.budgetapp.model.form.budget.UpdateBudgetForm;
 import io.budgetapp.service.FinanceService;
+import io.budgetapp.service.SuggestionService;
 import io.dropwizard.auth.Auth;
 import io.dropwizard.hibernate.UnitOfWork;
 
@@ -19,7 +19,9 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import java.util.List;
 
@@ -32,9 +34,11 @@ import java.util.List;
 public class BudgetResource extends AbstractResource {
 
     private final FinanceService financeService;
+    private final SuggestionService suggestionService;
 
-    public BudgetResource(FinanceService financeService) {
+    public BudgetResource(FinanceService financeService, SuggestionService suggestionService) {
         this.financeService = financeService;
+        this.suggestionService = suggestionService;
     }
 
     @Override
@@ -44,15 +48,15 @@ public class BudgetResource extends AbstractResource {
 
     @GET
     @UnitOfWork
-    public List<Budget> getBudgets(@Auth User user) {
-        return financeService.findBudgetsByUser(user);
+    public Response getBudgets(@Auth User user, @Context Request request) {
+        return versioned(request, user, financeService.findDataVersion(user), () -> financeService.findBudgetsByUser(user));
     }
 
     @GET
     @UnitOfWork
     @Path("/{month}/{year}")
-    public List<Budget> getBudgets(@Auth User user, @PathParam("month") int month, @PathParam("year") int year) {
-        return financeService.findBudgetByUser(user, month, year);
+    public Response getBudgets(@Auth User user, @Context Request request, @PathParam("month") int month, @PathParam("year") int year) {
+        return versioned(request, user, financeService.findDataVersion(user), () -> financeService.findBudgetByUser(user, month, year), month, year);
     }
 
     @POST
@@ -89,14 +93,16 @@ public class BudgetResource extends AbstractResource {
     @GET
     @UnitOfWork
     @Path("/{id}/transactions")
-    public List<Transaction> findTransactions(@Auth User user, @PathParam("id") long id) {
-        return financeService.findTransactionsByBudget(user, id);
+    public Response findTransactions(@Auth User user, @PathParam("id") long id, @QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit) {
+        if(cursor == null && limit == null) {
+            return ok(financeService.findTransactionsByBudget(user, id));
+        }
+        return ok(financeService.findTransactionsByBudget(user, id, cursor, limit));
     }
 
     @GET
-    @UnitOfWork
     @Path("/suggests")
     public List<String> findSuggestion(@Auth User user, @QueryParam("q") String q) {
-        return financeService.findBudgetSuggestions(user, q);
+        return suggestionService.findBudgetSuggestions(user, q);
     }
 }
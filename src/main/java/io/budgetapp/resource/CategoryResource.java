@@ -2,9 +2,11 @@ package io.budgetapp.resource;
 
 import io.budgetapp.model.Budget;
 import io.budgetapp.model.Category;
-import io.budgetapp.model.Point;
 import io.budgetapp.model.User;
 import io.budgetapp.service.FinanceService;
+import io.budgetapp.service.SuggestionService;
+import io.budgetapp.service.SummaryCache;
+import io.budgetapp.service.SummaryCache.Summary;
 import io.dropwizard.auth.Auth;
 import io.dropwizard.hibernate.UnitOfWork;
 
@@ -17,7 +19,9 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import java.util.List;
 
@@ -30,9 +34,13 @@ import java.util.List;
 public class CategoryResource extends AbstractResource {
 
     private final FinanceService financeService;
+    private final SummaryCache summaryCache;
+    private final SuggestionService suggestionService;
 
-    public CategoryResource(FinanceService financeService) {
+    public CategoryResource(FinanceService financeService, SummaryCache summaryCache, SuggestionService suggestionService) {
         this.financeService = financeService;
+        this.summaryCache = summaryCache;
+        this.suggestionService = suggestionService;
     }
 
     @Override
@@ -42,8 +50,8 @@ public class CategoryResource extends AbstractResource {
 
     @GET
     @UnitOfWork
-    public List<Category> findAll(@Auth User user) {
-        return financeService.findCategories(user);
+    public Response findAll(@Auth User user, @Context Request request) {
+        return versioned(request, user, financeService.findDataVersion(user), () -> financeService.findCategories(user));
     }
 
     @POST
@@ -79,15 +87,14 @@ public class CategoryResource extends AbstractResource {
     @GET
     @UnitOfWork
     @Path("/summary")
-    public List<Point> findSummary(@Auth User user, @QueryParam("month") Integer month, @QueryParam("year") Integer year) {
-        return financeService.findUsageByCategory(user, month, year);
+    public Response findSummary(@Auth User user, @Context Request request, @QueryParam("month") Integer month, @QueryParam("year") Integer year) {
+        return versioned(request, user, financeService.findDataVersion(user), () -> summaryCache.get(user, Summary.CATEGORY_USAGE, month, year, () -> financeService.findUsageByCategory(user, month, year)), month, year);
     }
 
     @GET
-    @UnitOfWork
     @Path("/suggests")
     public List<String> findSuggestion(@Auth User user, @QueryParam("q") String q) {
-        return financeService.findCategorySuggestions(user, q);
+        return suggestionService.findCategorySuggestions(user, q);
     }
 
 }
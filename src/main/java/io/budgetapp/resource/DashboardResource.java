@@ -0,0 +1,46 @@
+package io.budgetapp.resource;
+
+import io.budgetapp.model.User;
+import io.budgetapp.service.FinanceService;
+import io.budgetapp.service.SummaryCache;
+import io.budgetapp.service.SummaryCache.Summary;
+import io.dropwizard.auth.Auth;
+import io.dropwizard.hibernate.UnitOfWork;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+/**
+ * all widgets of the dashboard in one request
+ */
+@Path(ResourceURL.DASHBOARD)
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class DashboardResource extends AbstractResource {
+
+    private final FinanceService financeService;
+    private final SummaryCache summaryCache;
+
+    public DashboardResource(FinanceService financeService, SummaryCache summaryCache) {
+        this.financeService = financeService;
+        this.summaryCache = summaryCache;
+    }
+
+    @Override
+    public String getPath() {
+        return ResourceURL.DASHBOARD;
+    }
+
+    @GET
+    @UnitOfWork
+    public Response findDashboard(@Auth User user, @Context Request request, @QueryParam("month") Integer month, @QueryParam("year") Integer year) {
+        return versioned(request, user, financeService.findDataVersion(user), () -> summaryCache.get(user, Summary.DASHBOARD, month, year, () -> financeService.findDashboard(user, month, year)), month, year);
+    }
+}
@@ -1,6 +1,7 @@
 package io.budgetapp.resource;
 
 import io.budgetapp.model.Recurring;
+import io.budgetapp.model.RecurringSummary;
 import io.budgetapp.model.User;
 import io.budgetapp.model.form.recurring.AddRecurringForm;
 import io.budgetapp.service.FinanceService;
@@ -15,6 +16,7 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.util.List;
@@ -40,7 +42,7 @@ public class RecurringResource extends AbstractResource {
 
     @GET
     @UnitOfWork
-    public List<Recurring> getRecurrings(@Auth User user) {
+    public List<RecurringSummary> getRecurrings(@Auth User user) {
         return financeService.findRecurrings(user);
     }
 
@@ -54,8 +56,11 @@ public class RecurringResource extends AbstractResource {
     @GET
     @UnitOfWork
     @Path("/{id}/transactions")
-    public Response findTransactions(@Auth User user, @PathParam("id") long id) {
-        return ok(financeService.findTransactionsByRecurring(user, id));
+    public Response findTransactions(@Auth User user, @PathParam("id") long id, @QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit) {
+        if(cursor == null && limit == null) {
+            return ok(financeService.findTransactionsByRecurring(user, id));
+        }
+        return ok(financeService.findTransactionsByRecurring(user, id, cursor, limit));
     }
 
     @DELETE
@@ -1,17 +1,23 @@
 package io.budgetapp.resource;
 
+import io.budgetapp.model.ExportFormat;
 import io.budgetapp.model.User;
 import io.budgetapp.model.form.report.SearchFilter;
 import io.budgetapp.service.FinanceService;
+import io.budgetapp.service.TransactionExporter;
 import io.dropwizard.auth.Auth;
 import io.dropwizard.hibernate.UnitOfWork;
 
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 /**
  *
@@ -22,9 +28,11 @@ import javax.ws.rs.core.Response;
 public class ReportResource extends AbstractResource {
 
     private final FinanceService financeService;
+    private final TransactionExporter transactionExporter;
 
-    public ReportResource(FinanceService financeService) {
+    public ReportResource(FinanceService financeService, TransactionExporter transactionExporter) {
         this.financeService = financeService;
+        this.transactionExporter = transactionExporter;
     }
 
     @Override
@@ -35,7 +43,25 @@ public class ReportResource extends AbstractResource {
     @POST
     @UnitOfWork
     @Path("/transactions")
-    public Response findTransactions(@Auth User user,  SearchFilter filter) {
-        return ok(financeService.findTransactions(user, filter));
+    public Response findTransactions(@Auth User user, @QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit, SearchFilter filter) {
+        if(cursor == null && limit == null) {
+            return ok(financeService.findTransactions(user, filter));
+        }
+        return ok(financeService.findTransactions(user, filter, cursor, limit));
+    }
+
+    /**
+     * no unit of work here, the exporter opens its own session while the response is written
+     */
+    @POST
+    @Path("/transactions/export")
+    @Produces({"text/csv", "application/x-ndjson", MediaType.APPLICATION_JSON})
+    public Response exportTransactions(@Auth User user, @QueryParam("format") @DefaultValue("csv") String format, SearchFilter filter) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        SearchFilter searchFilter = filter == null ? new SearchFilter() : filter;
+        StreamingOutput output = outputStream -> transactionExporter.export(user, searchFilter, exportFormat, outputStream);
+        return Response.ok(output, exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions." + exportFormat.getExtension() + "\"")
+                .build();
     }
 }
@@ -7,6 +7,7 @@ public class ResourceURL {
 
     public static final String BUDGET = "/api/budgets";
     public static final String CATEGORY = "/api/categories";
+    public static final String DASHBOARD = "/api/dashboard";
     public static final String HEALTH = "/api/health";
     public static final String RECURRING = "/api/recurrings";
     public static final String REPORT = "/api/reports";
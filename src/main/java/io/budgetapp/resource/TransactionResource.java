@@ -1,16 +1,24 @@
 package io.budgetapp.resource;
 
-import io.budgetapp.model.Point;
+import io.budgetapp.model.ImportStatus;
 import io.budgetapp.model.Transaction;
 import io.budgetapp.model.User;
 import io.budgetapp.model.form.TransactionForm;
 import io.budgetapp.service.FinanceService;
+import io.budgetapp.service.ImportService;
+import io.budgetapp.service.SummaryCache;
+import io.budgetapp.service.SummaryCache.Summary;
 import io.dropwizard.auth.Auth;
 import io.dropwizard.hibernate.UnitOfWork;
 
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,9 +31,13 @@ import java.util.stream.Collectors;
 public class TransactionResource extends AbstractResource {
 
     private final FinanceService financeService;
+    private final SummaryCache summaryCache;
+    private final ImportService importService;
 
-    public TransactionResource(FinanceService financeService) {
+    public TransactionResource(FinanceService financeService, SummaryCache summaryCache, ImportService importService) {
         this.financeService = financeService;
+        this.summaryCache = summaryCache;
+        this.importService = importService;
     }
 
     @Override
@@ -57,6 +69,20 @@ public class TransactionResource extends AbstractResource {
                 .collect(Collectors.toList());
     }
 
+    @POST
+    @Path("/import")
+    @Consumes({"text/csv", MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    public Response importTransactions(@Auth User user, @QueryParam("dateFormat") String dateFormat, InputStream csv) throws IOException {
+        ImportStatus status = importService.importTransactions(user, csv, dateFormat);
+        return Response.accepted(status).location(URI.create(getPath() + "/import/" + status.getId())).build();
+    }
+
+    @GET
+    @Path("/import/{id}")
+    public ImportStatus findImport(@Auth User user, @PathParam("id") String id) {
+        return importService.findImport(user, id);
+    }
+
     @GET
     @UnitOfWork
     @Path("/{id}")
@@ -79,15 +105,15 @@ public class TransactionResource extends AbstractResource {
     @GET
     @UnitOfWork
     @Path("/summary")
-    public List<Point> findSummary(@Auth User user, @QueryParam("month") Integer month, @QueryParam("year") Integer year) {
-        return financeService.findTransactionUsage(user, month, year);
+    public Response findSummary(@Auth User user, @Context Request request, @QueryParam("month") Integer month, @QueryParam("year") Integer year) {
+        return versioned(request, user, financeService.findDataVersion(user), () -> summaryCache.get(user, Summary.TRANSACTION_USAGE, month, year, () -> financeService.findTransactionUsage(user, month, year)), month, year);
     }
 
     @GET
     @UnitOfWork
     @Path("/monthly")
-    public List<Point> findMonthly(@Auth User user) {
-        return financeService.findMonthlyTransactionUsage(user);
+    public Response findMonthly(@Auth User user, @Context Request request) {
+        return versioned(request, user, financeService.findDataVersion(user), () -> summaryCache.get(user, Summary.MONTHLY_USAGE, null, null, () -> financeService.findMonthlyTransactionUsage(user)));
     }
 
     @GET
@@ -1,25 +1,31 @@
 package io.budgetapp.resource;
 
-import io.budgetapp.model.AccountSummary;
-import io.budgetapp.model.UsageSummary;
+import io.budgetapp.auth.CachingTokenAuthenticator;
 import io.budgetapp.model.User;
 import io.budgetapp.model.form.LoginForm;
 import io.budgetapp.model.form.SignUpForm;
 import io.budgetapp.model.form.user.Password;
 import io.budgetapp.model.form.user.Profile;
 import io.budgetapp.service.FinanceService;
+import io.budgetapp.service.SummaryCache;
+import io.budgetapp.service.SummaryCache.Summary;
 import io.dropwizard.auth.Auth;
 import io.dropwizard.hibernate.UnitOfWork;
 
 import javax.validation.Valid;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import java.util.Optional;
 
@@ -31,10 +37,16 @@ import java.util.Optional;
 @Consumes(MediaType.APPLICATION_JSON)
 public class UserResource extends AbstractResource {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final FinanceService financeService;
+    private final SummaryCache summaryCache;
+    private final CachingTokenAuthenticator tokenAuthenticator;
 
-    public UserResource(FinanceService financeService) {
+    public UserResource(FinanceService financeService, SummaryCache summaryCache, CachingTokenAuthenticator tokenAuthenticator) {
         this.financeService = financeService;
+        this.summaryCache = summaryCache;
+        this.tokenAuthenticator = tokenAuthenticator;
     }
 
     @Override
@@ -52,7 +64,10 @@ public class UserResource extends AbstractResource {
     @PUT
     @UnitOfWork
     public Response update(@Auth User user, Profile profile) {
-        return ok(financeService.update(user, profile));
+        User updated = financeService.update(user, profile);
+        // cached principal still holds the old profile
+        tokenAuthenticator.invalidate(user);
+        return ok(updated);
     }
 
     @PUT
@@ -60,21 +75,23 @@ public class UserResource extends AbstractResource {
     @Path("/password")
     public Response changePassword(@Auth User user, @Valid Password password) {
         financeService.changePassword(user, password);
+        // cached principal still holds the old password
+        tokenAuthenticator.invalidate(user);
         return ok();
     }
 
     @GET
     @UnitOfWork
     @Path("/account")
-    public AccountSummary findAccountSummary(@Auth User user, @QueryParam("month") Integer month, @QueryParam("year") Integer year) {
-        return financeService.findAccountSummaryByUser(user, month, year);
+    public Response findAccountSummary(@Auth User user, @Context Request request, @QueryParam("month") Integer month, @QueryParam("year") Integer year) {
+        return versioned(request, user, financeService.findDataVersion(user), () -> summaryCache.get(user, Summary.ACCOUNT, month, year, () -> financeService.findAccountSummaryByUser(user, month, year)), month, year);
     }
 
     @GET
     @UnitOfWork
     @Path("/usage")
-    public UsageSummary findUsageSummary(@Auth User user, @QueryParam("month") Integer month, @QueryParam("year") Integer year) {
-        return financeService.findUsageSummaryByUser(user, month, year);
+    public Response findUsageSummary(@Auth User user, @Context Request request, @QueryParam("month") Integer month, @QueryParam("year") Integer year) {
+        return versioned(request, user, financeService.findDataVersion(user), () -> summaryCache.get(user, Summary.USAGE, month, year, () -> financeService.findUsageSummaryByUser(user, month, year)), month, year);
     }
 
 
@@ -86,6 +103,22 @@ public class UserResource extends AbstractResource {
         return user.map(this::ok).orElseGet(this::unauthorized);
     }
 
+    /**
+     * revoke current token
+     */
+    @DELETE
+    @UnitOfWork
+    @Path("/auth")
+    public Response logout(@Auth User user, @HeaderParam(HttpHeaders.AUTHORIZATION) String authorization) {
+        if(authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return unauthorized();
+        }
+        String token = authorization.substring(BEARER_PREFIX.length()).trim();
+        financeService.revokeToken(token);
+        tokenAuthenticator.invalidate(token);
+        return deleted();
+    }
+
     /**
      * return current user
      */
@@ -0,0 +1,56 @@
+package io.budgetapp.service;
+
+import io.budgetapp.model.Budget;
+import io.budgetapp.model.Category;
+import io.budgetapp.model.Recurring;
+import io.budgetapp.model.User;
+
+import java.util.Collection;
+
+/**
+ * Notified by {@link FinanceService} about changes, within the unit of work that made them.
+ */
+public interface FinanceEventListener {
+
+    /**
+     * a new recurring was added, it is due at {@link Recurring#getNextRunAt()}
+     */
+    default void onRecurringAdded(Recurring recurring) {
+    }
+
+    /**
+     * a recurring was deleted, it was due at {@link Recurring#getNextRunAt()}
+     */
+    default void onRecurringDeleted(Recurring recurring) {
+    }
+
+    default void onBudgetsAdded(User user, Collection<Budget> budgets) {
+    }
+
+    /**
+     * a budget was renamed, it was named previousName
+     */
+    default void onBudgetRenamed(User user, Budget budget, String previousName) {
+    }
+
+    default void onBudgetDeleted(User user, Budget budget) {
+    }
+
+    default void onCategoriesAdded(User user, Collection<Category> categories) {
+    }
+
+    default void onCategoryDeleted(User user, Category category) {
+    }
+
+    /**
+     * budgets, transactions or rollups of the user in the given months changed
+     */
+    default void onDataChanged(User user, Collection<Integer> periods) {
+    }
+
+    /**
+     * data of the user in any month might have changed
+     */
+    default void onDataChanged(User user) {
+    }
+}
@@ -8,6 +8,8 @@ import io.budgetapp.dao.AuthTokenDAO;
 import io.budgetapp.dao.CategoryDAO;
 import io.budgetapp.dao.BudgetDAO;
 import io.budgetapp.dao.BudgetTypeDAO;
+import io.budgetapp.dao.DailySpendDAO;
+import io.budgetapp.dao.MonthlyRollupDAO;
 import io.budgetapp.dao.RecurringDAO;
 import io.budgetapp.dao.TransactionDAO;
 import io.budgetapp.dao.UserDAO;
@@ -17,11 +19,18 @@ import io.budgetapp.model.Budget;
 import io.budgetapp.model.BudgetType;
 import io.budgetapp.model.Category;
 import io.budgetapp.model.CategoryType;
+import io.budgetapp.model.DailySpend;
+import io.budgetapp.model.Dashboard;
+import io.budgetapp.model.DueRecurring;
 import io.budgetapp.model.Group;
+import io.budgetapp.model.MonthlyRollup;
+import io.budgetapp.model.Page;
 import io.budgetapp.model.Point;
 import io.budgetapp.model.PointType;
 import io.budgetapp.model.Recurring;
+import io.budgetapp.model.RecurringSummary;
 import io.budgetapp.model.Transaction;
+import io.budgetapp.model.TransactionCursor;
 import io.budgetapp.model.UsageSummary;
 import io.budgetapp.model.User;
 import io.budgetapp.model.form.LoginForm;
@@ -33,6 +42,7 @@ import io.budgetapp.model.form.recurring.AddRecurringForm;
 import io.budgetapp.model.form.report.SearchFilter;
 import io.budgetapp.model.form.user.Password;
 import io.budgetapp.model.form.user.Profile;
+import io.budgetapp.util.PeriodKey;
 import io.budgetapp.util.Util;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +53,8 @@ import java.time.Period;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -60,10 +72,14 @@ public class FinanceService {
     private final TransactionDAO transactionDAO;
     private final RecurringDAO recurringDAO;
     private final AuthTokenDAO authTokenDAO;
+    private final MonthlyRollupDAO monthlyRollupDAO;
+    private final DailySpendDAO dailySpendDAO;
 
     private final PasswordEncoder passwordEncoder;
 
-    public FinanceService(UserDAO userDAO, BudgetDAO budgetDAO, BudgetTypeDAO budgetTypeDAO, CategoryDAO categoryDAO, TransactionDAO transactionDAO, RecurringDAO recurringDAO, AuthTokenDAO authTokenDAO, PasswordEncoder passwordEncoder) {
+    private final List<FinanceEventListener> listeners = new CopyOnWriteArrayList<>();
+
+    public FinanceService(UserDAO userDAO, BudgetDAO budgetDAO, BudgetTypeDAO budgetTypeDAO, CategoryDAO categoryDAO, TransactionDAO transactionDAO, RecurringDAO recurringDAO, AuthTokenDAO authTokenDAO, MonthlyRollupDAO monthlyRollupDAO, DailySpendDAO dailySpendDAO, PasswordEncoder passwordEncoder) {
         this.userDAO = userDAO;
         this.budgetDAO = budgetDAO;
         this.budgetTypeDAO = budgetTypeDAO;
@@ -71,10 +87,16 @@ public class FinanceService {
         this.transactionDAO = transactionDAO;
         this.recurringDAO = recurringDAO;
         this.authTokenDAO = authTokenDAO;
+        this.monthlyRollupDAO = monthlyRollupDAO;
+        this.dailySpendDAO = dailySpendDAO;
 
         this.passwordEncoder = passwordEncoder;
     }
 
+    public void addListener(FinanceEventListener listener) {
+        listeners.add(listener);
+    }
+
     //==================================================================
     // USER
     //==================================================================
@@ -91,11 +113,55 @@ public class FinanceService {
         return user;
     }
 
+    /**
+     * the principal is a detached copy, the changes go to the user loaded in this unit of work
+     */
     public User update(User user, Profile profile) {
-        user.setName(profile.getName());
-        user.setCurrency(profile.getCurrency());
-        userDAO.update(user);
-        return user;
+        User originalUser = userDAO.findById(user.getId());
+        originalUser.setName(profile.getName());
+        originalUser.setCurrency(profile.getCurrency());
+        originalUser.setToken(user.getToken());
+        userDAO.update(originalUser);
+        dataChanged(originalUser);
+        return originalUser;
+    }
+
+    /**
+     * version of all data the read endpoints return for the user, increased by every write
+     */
+    public long findDataVersion(User user) {
+        return userDAO.findDataVersion(user);
+    }
+
+    /**
+     * a write that leaves budgets, transactions and rollups as they are
+     */
+    private void dataChanged(User user) {
+        userDAO.incrementDataVersion(user);
+    }
+
+    private void dataChanged(User user, int period) {
+        dataChanged(user, Collections.singleton(period));
+    }
+
+    /**
+     * a write to budgets, transactions or rollups of the given months
+     */
+    private void dataChanged(User user, Collection<Integer> periods) {
+        dataChanged(user);
+        for (FinanceEventListener listener : listeners) {
+            listener.onDataChanged(user, periods);
+        }
+    }
+
+    /**
+     * a write to budgets, transactions or rollups of any month
+     */
+    private void allDataChanged(User user) {
+        dataChanged(user);
+        for (FinanceEventListener listener : listeners) {
+            listener.onDataChanged(user);
+        }
     }
 
     public void changePassword(User user, Password password) {
@@ -105,7 +171,7 @@ public class FinanceService {
             throw new DataConstraintException("confirm", "Confirm Password does not match");
         }
 
-        if(!passwordEncoder.matches(password.getOriginal(), user.getPassword())) {
+        if(!passwordEncoder.matches(password.getOriginal(), originalUser.getPassword())) {
             throw new DataConstraintException("original", "Current Password does not match");
         }
 
@@ -120,11 +186,22 @@ public class FinanceService {
         return authToken.map(AuthToken::getUser);
     }
 
+    public boolean revokeToken(String token) {
+        Optional<AuthToken> authToken = authTokenDAO.find(token);
+        authToken.ifPresent(authTokenDAO::delete);
+        return authToken.isPresent();
+    }
+
     public Optional<User> login(LoginForm login) {
         Optional<User> optionalUser = userDAO.findByUsername(login.getUsername());
         if(optionalUser.isPresent()) {
             User user = optionalUser.get();
             if(passwordEncoder.matches(login.getPassword(), user.getPassword())) {
+                if(passwordEncoder.upgradeEncoding(user.getPassword())) {
+                    LOGGER.debug("Upgrade password encoding {}", user);
+                    user.setPassword(passwordEncoder.encode(login.getPassword()));
+                    userDAO.update(user);
+                }
                 List<AuthToken> tokens = authTokenDAO.findByUser(user);
                 if(tokens.isEmpty()) {
                     AuthToken token = authTokenDAO.add(optionalUser.get());
@@ -148,6 +225,27 @@ public class FinanceService {
         List<Budget> budgets = findBudgetByUser(user, month, year);
 
         LOGGER.debug("Find account summary {} {}-{}", user, month, year);
+        return accountSummary(budgets);
+    }
+
+    /**
+     * all widgets of the dashboard, account, usage and category usage are derived from one load of the month's budgets
+     */
+    public Dashboard findDashboard(User user, Integer month, Integer year) {
+        List<Budget> budgets = findBudgetByUser(user, month, year);
+
+        LOGGER.debug("Find dashboard {} {}-{}", user, month, year);
+        Dashboard dashboard = new Dashboard();
+        dashboard.setAccount(accountSummary(budgets));
+        dashboard.setUsage(usageSummary(budgets));
+        dashboard.setCategoryUsage(categoryUsage(budgets));
+        dashboard.setTransactionUsage(findTransactionUsage(user, month, year));
+        dashboard.setMonthlyUsage(findMonthlyTransactionUsage(user));
+        dashboard.setRecurringTransactions(findTodayRecurringsTransactions(user));
+        return dashboard;
+    }
+
+    private AccountSummary accountSummary(List<Budget> budgets) {
         AccountSummary accountSummary = new AccountSummary();
         Map<Category, List<Budget>> grouped = budgets
                 .stream()
@@ -155,8 +253,12 @@ public class FinanceService {
 
         for(Map.Entry<Category, List<Budget>> entry: grouped.entrySet()) {
             Category category = entry.getKey();
-            double budget = entry.getValue().stream().mapToDouble(Budget::getProjected).sum();
-            double spent = entry.getValue().stream().mapToDouble(Budget::getActual).sum();
+            long budget = 0;
+            long spent = 0;
+            for (Budget categoryBudget : entry.getValue()) {
+                budget += categoryBudget.getProjected();
+                spent += categoryBudget.getActual();
+            }
             Group group = new Group(category.getId(), category.getName());
             group.setType(category.getType());
             group.setBudget(budget);
@@ -169,6 +271,36 @@ public class FinanceService {
         return accountSummary;
     }
 
+    /**
+     * same totals as the month's rollups, which are kept in step with the budgets
+     */
+    private UsageSummary usageSummary(List<Budget> budgets) {
+        long income = 0;
+        long budget = 0;
+        long spent = 0;
+        for (Budget monthBudget : budgets) {
+            if(monthBudget.getCategory().getType() == CategoryType.INCOME) {
+                income += monthBudget.getActual();
+            } else {
+                budget += monthBudget.getProjected();
+                spent += monthBudget.getActual();
+            }
+        }
+        return new UsageSummary(income, budget, spent);
+    }
+
+    private List<Point> categoryUsage(List<Budget> budgets) {
+        Map<Category, Long> spent = budgets
+                .stream()
+                .filter(budget -> budget.getCategory().getType() == CategoryType.EXPENDITURE)
+                .collect(Collectors.groupingBy(Budget::getCategory, Collectors.summingLong(Budget::getActual)));
+
+        List<Point> points = new ArrayList<>(spent.size());
+        spent.forEach((category, actual) -> points.add(new Point(category.getName(), category.getId(), actual, PointType.CATEGORY)));
+        points.sort((p1, p2) -> Long.compare(p2.getValue(), p1.getValue()));
+        return points;
+    }
+
     private void initCategoriesAndBudgets(User user, int month, int year) {
         Collection<Category> categories = categoryDAO.findCategories(user);
         // no categories, first time access
@@ -189,49 +321,46 @@ public class FinanceService {
             year = now.getYear();
         }
 
-        List<Budget> budgets = budgetDAO.findBudgets(user, month, year, true);
-
-        double income =
-                budgets
-                        .stream()
-                        .filter(p -> p.getCategory().getType() == CategoryType.INCOME)
-                        .mapToDouble(Budget::getActual)
-                        .sum();
-
-        double budget =
-                budgets
-                        .stream()
-                        .filter(p -> p.getCategory().getType() == CategoryType.EXPENDITURE)
-                        .mapToDouble(Budget::getProjected)
-                        .sum();
-
-        double spent =
-                budgets
-                        .stream()
-                        .filter(p -> p.getCategory().getType() == CategoryType.EXPENDITURE)
-                        .mapToDouble(Budget::getActual)
-                        .sum();
+        long income = 0;
+        long budget = 0;
+        long spent = 0;
+        for (MonthlyRollup rollup : monthlyRollupDAO.findByPeriod(user, PeriodKey.of(month, year))) {
+            if(rollup.getCategoryType() == CategoryType.INCOME) {
+                income += rollup.getActual();
+            } else {
+                budget += rollup.getProjected();
+                spent += rollup.getActual();
+            }
+        }
         return new UsageSummary(income, budget, spent);
     }
 
     private void generateDefaultCategoriesAndBudgets(User user, int month, int year) {
         Collection<Category> categories = categoryDAO.addDefaultCategories(user);
+        fireCategoriesAdded(user, categories);
         Map<String, List<Budget>> defaultBudgets = budgetDAO.findDefaultBudgets();
-        Date period = Util.yearMonthDate(month, year);
+        int period = PeriodKey.of(month, year);
+        List<Budget> newBudgets = new ArrayList<>();
         for(Category category: categories) {
             List<Budget> budgets = defaultBudgets.get(category.getName());
             if(budgets != null) {
                 for(Budget budget : budgets) {
-                    BudgetType budgetType = budgetTypeDAO.addBudgetType();
                     Budget newBudget = new Budget();
                     newBudget.setName(budget.getName());
-                    newBudget.setPeriod(period);
+                    newBudget.setPeriodKey(period);
                     newBudget.setCategory(category);
-                    newBudget.setBudgetType(budgetType);
-                    budgetDAO.addBudget(user, newBudget);
+                    newBudgets.add(newBudget);
                 }
             }
         }
+        List<BudgetType> budgetTypes = budgetTypeDAO.addBudgetTypes(newBudgets.size());
+        for (int i = 0; i < newBudgets.size(); i++) {
+            newBudgets.get(i).setBudgetType(budgetTypes.get(i));
+        }
+        budgetDAO.addBudgets(user, newBudgets);
+        addRollups(user, period, newBudgets);
+        dataChanged(user, period);
+        fireBudgetsAdded(user, newBudgets);
     }
 
     //==================================================================
@@ -242,12 +371,20 @@ public class FinanceService {
         BudgetType budgetType = budgetTypeDAO.addBudgetType();
         Budget budget = new Budget(budgetForm);
         budget.setBudgetType(budgetType);
-        return budgetDAO.addBudget(user, budget);
+        Budget added = budgetDAO.addBudget(user, budget);
+        rollup(user, budget.getPeriodKey(), categoryDAO.findById(budgetForm.getCategoryId()), rollup -> rollup.addBudget(budget.getProjected(), budget.getActual()));
+        dataChanged(user, budget.getPeriodKey());
+        fireBudgetsAdded(user, Collections.singletonList(budget));
+        return added;
     }
 
     public Budget updateBudget(User user, UpdateBudgetForm budgetForm) {
         Budget budget = budgetDAO.findById(user, budgetForm.getId());
+        budgetDAO.lock(budget);
         Category category = categoryDAO.findById(budget.getCategory().getId());
+        long previousProjected = budget.getProjected();
+        long previousActual = budget.getActual();
+        String previousName = budget.getName();
         budget.setName(budgetForm.getName());
         budget.setProjected(budgetForm.getProjected());
         // INCOME type allow user change actual without
@@ -256,12 +393,20 @@ public class FinanceService {
             budget.setActual(budgetForm.getActual());
         }
         budgetDAO.update(budget);
+        rollup(user, budget.getPeriodKey(), category, rollup -> rollup.update(budget.getProjected() - previousProjected, previousActual, budget.getActual()));
+        dataChanged(user, budget.getPeriodKey());
+        if(!Objects.equals(previousName, budget.getName())) {
+            fireBudgetRenamed(user, budget, previousName);
+        }
         return budget;
     }
 
     public void deleteBudget(User user, long budgetId) {
         Budget budget = budgetDAO.findById(user, budgetId);
+        rollup(user, budget.getPeriodKey(), budget.getCategory(), rollup -> rollup.removeBudget(budget.getProjected(), budget.getActual()));
         budgetDAO.delete(budget);
+        dataChanged(user, budget.getPeriodKey());
+        fireBudgetDeleted(user, budget);
     }
 
     public List<Budget> findBudgetsByUser(User user) {
@@ -297,10 +442,6 @@ public class FinanceService {
         return budgetDAO.findByUserAndCategory(user, categoryId);
     }
 
-    public List<String> findBudgetSuggestions(User user, String q) {
-        return budgetDAO.findSuggestions(user, q);
-    }
-
     private void generateBudgets(User user, int month, int year) {
         LocalDate now = LocalDate.now();
         // use current month's budgets
@@ -313,18 +454,49 @@ public class FinanceService {
             LocalDate date = latestDate.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
             originalBudgets = budgetDAO.findBudgets(user, date.getMonthValue(), date.getYear(), false);
         }
-        Date period = Util.yearMonthDate(month, year);
+        int period = PeriodKey.of(month, year);
+        List<Budget> newBudgets = new ArrayList<>(originalBudgets.size());
         for(Budget budget : originalBudgets) {
             Budget newBudget = new Budget();
             newBudget.setName(budget.getName());
             newBudget.setProjected(budget.getProjected());
-            newBudget.setPeriod(period);
+            newBudget.setPeriodKey(period);
             newBudget.setCategory(budget.getCategory());
             newBudget.setBudgetType(budget.getBudgetType());
-            budgetDAO.addBudget(user, newBudget);
+            newBudgets.add(newBudget);
+        }
+        budgetDAO.addBudgets(user, newBudgets);
+        addRollups(user, period, newBudgets);
+        dataChanged(user, period);
+        fireBudgetsAdded(user, newBudgets);
+    }
+
+    /**
+     * add new budgets of the same month to their rollups, one rollup lookup per category
+     */
+    private void addRollups(User user, int period, List<Budget> budgets) {
+        Map<Category, List<Budget>> grouped = budgets
+                .stream()
+                .collect(Collectors.groupingBy(Budget::getCategory));
+        for (Map.Entry<Category, List<Budget>> entry : grouped.entrySet()) {
+            rollup(user, period, entry.getKey(), rollup -> {
+                for (Budget budget : entry.getValue()) {
+                    rollup.addBudget(budget.getProjected(), budget.getActual());
+                }
+            });
         }
     }
 
+    /**
+     * change the rollup of the category in the month, the change is recorded on an empty rollup
+     * and added to the stored one in a single update
+     */
+    private void rollup(User user, int period, Category category, Consumer<MonthlyRollup> change) {
+        MonthlyRollup rollup = new MonthlyRollup(user, period, category, category.getType());
+        change.accept(rollup);
+        monthlyRollupDAO.apply(rollup);
+    }
+
     //==================================================================
     // END BUDGET
     //==================================================================
@@ -343,16 +515,20 @@ public class FinanceService {
         }
         // end validation
         Budget budget = findBudgetById(user, recurringForm.getBudgetId());
+        budgetDAO.lock(budget);
+        long previousActual = budget.getActual();
         budget.setActual(budget.getActual() + recurringForm.getAmount());
         budgetDAO.update(budget);
+        rollup(user, budget.getPeriodKey(), budget.getCategory(), rollup -> rollup.update(0, previousActual, budget.getActual()));
 
         Recurring recurring = new Recurring();
         recurring.setAmount(recurringForm.getAmount());
-        recurring.setLastRunAt(recurringForm.getRecurringAt());
         recurring.setRecurringType(recurringForm.getRecurringType());
+        recurring.run(recurringForm.getRecurringAt());
         recurring.setBudgetType(budget.getBudgetType());
         recurring.setRemark(recurringForm.getRemark());
         recurring = recurringDAO.addRecurring(recurring);
+        fireRecurringAdded(recurring);
 
         Transaction transaction = new Transaction();
         transaction.setName(budget.getName());
@@ -363,37 +539,69 @@ public class FinanceService {
         transaction.setBudget(budget);
         transaction.setRecurring(recurring);
         transactionDAO.addTransaction(transaction);
-
+        dailySpend(user, day(transaction), dailySpend -> dailySpend.add(transaction.getAmount()));
+        dataChanged(user, budget.getPeriodKey());
 
         return recurring;
     }
 
-    public List<Recurring> findRecurrings(User user) {
-        List<Recurring> results = recurringDAO.findRecurrings(user);
-        // TODO: fix N + 1 query but now still OK
-        results.forEach(this::populateRecurring);
+    /**
+     * recurrings of the user, with budget name and category of the current month when there is a budget
+     */
+    public List<RecurringSummary> findRecurrings(User user) {
+        List<RecurringSummary> results = recurringDAO.findSummaries(user, PeriodKey.current());
         LOGGER.debug("Found recurrings {}", results);
         return results;
     }
 
-    public void updateRecurrings() {
-        LOGGER.debug("Begin update recurrings...");
-        List<Recurring> recurrings = recurringDAO.findActiveRecurrings();
-        LOGGER.debug("Found {} recurring(s) item to update", recurrings.size());
-        for (Recurring recurring : recurrings) {
+    /**
+     * recurrings due now which have a budget in the current month, earliest first
+     * @param owned partitions of <code>user id % partitions</code> to return the recurrings of
+     */
+    public List<DueRecurring> findDueRecurrings(Date now, int partitions, Collection<Integer> owned) {
+        return recurringDAO.findDueRecurrings(now, PeriodKey.current(), partitions, owned);
+    }
 
-            // budget
-            Budget budget = budgetDAO.findByBudgetType(recurring.getBudgetType().getId());
-            budget.setActual(budget.getActual() + recurring.getAmount());
-            budgetDAO.update(budget);
-            // end budget
+    /**
+     * @return when the next recurring is due, null when there is no recurring
+     */
+    public Date findNextRecurringAt() {
+        return recurringDAO.findNextRunAt();
+    }
+
+    /**
+     * post the given recurrings in the current unit of work, recurrings which are no longer due
+     * (posted by another run) or without budget in the current month are skipped
+     * @return ids of the posted recurrings
+     */
+    public Set<Long> postRecurrings(Collection<Long> recurringIds) {
+        if(recurringIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Date now = new Date();
+        List<Recurring> recurrings = recurringDAO.findByIds(recurringIds);
+        Set<Long> budgetTypeIds = recurrings
+                .stream()
+                .map(recurring -> recurring.getBudgetType().getId())
+                .collect(Collectors.toSet());
+        Map<Long, Budget> budgets = new HashMap<>();
+        for (Budget budget : budgetDAO.findByBudgetTypes(budgetTypeIds)) {
+            budgets.put(budget.getBudgetType().getId(), budget);
+        }
 
-            // recurring
-            recurring.setLastRunAt(new Date());
-            recurringDAO.update(recurring);
-            // end recurring
+        // user id -> posted transactions
+        Map<Long, List<Transaction>> userTransactions = new TreeMap<>();
+        for (Recurring recurring : recurrings) {
+            Budget budget = budgets.get(recurring.getBudgetType().getId());
+            if(budget == null) {
+                LOGGER.debug("No budget in current month for {}", recurring);
+                continue;
+            }
+            if(!recurringDAO.updateRun(recurring.getId(), now, recurring.nextRunAfter(now))) {
+                LOGGER.debug("Recurring {} is no longer due", recurring.getId());
+                continue;
+            }
 
-            // transaction
             Transaction transaction = new Transaction();
             transaction.setName(budget.getName());
             transaction.setAmount(recurring.getAmount());
@@ -401,22 +609,80 @@ public class FinanceService {
             transaction.setRemark(recurring.getRecurringTypeDisplay() + " recurring for " + budget.getName());
             transaction.setAuto(true);
             transaction.setBudget(budget);
-            transaction.setTransactionOn(new Date());
-            transactionDAO.addTransaction(transaction);
-            // end transaction
+            transaction.setTransactionOn(now);
+            userTransactions.computeIfAbsent(budget.getUser().getId(), id -> new ArrayList<>()).add(transaction);
+        }
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (List<Transaction> posted : userTransactions.values()) {
+            User user = posted.get(0).getBudget().getUser();
+            Map<Long, Budget> budgetMap = new HashMap<>();
+            Map<Long, Long> budgetDeltas = new TreeMap<>();
+            for (Transaction transaction : posted) {
+                budgetMap.put(transaction.getBudget().getId(), transaction.getBudget());
+                budgetDeltas.merge(transaction.getBudget().getId(), transaction.getAmount(), Long::sum);
+            }
+            budgetDeltas.keySet().forEach(budgetId -> budgetDAO.lock(budgetMap.get(budgetId)));
+            updateBudgets(user, budgetMap, budgetDeltas);
+            updateDailySpends(user, posted);
+            dataChanged(user, periods(budgetMap.values()));
+            transactions.addAll(posted);
+        }
+        transactionDAO.addTransactions(transactions);
+        LOGGER.debug("Posted {} of {} recurring(s)", transactions.size(), recurringIds.size());
+        return transactions
+                .stream()
+                .map(transaction -> transaction.getRecurring().getId())
+                .collect(Collectors.toSet());
+    }
+
+    private void fireRecurringAdded(Recurring recurring) {
+        for (FinanceEventListener listener : listeners) {
+            listener.onRecurringAdded(recurring);
+        }
+    }
 
+    private void fireRecurringDeleted(Recurring recurring) {
+        for (FinanceEventListener listener : listeners) {
+            listener.onRecurringDeleted(recurring);
         }
-        LOGGER.debug("Finish update recurrings...");
     }
 
-    private void populateRecurring(Recurring recurring) {
-        Budget budget = budgetDAO.findByBudgetType(recurring.getBudgetType().getId());
-        recurring.setName(budget.getName());
+    private void fireBudgetsAdded(User user, Collection<Budget> budgets) {
+        for (FinanceEventListener listener : listeners) {
+            listener.onBudgetsAdded(user, budgets);
+        }
+    }
+
+    private void fireBudgetRenamed(User user, Budget budget, String previousName) {
+        for (FinanceEventListener listener : listeners) {
+            listener.onBudgetRenamed(user, budget, previousName);
+        }
+    }
+
+    private void fireBudgetDeleted(User user, Budget budget) {
+        for (FinanceEventListener listener : listeners) {
+            listener.onBudgetDeleted(user, budget);
+        }
+    }
+
+    private void fireCategoriesAdded(User user, Collection<Category> categories) {
+        for (FinanceEventListener listener : listeners) {
+            listener.onCategoriesAdded(user, categories);
+        }
+    }
+
+    private void fireCategoryDeleted(User user, Category category) {
+        for (FinanceEventListener listener : listeners) {
+            listener.onCategoryDeleted(user, category);
+        }
     }
 
     public void deleteRecurring(User user, long recurringId) {
         Recurring recurring = recurringDAO.find(user, recurringId);
         recurringDAO.delete(recurring);
+        dataChanged(user);
+        fireRecurringDeleted(recurring);
     }
     //==================================================================
     // END RECURRING
@@ -445,11 +711,13 @@ public class FinanceService {
             budgetMap.put(budget.getId(), budget);
         }
 
-        List<Transaction> transactions = new ArrayList<>();
+        List<Transaction> transactions = new ArrayList<>(transactionForms.size());
+        // net change per budget, sorted by id so concurrent batches lock budgets in the same order
+        Map<Long, Long> budgetDeltas = new TreeMap<>();
 
-        // validation
         for (TransactionForm transactionForm : transactionForms) {
 
+            // validation
             Budget budget = budgetMap.get(transactionForm.getBudget().getId());
             if (budget == null) {
                 throw new NotFoundException();
@@ -464,24 +732,12 @@ public class FinanceService {
             }
 
             Date transactionOn = transactionForm.getTransactionOn();
-            if (!Util.inMonth(transactionOn, budget.getPeriod())) {
-                throw new DataConstraintException("transactionOn", "Transaction Date must within " + Util.toFriendlyMonthDisplay(budget.getPeriod()) + " " + (budget.getPeriod().getYear() + 1900));
+            if (PeriodKey.of(transactionOn) != budget.getPeriodKey()) {
+                throw new DataConstraintException("transactionOn", "Transaction Date must within " + Util.toFriendlyMonthDisplay(budget.getPeriod()) + " " + PeriodKey.year(budget.getPeriodKey()));
             }
             // end validation
 
-            budget.setActual(budget.getActual() + transactionForm.getAmount());
-            budgetDAO.update(budget);
-
-            Recurring recurring = new Recurring();
-            if (Boolean.TRUE.equals(transactionForm.getRecurring())) {
-                LOGGER.debug("Add recurring {} by {}", transactionForm, user);
-                recurring.setAmount(transactionForm.getAmount());
-                recurring.setRecurringType(transactionForm.getRecurringType());
-                recurring.setBudgetType(budget.getBudgetType());
-                recurring.setRemark(transactionForm.getRemark());
-                recurring.setLastRunAt(transactionForm.getTransactionOn());
-                recurringDAO.addRecurring(recurring);
-            }
+            budgetDeltas.merge(budget.getId(), transactionForm.getAmount(), Long::sum);
 
             Transaction transaction = new Transaction();
             transaction.setName(budget.getName());
@@ -491,23 +747,80 @@ public class FinanceService {
             transaction.setTransactionOn(transactionForm.getTransactionOn());
             transaction.setBudget(transactionForm.getBudget());
             if (Boolean.TRUE.equals(transactionForm.getRecurring())) {
+                LOGGER.debug("Add recurring {} by {}", transactionForm, user);
+                Recurring recurring = new Recurring();
+                recurring.setAmount(transactionForm.getAmount());
+                recurring.setRecurringType(transactionForm.getRecurringType());
+                recurring.setBudgetType(budget.getBudgetType());
+                recurring.setRemark(transactionForm.getRemark());
+                recurring.run(transactionForm.getTransactionOn());
+                recurringDAO.addRecurring(recurring);
+                fireRecurringAdded(recurring);
                 transaction.setRecurring(recurring);
             }
 
             transactions.add(transaction);
         }
 
+        updateBudgets(user, budgetMap, budgetDeltas);
+        updateDailySpends(user, transactions);
+        dataChanged(user, periods(budgetMap.values()));
         return transactionDAO.addTransactions(transactions);
     }
 
+    /**
+     * one update per budget and one per rollup regardless of batch size, rollups are updated after all budgets
+     * sorted by month and category, so concurrent batches lock rollups in the same order too
+     * @param budgetDeltas net change per budget id, sorted by id so concurrent batches lock budgets in the same order
+     */
+    private void updateBudgets(User user, Map<Long, Budget> budgets, Map<Long, Long> budgetDeltas) {
+        // period -> category id -> rollup change
+        Map<Integer, Map<Long, MonthlyRollup>> rollups = new TreeMap<>();
+        budgetDeltas.forEach((budgetId, delta) -> {
+            Budget budget = budgets.get(budgetId);
+            long previousActual = budget.getActual();
+            budget.setActual(budget.getActual() + delta);
+            budgetDAO.update(budget);
+            Category category = budget.getCategory();
+            rollups
+                    .computeIfAbsent(budget.getPeriodKey(), period -> new TreeMap<>())
+                    .computeIfAbsent(category.getId(), id -> new MonthlyRollup(user, budget.getPeriodKey(), category, category.getType()))
+                    .update(0, previousActual, budget.getActual());
+        });
+        rollups.values().forEach(changes -> changes.values().forEach(monthlyRollupDAO::apply));
+    }
+
+    private static Set<Integer> periods(Collection<Budget> budgets) {
+        return budgets
+                .stream()
+                .map(Budget::getPeriodKey)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * one daily spend update per day
+     */
+    private void updateDailySpends(User user, List<Transaction> transactions) {
+        transactions
+                .stream()
+                .collect(Collectors.groupingBy(FinanceService::day, TreeMap::new, Collectors.toList()))
+                .forEach((day, dayTransactions) -> dailySpend(user, day, dailySpend ->
+                        dayTransactions.forEach(transaction -> dailySpend.add(transaction.getAmount()))));
+    }
+
     public boolean deleteTransaction(User user, long transactionId) {
         // only delete transaction that belong to that user
         Optional<Transaction> optional = transactionDAO.findById(user, transactionId);
         if(optional.isPresent()) {
             Transaction transaction = optional.get();
             Budget budget = transaction.getBudget();
+            budgetDAO.lock(budget);
+            long previousActual = budget.getActual();
             budget.setActual(budget.getActual() - transaction.getAmount());
+            rollup(user, budget.getPeriodKey(), budget.getCategory(), rollup -> rollup.update(0, previousActual, budget.getActual()));
+            dailySpend(user, day(transaction), dailySpend -> dailySpend.remove(transaction.getAmount()));
             transactionDAO.delete(transaction);
+            dataChanged(user, budget.getPeriodKey());
             return true;
         }
         return false;
@@ -536,15 +849,52 @@ public class FinanceService {
         return transactionDAO.findByRecurring(user, recurringId);
     }
 
+    public Page<Transaction> findTransactionsByRecurring(User user, long recurringId, String cursor, Integer limit) {
+        int pageSize = Page.limit(limit);
+        return toPage(transactionDAO.findByRecurring(user, recurringId, TransactionCursor.decode(cursor), pageSize), pageSize);
+    }
+
     public List<Transaction> findTransactions(User user, SearchFilter filter) {
         LOGGER.debug("Search transactions with {}", filter);
         return transactionDAO.findTransactions(user, filter);
     }
 
+    public Page<Transaction> findTransactions(User user, SearchFilter filter, String cursor, Integer limit) {
+        LOGGER.debug("Search transactions with {} after {}", filter, cursor);
+        int pageSize = Page.limit(limit);
+        return toPage(transactionDAO.findTransactions(user, filter, TransactionCursor.decode(cursor), pageSize), pageSize);
+    }
+
     public List<Transaction> findTransactionsByBudget(User user, long budgetId) {
         return transactionDAO.findByBudget(user, budgetId);
     }
 
+    public Page<Transaction> findTransactionsByBudget(User user, long budgetId, String cursor, Integer limit) {
+        int pageSize = Page.limit(limit);
+        return toPage(transactionDAO.findByBudget(user, budgetId, TransactionCursor.decode(cursor), pageSize), pageSize);
+    }
+
+    /**
+     * change the daily spend of the user, the change is recorded on an empty daily spend
+     * and added to the stored one in a single update
+     */
+    private void dailySpend(User user, LocalDate day, Consumer<DailySpend> change) {
+        DailySpend dailySpend = new DailySpend(user, Util.toDate(day));
+        change.accept(dailySpend);
+        dailySpendDAO.apply(dailySpend);
+    }
+
+    /**
+     * day of the transaction, new transaction without date will be persisted with today
+     */
+    private static LocalDate day(Transaction transaction) {
+        return transaction.getTransactionOn() == null ? LocalDate.now() : Util.toLocalDate(transaction.getTransactionOn());
+    }
+
+    private Page<Transaction> toPage(List<Transaction> transactions, int limit) {
+        return Page.of(transactions, limit, transaction -> TransactionCursor.of(transaction).encode());
+    }
+
     public List<Point> findTransactionUsage(User user, Integer month, Integer year) {
         LocalDate now = LocalDate.now();
 
@@ -575,11 +925,10 @@ public class FinanceService {
         Date end = Date.from(instantEnd);
 
 
-        List<Transaction> transactions = transactionDAO.findByRange(user, start, end);
-
-        Map<Date, List<Transaction>> groups = transactions
-                .stream()
-                .collect(Collectors.groupingBy(Transaction::getTransactionOn, TreeMap::new, Collectors.toList()));
+        Map<Date, Long> totals = new TreeMap<>();
+        for (DailySpend dailySpend : dailySpendDAO.findByRange(user, start, end)) {
+            totals.put(dailySpend.getDay(), dailySpend.getTotal());
+        }
 
         int days = Period.between(begin, ending).getDays() + 1;
 
@@ -587,17 +936,12 @@ public class FinanceService {
             LocalDate day = begin.plusDays(i);
             Instant instantDay = day.atStartOfDay().atZone(ZoneId.systemDefault()).toInstant();
             Date dayDate = Date.from(instantDay);
-            groups.putIfAbsent(dayDate, Collections.emptyList());
+            totals.putIfAbsent(dayDate, 0L);
         }
 
-        for (Map.Entry<Date, List<Transaction>> entry : groups.entrySet()) {
-            double total = entry.getValue()
-                    .stream()
-                    .mapToDouble(Transaction::getAmount)
-                    .sum();
-
+        for (Map.Entry<Date, Long> entry : totals.entrySet()) {
             LocalDate res = Util.toLocalDate(entry.getKey());
-            Point point = new Point(SUMMARY_DATE_FORMATTER.format(res), entry.getKey().getTime(), total, PointType.TRANSACTIONS);
+            Point point = new Point(SUMMARY_DATE_FORMATTER.format(res), entry.getKey().getTime(), entry.getValue(), PointType.TRANSACTIONS);
             points.add(point);
         }
         return points;
@@ -616,7 +960,10 @@ public class FinanceService {
     }
 
     public Category addCategory(User user, Category category) {
-        return categoryDAO.addCategory(user, category);
+        Category added = categoryDAO.addCategory(user, category);
+        dataChanged(user);
+        fireCategoriesAdded(user, Collections.singletonList(category));
+        return added;
     }
 
     public Category findCategoryById(long categoryId) {
@@ -632,70 +979,51 @@ public class FinanceService {
         }
 
         List<Point> points = new ArrayList<>();
-        List<Budget> budgets = budgetDAO.findBudgets(user, month, year, true);
-        Map<Category, List<Budget>> groups = budgets
-                .stream()
-                .filter(b -> b.getCategory().getType() == CategoryType.EXPENDITURE)
-                .collect(Collectors.groupingBy(Budget::getCategory));
-        for (Map.Entry<Category, List<Budget>> entry : groups.entrySet()) {
-            double total = entry.getValue()
-                    .stream()
-                    .mapToDouble(Budget::getActual)
-                    .sum();
-            Point point = new Point(entry.getKey().getName(), entry.getKey().getId(), total, PointType.CATEGORY);
-            points.add(point);
+        for (MonthlyRollup rollup : monthlyRollupDAO.findByPeriod(user, PeriodKey.of(month, year))) {
+            if(rollup.getCategoryType() == CategoryType.EXPENDITURE) {
+                Category category = rollup.getCategory();
+                points.add(new Point(category.getName(), category.getId(), rollup.getActual(), PointType.CATEGORY));
+            }
         }
 
-        points.sort((p1, p2) -> Double.compare(p2.getValue(), p1.getValue()));
+        points.sort((p1, p2) -> Long.compare(p2.getValue(), p1.getValue()));
         return points;
     }
 
     public List<Point> findMonthlyTransactionUsage(User user) {
         List<Point> points = new ArrayList<>();
-        LocalDate end = LocalDate.now();
-        LocalDate start = end.minusMonths(6);
-        List<Budget> budgets = budgetDAO.findByRange(user, start.getMonthValue(), start.getYear(), end.getMonthValue(), end.getYear());
+        int end = PeriodKey.current();
+        int start = PeriodKey.plusMonths(end, -6);
+        List<MonthlyRollup> rollups = monthlyRollupDAO.findByRange(user, start, end);
 
         // group by period
-        Map<Date, List<Budget>> groups = budgets
+        Map<Integer, List<MonthlyRollup>> groups = rollups
                 .stream()
-                .collect(Collectors.groupingBy(Budget::getPeriod, TreeMap::new, Collectors.toList()));
+                .collect(Collectors.groupingBy(MonthlyRollup::getPeriodKey, TreeMap::new, Collectors.toList()));
 
-        LocalDate now = LocalDate.now();
         // populate empty months, if any
         for (int i = 0; i < 6; i++) {
-            LocalDate day = now.minusMonths(i).withDayOfMonth(1);
-            groups.putIfAbsent(Util.toDate(day), Collections.emptyList());
+            groups.putIfAbsent(PeriodKey.plusMonths(end, -i), Collections.emptyList());
         }
 
         // generate points
-        for (Map.Entry<Date, List<Budget>> entry : groups.entrySet()) {
-            // budget
-            double budget = entry.getValue()
-                    .stream()
-                    .filter(b -> b.getCategory().getType() == CategoryType.EXPENDITURE)
-                    .mapToDouble(Budget::getProjected)
-                    .sum();
-
-            // spending
-            double spending = entry.getValue()
-                    .stream()
-                    .filter(b -> b.getActual() > 0)
-                    .filter(b -> b.getCategory().getType() == CategoryType.EXPENDITURE)
-                    .mapToDouble(Budget::getActual)
-                    .sum();
-
-            // refund
-            double refund = entry.getValue()
-                    .stream()
-                    .filter(b -> b.getActual() < 0)
-                    .mapToDouble(Budget::getActual)
-                    .sum();
-
-            String month = Util.toFriendlyMonthDisplay(entry.getKey());
-            Point spendingPoint = new Point(month, entry.getKey().getTime(), spending, PointType.MONTHLY_SPEND);
-            Point refundPoint = new Point(month, entry.getKey().getTime(), refund, PointType.MONTHLY_REFUND);
-            Point budgetPoint = new Point(month, entry.getKey().getTime(), budget, PointType.MONTHLY_BUDGET);
+        for (Map.Entry<Integer, List<MonthlyRollup>> entry : groups.entrySet()) {
+            long budget = 0;
+            long spending = 0;
+            long refund = 0;
+            for (MonthlyRollup rollup : entry.getValue()) {
+                if (rollup.getCategoryType() == CategoryType.EXPENDITURE) {
+                    budget += rollup.getProjected();
+                    spending += rollup.getSpent();
+                }
+                refund += rollup.getRefund();
+            }
+
+            Date period = PeriodKey.toDate(entry.getKey());
+            String month = Util.toFriendlyMonthDisplay(period);
+            Point spendingPoint = new Point(month, period.getTime(), spending, PointType.MONTHLY_SPEND);
+            Point refundPoint = new Point(month, period.getTime(), refund, PointType.MONTHLY_REFUND);
+            Point budgetPoint = new Point(month, period.getTime(), budget, PointType.MONTHLY_BUDGET);
 
             points.add(spendingPoint);
             points.add(refundPoint);
@@ -706,11 +1034,10 @@ public class FinanceService {
 
     public void deleteCategory(User user, long categoryId) {
         Category category = categoryDAO.find(user, categoryId);
+        monthlyRollupDAO.deleteByCategory(category);
         categoryDAO.delete(category);
-    }
-
-    public List<String> findCategorySuggestions(User user, String q) {
-        return categoryDAO.findSuggestions(user, q);
+        allDataChanged(user);
+        fireCategoryDeleted(user, category);
     }
 
     //==================================================================
@@ -0,0 +1,114 @@
+package io.budgetapp.service;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.io.ByteStreams;
+import io.budgetapp.application.DataConstraintException;
+import io.budgetapp.application.NotFoundException;
+import io.budgetapp.configuration.ImportConfiguration;
+import io.budgetapp.job.TransactionImportJob;
+import io.budgetapp.job.TransactionImporter;
+import io.budgetapp.model.ImportStatus;
+import io.budgetapp.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run transaction imports in background and keep track of their status,
+ * the status of an import is kept until it finished and for the retention after that
+ */
+public class ImportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportService.class);
+
+    private final TransactionImporter importer;
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private final long maxFileSize;
+    // queued and running imports
+    private final Map<String, ImportStatus> running = new ConcurrentHashMap<>();
+    // finished imports, put once they finished
+    private final Cache<String, ImportStatus> finished;
+
+    public ImportService(TransactionImporter importer, ExecutorService executor, ImportConfiguration configuration) {
+        this(importer, executor, configuration, Ticker.systemTicker());
+    }
+
+    ImportService(TransactionImporter importer, ExecutorService executor, ImportConfiguration configuration, Ticker ticker) {
+        this.importer = importer;
+        this.executor = executor;
+        this.chunkSize = configuration.getChunkSize();
+        this.maxFileSize = configuration.getMaxFileSize().toBytes();
+        this.finished = CacheBuilder.newBuilder()
+                .expireAfterWrite(configuration.getRetention().toMilliseconds(), TimeUnit.MILLISECONDS)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * spool the CSV to a temporary file and import it in background,
+     * spooling stops as soon as the upload exceeds the maximum file size
+     *
+     * @param dateFormat pattern of the date column, ISO date (yyyy-MM-dd) if <code>null</code>
+     */
+    public ImportStatus importTransactions(User user, InputStream csv, String dateFormat) throws IOException {
+        DateTimeFormatter dateFormatter;
+        try {
+            dateFormatter = dateFormat == null || dateFormat.isEmpty() ? DateTimeFormatter.ISO_LOCAL_DATE : DateTimeFormatter.ofPattern(dateFormat);
+        } catch (IllegalArgumentException e) {
+            throw new DataConstraintException("dateFormat", "Invalid date format");
+        }
+
+        Path file = Files.createTempFile("transaction-import-", ".csv");
+        try {
+            long size = Files.copy(ByteStreams.limit(csv, maxFileSize + 1), file, StandardCopyOption.REPLACE_EXISTING);
+            if(size > maxFileSize) {
+                throw new DataConstraintException("file", "File must not be larger than " + maxFileSize + " bytes");
+            }
+            ImportStatus status = new ImportStatus(user.getId());
+            LOGGER.debug("Queue import {} of {} bytes by {}", status.getId(), Files.size(file), user);
+            running.put(status.getId(), status);
+            TransactionImportJob job = new TransactionImportJob(importer, user, file, dateFormatter, chunkSize, status);
+            try {
+                executor.execute(() -> {
+                    try {
+                        job.run();
+                    } finally {
+                        finished.put(status.getId(), status);
+                        running.remove(status.getId());
+                    }
+                });
+            } catch (RuntimeException e) {
+                running.remove(status.getId());
+                throw e;
+            }
+            return status;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    public ImportStatus findImport(User user, String importId) {
+        ImportStatus status = running.get(importId);
+        if(status == null) {
+            status = finished.getIfPresent(importId);
+        }
+        if(status == null || status.getUserId() != user.getId()) {
+            throw new NotFoundException();
+        }
+        return status;
+    }
+}
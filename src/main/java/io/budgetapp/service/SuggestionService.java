@@ -0,0 +1,117 @@
+package io.budgetapp.service;
+
+import io.budgetapp.model.Budget;
+import io.budgetapp.model.Category;
+import io.budgetapp.model.NameUsage;
+import io.budgetapp.model.User;
+import io.budgetapp.util.SuggestionIndex;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Budget and category names used by other users, served from memory. The indexes are loaded at start
+ * by {@link io.budgetapp.managed.SuggestionManaged} and follow added, renamed and deleted budgets and
+ * categories through {@link FinanceEventListener} once the writing transaction committed. Each instance
+ * only follows its own writes, names written through other instances show up at their next start.
+ */
+public class SuggestionService implements FinanceEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SuggestionService.class);
+
+    static final int LIMIT = 10;
+
+    private final SessionFactory sessionFactory;
+    private final SuggestionIndex budgets = new SuggestionIndex();
+    private final SuggestionIndex categories = new SuggestionIndex();
+
+    public SuggestionService(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    public void load(List<NameUsage> budgetUsages, List<NameUsage> categoryUsages) {
+        load(budgets, budgetUsages);
+        load(categories, categoryUsages);
+        LOGGER.info("Loaded {} budget and {} category suggestions", budgets.size(), categories.size());
+    }
+
+    public List<String> findBudgetSuggestions(User user, String q) {
+        return budgets.find(q, user.getId(), LIMIT);
+    }
+
+    public List<String> findCategorySuggestions(User user, String q) {
+        return categories.find(q, user.getId(), LIMIT);
+    }
+
+    @Override
+    public void onBudgetsAdded(User user, Collection<Budget> added) {
+        List<String> names = new ArrayList<>(added.size());
+        added.forEach(budget -> names.add(budget.getName()));
+        afterCommit(() -> names.forEach(name -> budgets.add(name, user.getId(), 1)));
+    }
+
+    @Override
+    public void onBudgetRenamed(User user, Budget budget, String previousName) {
+        String name = budget.getName();
+        afterCommit(() -> {
+            budgets.remove(previousName, 1);
+            budgets.add(name, user.getId(), 1);
+        });
+    }
+
+    @Override
+    public void onBudgetDeleted(User user, Budget budget) {
+        String name = budget.getName();
+        afterCommit(() -> budgets.remove(name, 1));
+    }
+
+    @Override
+    public void onCategoriesAdded(User user, Collection<Category> added) {
+        List<String> names = new ArrayList<>(added.size());
+        added.forEach(category -> names.add(category.getName()));
+        afterCommit(() -> names.forEach(name -> categories.add(name, user.getId(), 1)));
+    }
+
+    @Override
+    public void onCategoryDeleted(User user, Category category) {
+        String name = category.getName();
+        afterCommit(() -> categories.remove(name, 1));
+    }
+
+    /**
+     * run once the current transaction committed, a rolled back change is never indexed
+     */
+    private void afterCommit(Runnable runnable) {
+        Transaction transaction = sessionFactory.getCurrentSession().getTransaction();
+        if(!transaction.isActive()) {
+            runnable.run();
+            return;
+        }
+        transaction.registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if(status == Status.STATUS_COMMITTED) {
+                    runnable.run();
+                }
+            }
+        });
+    }
+
+    private void load(SuggestionIndex index, List<NameUsage> usages) {
+        for (NameUsage usage : usages) {
+            long owner = usage.getMinUserId() == usage.getMaxUserId() ? usage.getMinUserId() : SuggestionIndex.SHARED;
+            index.add(usage.getName(), owner, usage.getCount());
+        }
+    }
+}
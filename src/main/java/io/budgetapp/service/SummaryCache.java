@@ -0,0 +1,289 @@
+package io.budgetapp.service;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
+import com.codahale.metrics.Timer;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheBuilderSpec;
+import io.budgetapp.model.AccountSummary;
+import io.budgetapp.model.Dashboard;
+import io.budgetapp.model.Group;
+import io.budgetapp.model.User;
+import io.budgetapp.util.PeriodKey;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+
+import javax.transaction.Synchronization;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Bounded cache of computed summaries by user, summary and month, weighted by the rows they hold.
+ * The summaries of a user are kept together in one entry, so they are evicted together and a write only
+ * goes through the summaries of its user. Writes of {@link FinanceService} drop the summaries of the months
+ * they touched, so past months stay cached until evicted. Summaries are dropped again after the writing
+ * transaction completed, and a load that overlapped a write of the same user is not cached, so a summary
+ * read before a commit does not outlive it.
+ */
+public class SummaryCache implements FinanceEventListener {
+
+    public enum Summary {
+        ACCOUNT,
+        USAGE,
+        CATEGORY_USAGE,
+        /**
+         * spending per day, the first days of a month also show the last days of the previous month
+         */
+        TRANSACTION_USAGE {
+            @Override
+            boolean covers(int period, int changed) {
+                return period == changed || period == PeriodKey.plusMonths(changed, 1);
+            }
+
+            @Override
+            boolean dated(int period, LocalDate today) {
+                return period == PeriodKey.of(today);
+            }
+        },
+        /**
+         * spending per month for the six months before the month and the month itself
+         */
+        MONTHLY_USAGE {
+            @Override
+            boolean covers(int period, int changed) {
+                return changed <= period && changed >= PeriodKey.plusMonths(period, -6);
+            }
+        },
+        /**
+         * widgets of the month, with the monthly spending and recurring transactions as of today
+         */
+        DASHBOARD {
+            @Override
+            boolean covers(int period, int changed) {
+                return TRANSACTION_USAGE.covers(period, changed) || MONTHLY_USAGE.covers(PeriodKey.current(), changed);
+            }
+
+            @Override
+            boolean dated(int period, LocalDate today) {
+                return true;
+            }
+        };
+
+        /**
+         * whether the summary of the month includes data of the changed month
+         */
+        boolean covers(int period, int changed) {
+            return period == changed;
+        }
+
+        /**
+         * whether the summary of the month also changes by the day
+         */
+        boolean dated(int period, LocalDate today) {
+            return false;
+        }
+    }
+
+    private static final int STRIPES = 64;
+
+    private final SessionFactory sessionFactory;
+    private final Cache<Long, Summaries> cache;
+    // bumped by every invalidation of a user in the stripe
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final Meter hits;
+    private final Meter misses;
+    private final Timer loads;
+
+    public SummaryCache(MetricRegistry metricRegistry, SessionFactory sessionFactory, CacheBuilderSpec cacheSpec) {
+        this.sessionFactory = sessionFactory;
+        this.cache = CacheBuilder.from(cacheSpec)
+                .weigher((Long userId, Summaries summaries) -> summaries.weight)
+                .recordStats()
+                .build();
+        this.hits = metricRegistry.meter(name(SummaryCache.class, "hits"));
+        this.misses = metricRegistry.meter(name(SummaryCache.class, "misses"));
+        this.loads = metricRegistry.timer(name(SummaryCache.class, "loads"));
+        metricRegistry.register(name(SummaryCache.class, "size"), (Gauge<Long>) this::size);
+        metricRegistry.register(name(SummaryCache.class, "evictions"), (Gauge<Long>) () -> cache.stats().evictionCount());
+        metricRegistry.register(name(SummaryCache.class, "hit-ratio"), new RatioGauge() {
+            @Override
+            protected Ratio getRatio() {
+                return Ratio.of(hits.getCount(), hits.getCount() + misses.getCount());
+            }
+        });
+    }
+
+    /**
+     * cached summary of the user in the month, the current month when month or year is missing
+     * @param loader computes the summary on a miss
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(User user, Summary summary, Integer month, Integer year, Supplier<T> loader) {
+        LocalDate today = LocalDate.now();
+        int period = month == null || year == null ? PeriodKey.of(today) : PeriodKey.of(month, year);
+        Key key = new Key(summary, period, summary.dated(period, today) ? today.toEpochDay() : 0);
+
+        Summaries summaries = cache.getIfPresent(user.getId());
+        Object cached = summaries == null ? null : summaries.values.get(key);
+        if(cached != null) {
+            hits.mark();
+            return (T) cached;
+        }
+
+        misses.mark();
+        int stripe = stripe(user.getId());
+        long generation = generations.get(stripe);
+        T loaded;
+        try (Timer.Context ignored = loads.time()) {
+            loaded = loader.get();
+        }
+        // an invalidation bumps the generation before it drops summaries of the same entry
+        cache.asMap().compute(user.getId(), (userId, current) ->
+                generations.get(stripe) == generation ? Summaries.with(current, key, loaded) : current);
+        return loaded;
+    }
+
+    @Override
+    public void onDataChanged(User user, Collection<Integer> periods) {
+        long userId = user.getId();
+        Predicate<Key> changed = key -> periods.stream().anyMatch(period -> key.summary.covers(key.period, period));
+        invalidate(userId, changed);
+        afterCompletion(() -> invalidate(userId, changed));
+    }
+
+    @Override
+    public void onDataChanged(User user) {
+        long userId = user.getId();
+        invalidate(userId, key -> true);
+        afterCompletion(() -> invalidate(userId, key -> true));
+    }
+
+    /**
+     * number of cached summaries of all users
+     */
+    public long size() {
+        return cache.asMap().values().stream().mapToLong(summaries -> summaries.values.size()).sum();
+    }
+
+    private void invalidate(long userId, Predicate<Key> predicate) {
+        generations.incrementAndGet(stripe(userId));
+        cache.asMap().computeIfPresent(userId, (id, current) -> current.without(predicate));
+    }
+
+    private void afterCompletion(Runnable runnable) {
+        Transaction transaction = sessionFactory.getCurrentSession().getTransaction();
+        if(transaction.isActive()) {
+            transaction.registerSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    runnable.run();
+                }
+            });
+        }
+    }
+
+    private static int stripe(long userId) {
+        return (int) (userId & (STRIPES - 1));
+    }
+
+    private static int weigh(Object value) {
+        if(value instanceof Dashboard) {
+            Dashboard dashboard = (Dashboard) value;
+            return weigh(dashboard.getAccount()) + weigh(dashboard.getCategoryUsage()) + weigh(dashboard.getTransactionUsage())
+                    + weigh(dashboard.getMonthlyUsage()) + weigh(dashboard.getRecurringTransactions());
+        }
+        if(value instanceof AccountSummary) {
+            int weight = 1;
+            for (Group group : ((AccountSummary) value).getGroups()) {
+                weight += 1 + (group.getBudgets() == null ? 0 : group.getBudgets().size());
+            }
+            return weight;
+        }
+        if(value instanceof Collection) {
+            return 1 + ((Collection<?>) value).size();
+        }
+        return 1;
+    }
+
+    /**
+     * summaries of a user, replaced on every change so the cache weighs them again
+     */
+    private static final class Summaries {
+
+        private final Map<Key, Object> values;
+        private final int weight;
+
+        private Summaries(Map<Key, Object> values, int weight) {
+            this.values = values;
+            this.weight = weight;
+        }
+
+        private static Summaries with(Summaries current, Key key, Object value) {
+            Map<Key, Object> values = current == null ? new HashMap<>() : new HashMap<>(current.values);
+            Object previous = values.put(key, value);
+            int weight = (current == null ? 0 : current.weight) + weigh(value) - (previous == null ? 0 : weigh(previous));
+            return new Summaries(values, weight);
+        }
+
+        /**
+         * summaries without the ones matching the predicate, null when none is left
+         */
+        private Summaries without(Predicate<Key> predicate) {
+            Map<Key, Object> kept = new HashMap<>(values.size());
+            int keptWeight = 0;
+            for (Map.Entry<Key, Object> entry : values.entrySet()) {
+                if(!predicate.test(entry.getKey())) {
+                    kept.put(entry.getKey(), entry.getValue());
+                    keptWeight += weigh(entry.getValue());
+                }
+            }
+            if(kept.isEmpty()) {
+                return null;
+            }
+            return kept.size() == values.size() ? this : new Summaries(kept, keptWeight);
+        }
+    }
+
+    private static final class Key {
+
+        private final Summary summary;
+        private final int period;
+        private final long day;
+
+        private Key(Summary summary, int period, long day) {
+            this.summary = summary;
+            this.period = period;
+            this.day = day;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return period == key.period && day == key.day && summary == key.summary;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = summary.hashCode();
+            result = 31 * result + period;
+            result = 31 * result + Long.hashCode(day);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package io.budgetapp.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.budgetapp.dao.TransactionDAO;
+import io.budgetapp.model.ExportFormat;
+import io.budgetapp.model.User;
+import io.budgetapp.model.form.report.SearchFilter;
+import io.budgetapp.util.CsvWriter;
+import io.budgetapp.util.Money;
+import io.budgetapp.util.Util;
+import io.dropwizard.hibernate.UnitOfWork;
+import org.hibernate.ScrollableResults;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * Stream transactions straight from a database cursor to the response,
+ * rows are written as they are read so memory usage does not depend on the number of transactions.
+ */
+public class TransactionExporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransactionExporter.class);
+    private static final String[] COLUMNS = {"id", "date", "budget", "category", "amount", "remark", "auto"};
+    private static final int FLUSH_ROWS = 1000;
+
+    private final TransactionDAO transactionDAO;
+    private final JsonFactory jsonFactory;
+
+    public TransactionExporter(TransactionDAO transactionDAO, ObjectMapper objectMapper) {
+        this.transactionDAO = transactionDAO;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * @return number of exported transactions
+     */
+    @UnitOfWork(readOnly = true)
+    public long export(User user, SearchFilter filter, ExportFormat format, OutputStream output) throws IOException {
+        long start = System.currentTimeMillis();
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        try (ScrollableResults results = transactionDAO.scrollTransactions(user, filter);
+             RowWriter rowWriter = format == ExportFormat.CSV ? new CsvRowWriter(writer) : new JsonRowWriter(jsonFactory, writer)) {
+            while (results.next()) {
+                Object[] row = results.get();
+                // ISO date instead of timestamp, decimal amount instead of minor units
+                row[1] = Util.toLocalDate((Date) row[1]).toString();
+                row[4] = Money.toDecimal((Long) row[4]);
+                rowWriter.write(row);
+                // first byte as soon as possible, then in chunks
+                if(++count == 1 || count % FLUSH_ROWS == 0) {
+                    rowWriter.flush();
+                }
+            }
+        }
+        LOGGER.debug("Exported {} transactions as {} for {} in {}ms", count, format, user, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    private interface RowWriter extends AutoCloseable {
+
+        void write(Object[] row) throws IOException;
+
+        void flush() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+
+        private final CsvWriter writer;
+
+        CsvRowWriter(Writer writer) throws IOException {
+            this.writer = new CsvWriter(writer);
+            this.writer.writeRecord((Object[]) COLUMNS);
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            writer.writeRecord(row);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    private static class JsonRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private final JsonGenerator generator;
+
+        JsonRowWriter(JsonFactory jsonFactory, Writer writer) throws IOException {
+            this.writer = writer;
+            this.generator = jsonFactory.createGenerator(writer);
+            // one object per line
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < COLUMNS.length; i++) {
+                generator.writeObjectField(COLUMNS[i], row[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+}
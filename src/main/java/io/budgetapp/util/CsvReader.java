@@ -0,0 +1,122 @@
+package io.budgetapp.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV reader, only one record is kept in memory at a time.
+ * Quoted fields might contain delimiter, line break and escaped (doubled) quote.
+ */
+public class CsvReader implements Closeable {
+
+    public static final int DEFAULT_MAX_FIELD_LENGTH = 64 * 1024;
+
+    private static final int EOF = -1;
+    private static final int NONE = -2;
+    private static final char QUOTE = '"';
+    private static final char BOM = '\uFEFF';
+
+    private final Reader reader;
+    private final char delimiter;
+    private final int maxFieldLength;
+    private int lookahead = NONE;
+    private long recordNumber;
+
+    public CsvReader(Reader reader) {
+        this(reader, ',', DEFAULT_MAX_FIELD_LENGTH);
+    }
+
+    public CsvReader(Reader reader, char delimiter, int maxFieldLength) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    /**
+     * @return fields of next record or <code>null</code> at end of input
+     * @throws IOException malformed input or read failure
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if(recordNumber == 0 && c == BOM) {
+            c = read();
+        }
+        if(c == EOF) {
+            return null;
+        }
+        recordNumber++;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if(quoted) {
+                if(c == EOF) {
+                    throw new IOException("Unterminated quoted field in record " + recordNumber);
+                }
+                if(c == QUOTE) {
+                    if(peek() == QUOTE) {
+                        read();
+                        append(field, QUOTE);
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    append(field, (char) c);
+                }
+            } else if(c == QUOTE && field.length() == 0) {
+                quoted = true;
+            } else if(c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if(c == '\n' || c == '\r' || c == EOF) {
+                if(c == '\r' && peek() == '\n') {
+                    read();
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                append(field, (char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * @return number of records read so far, including header
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void append(StringBuilder field, char c) throws IOException {
+        if(field.length() >= maxFieldLength) {
+            throw new IOException("Field exceed " + maxFieldLength + " characters in record " + recordNumber);
+        }
+        field.append(c);
+    }
+
+    private int read() throws IOException {
+        if(lookahead != NONE) {
+            int c = lookahead;
+            lookahead = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if(lookahead == NONE) {
+            lookahead = reader.read();
+        }
+        return lookahead;
+    }
+}
@@ -0,0 +1,119 @@
+package io.budgetapp.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money amounts are <code>long</code> minor units (cents), so sums are exact. They leave the application
+ * as decimals with two fraction digits, both in JSON and CSV.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private Money() {}
+
+    /**
+     * minor units of a decimal amount, more fraction digits are rounded half up
+     * @throws ArithmeticException when the amount does not fit into a long
+     */
+    public static long of(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * minor units of a decimal text such as <code>12.5</code>
+     * @throws NumberFormatException when the text is not a number
+     */
+    public static long parse(String amount) {
+        return of(new BigDecimal(amount.trim()));
+    }
+
+    public static BigDecimal toDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * plain decimal text with two fraction digits, e.g. <code>-12.50</code>
+     */
+    public static String format(long minorUnits) {
+        return toDecimal(minorUnits).toPlainString();
+    }
+
+    /**
+     * write minor units as a JSON decimal number
+     */
+    public static class Serializer extends StdScalarSerializer<Long> {
+
+        private static final long serialVersionUID = 2203786370451370406L;
+
+        public Serializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public void serialize(Long value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(toDecimal(value));
+        }
+    }
+
+    /**
+     * read a JSON number or numeric string as minor units, null stays null for <code>Long</code> properties
+     * and becomes zero for <code>long</code> ones
+     */
+    public static class Deserializer extends StdScalarDeserializer<Long> implements ContextualDeserializer {
+
+        private static final long serialVersionUID = -1512616380402097311L;
+
+        private final boolean primitive;
+
+        public Deserializer() {
+            this(false);
+        }
+
+        private Deserializer(boolean primitive) {
+            super(Long.class);
+            this.primitive = primitive;
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) {
+            boolean primitiveProperty = property != null && property.getType().isPrimitive();
+            return primitiveProperty == primitive ? this : new Deserializer(primitiveProperty);
+        }
+
+        @Override
+        public Long deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.getCurrentToken();
+            try {
+                if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                    return of(p.getDecimalValue());
+                }
+                if (token == JsonToken.VALUE_STRING) {
+                    String text = p.getText();
+                    return text.trim().isEmpty() ? getNullValue(ctxt) : parse(text);
+                }
+            } catch (ArithmeticException | NumberFormatException e) {
+                return (Long) ctxt.handleWeirdStringValue(Long.class, p.getText(), "not a money amount");
+            }
+            return (Long) ctxt.handleUnexpectedToken(Long.class, p);
+        }
+
+        @Override
+        public Long getNullValue(DeserializationContext ctxt) {
+            return primitive ? 0L : null;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.budgetapp.util;
+
+import java.time.LocalDate;
+import java.util.Date;
+
+/**
+ * A month as a plain <code>int</code> of the form <code>yyyymm</code>, e.g. <code>201708</code>. Keys sort in
+ * month order, so month lookups and ranges are integer comparisons, without building a {@link java.util.Calendar}
+ * and independent of the time zone. Budgets and rollups are keyed by it.
+ */
+public final class PeriodKey {
+
+    private PeriodKey() {}
+
+    /**
+     * key of the month, a month outside 1 to 12 rolls into the previous or next years
+     */
+    public static int of(int month, int year) {
+        int months = month - 1;
+        return (year + Math.floorDiv(months, 12)) * 100 + Math.floorMod(months, 12) + 1;
+    }
+
+    public static int of(LocalDate date) {
+        return date.getYear() * 100 + date.getMonthValue();
+    }
+
+    public static int of(Date date) {
+        return of(Util.toLocalDate(date));
+    }
+
+    public static int current() {
+        return of(LocalDate.now());
+    }
+
+    public static int year(int key) {
+        return key / 100;
+    }
+
+    public static int month(int key) {
+        return key % 100;
+    }
+
+    public static int plusMonths(int key, int months) {
+        return of(month(key) + months, year(key));
+    }
+
+    /**
+     * first day of the month
+     */
+    public static LocalDate toLocalDate(int key) {
+        return LocalDate.of(year(key), month(key), 1);
+    }
+
+    /**
+     * start of the first day of the month in the default time zone
+     */
+    public static Date toDate(int key) {
+        return Util.toDate(toLocalDate(key));
+    }
+}
@@ -0,0 +1,199 @@
+package io.budgetapp.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case insensitive substring search over distinct names, ranked by how often a name is used.
+ * Every name is indexed by its lower case grams of 1 to {@link #GRAM} characters, a query only
+ * verifies the names of the rarest gram it contains instead of scanning all names.
+ * A name without usages left stays indexed but is not found, until it is used again.
+ */
+public class SuggestionIndex {
+
+    static final int GRAM = 3;
+
+    /**
+     * owner of a name used by more than one user
+     */
+    public static final long SHARED = -1;
+
+    private static final Comparator<Entry> RANK = Comparator
+            .comparingLong((Entry entry) -> entry.count)
+            .thenComparing(entry -> entry.name, Comparator.reverseOrder());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private int used;
+
+    /**
+     * add usages of a name
+     * @param owner user of the name, {@link #SHARED} when used by several users
+     * @param count number of usages
+     */
+    public void add(String name, long owner, long count) {
+        if(name == null || name.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer id = ids.get(name);
+            if(id != null) {
+                Entry entry = entries.get(id);
+                if(entry.count == 0) {
+                    entry.owner = owner;
+                    used++;
+                } else if(entry.owner != owner) {
+                    entry.owner = SHARED;
+                }
+                entry.count += count;
+                return;
+            }
+            id = entries.size();
+            Entry entry = new Entry(name, owner, count);
+            entries.add(entry);
+            ids.put(name, id);
+            used++;
+            for (int n = 1; n <= GRAM; n++) {
+                for (int i = 0; i + n <= entry.lower.length(); i++) {
+                    postings.computeIfAbsent(entry.lower.substring(i, i + n), gram -> new Postings()).add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * remove usages of a name, a shared name stays shared while it has usages left
+     * @param count number of usages
+     */
+    public void remove(String name, long count) {
+        if(name == null || name.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer id = ids.get(name);
+            if(id == null) {
+                return;
+            }
+            Entry entry = entries.get(id);
+            if(entry.count > 0 && entry.count <= count) {
+                used--;
+            }
+            entry.count = Math.max(0, entry.count - count);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * most used names containing the query, without the names only used by the given user
+     */
+    public List<String> find(String q, long user, int limit) {
+        String query = q == null ? "" : q.toLowerCase();
+        PriorityQueue<Entry> top = new PriorityQueue<>(limit + 1, RANK);
+        lock.readLock().lock();
+        try {
+            Postings candidates = candidates(query);
+            int size = candidates == null ? entries.size() : candidates.size;
+            for (int i = 0; i < size; i++) {
+                Entry entry = entries.get(candidates == null ? i : candidates.ids[i]);
+                if(entry.count == 0 || entry.owner == user || !entry.lower.contains(query)) {
+                    continue;
+                }
+                top.add(entry);
+                if(top.size() > limit) {
+                    top.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        String[] names = new String[top.size()];
+        for (int i = names.length - 1; i >= 0; i--) {
+            names[i] = top.poll().name;
+        }
+        return Arrays.asList(names);
+    }
+
+    /**
+     * number of names with usages
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return used;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * names of the rarest gram of the query, null to scan all names
+     */
+    private Postings candidates(String query) {
+        if(query.isEmpty()) {
+            return null;
+        }
+        int n = Math.min(GRAM, query.length());
+        Postings rarest = null;
+        for (int i = 0; i + n <= query.length(); i++) {
+            Postings current = postings.get(query.substring(i, i + n));
+            if(current == null) {
+                return Postings.EMPTY;
+            }
+            if(rarest == null || current.size < rarest.size) {
+                rarest = current;
+            }
+        }
+        return rarest;
+    }
+
+    private static class Entry {
+
+        private final String name;
+        private final String lower;
+        private long owner;
+        private long count;
+
+        private Entry(String name, long owner, long count) {
+            this.name = name;
+            this.lower = name.toLowerCase();
+            this.owner = owner;
+            this.count = count;
+        }
+    }
+
+    /**
+     * ascending name ids, appended in id order
+     */
+    private static class Postings {
+
+        private static final Postings EMPTY = new Postings();
+
+        private int[] ids = new int[2];
+        private int size;
+
+        private void add(int id) {
+            // a gram might occur more than once in a name
+            if(size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if(size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
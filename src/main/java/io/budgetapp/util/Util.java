@@ -8,7 +8,6 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.TextStyle;
 import java.time.temporal.ChronoField;
-import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
 
@@ -20,20 +19,11 @@ public class Util {
     private Util(){}
 
     public static Date yearMonthDate(int month, int year) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.YEAR, year);
-        calendar.set(Calendar.MONTH, month - 1);
-        calendar.set(Calendar.DAY_OF_MONTH, 1);
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        return calendar.getTime();
+        return PeriodKey.toDate(PeriodKey.of(month, year));
     }
 
     public static Date currentYearMonth() {
-        LocalDate now = LocalDate.now();
-        return yearMonthDate(now.getMonthValue(), now.getYear());
+        return PeriodKey.toDate(PeriodKey.current());
     }
 
     public static LocalDate toLocalDate(Date date) {
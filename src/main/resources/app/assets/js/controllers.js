@@ -60,8 +60,7 @@ financeControllers.controller('SignupController', function ($scope, $rootScope,
   };
 });
 
-financeControllers.controller('DashboardController', function ($scope, $modal, $location, $routeParams, BudgetService,
-                                                               CategoryService, TransactionService, UserService) {
+financeControllers.controller('DashboardController', function ($scope, $modal, $location, $routeParams, DashboardService) {
   $scope.usageLoaded = false;
 
   $scope.periods = [];
@@ -79,10 +78,6 @@ financeControllers.controller('DashboardController', function ($scope, $modal, $
   var year = $scope.period.split("-")[0];
   var month = $scope.period.split("-")[1];
 
-  $scope.usage = UserService.usage({month: month, year: year}, function() {
-    $scope.usageLoaded = true;
-  });
-
   $scope.transactionLoaded = false;
   $scope.transactionsOptions = {
     series: {
@@ -118,10 +113,6 @@ financeControllers.controller('DashboardController', function ($scope, $modal, $
     }
   };
 
-  TransactionService.summary({month: month, year: year}, function (response) {
-    $scope.transactionsData = [_.map(response, function(point) {return [point.key, point.value]})];
-  });
-
 
   $scope.categoriesOptions = {
     series: {
@@ -141,13 +132,6 @@ financeControllers.controller('DashboardController', function ($scope, $modal, $
     colors: ["#60CD9B", "#66B5D7", "#EEC95A", "#E87352"]
   };
 
-  CategoryService.summary({month: month, year: year}, function (response) {
-    if(response.length == 0) {
-      $scope.categoriesData = [{label: "No Data", data: 1}];
-    } else {
-      $scope.categoriesData = _.map(response, function(point) {return {label: point.label, data: point.value}});
-    }
-  });
 
   $scope.monthlyOptions = {
     series: {
@@ -174,14 +158,26 @@ financeControllers.controller('DashboardController', function ($scope, $modal, $
     colors: ["#60CD9B", "#66B5D7", "#EEC95A", "#E87352"]
   };
 
-  TransactionService.monthly(function (response) {
+  // all widgets in one request
+  DashboardService.get({month: month, year: year}, function (dashboard) {
+    $scope.usage = dashboard.usage;
+    $scope.usageLoaded = true;
+
+    $scope.transactionsData = [_.map(dashboard.transactionUsage, function(point) {return [point.key, point.value]})];
+
+    if(dashboard.categoryUsage.length == 0) {
+      $scope.categoriesData = [{label: "No Data", data: 1}];
+    } else {
+      $scope.categoriesData = _.map(dashboard.categoryUsage, function(point) {return {label: point.label, data: point.value}});
+    }
+
     var spendings =
-        _.chain(response)
+        _.chain(dashboard.monthlyUsage)
             .filter(function(point){ return point.pointType == 'MONTHLY_SPEND'})
             .map(function(point){ return [point.key, point.value]})
             .value();
     var budgets =
-        _.chain(response)
+        _.chain(dashboard.monthlyUsage)
             .filter(function(point){ return point.pointType == 'MONTHLY_BUDGET'})
             .map(function(point){ return [point.key, point.value]})
             .value();
@@ -190,10 +186,8 @@ financeControllers.controller('DashboardController', function ($scope, $modal, $
       {label: "Budget", data: budgets},
       {label: "Spending", data: spendings}
     ];
-  });
 
-  TransactionService.todayRecurrings(function(response) {
-    $scope.recurringTransactions = response;
+    $scope.recurringTransactions = dashboard.recurringTransactions;
   });
 
 });
@@ -42,6 +42,10 @@ financeServices.factory('UserService', function($resource) {
   });
 });
 
+financeServices.factory('DashboardService', function($resource) {
+  return $resource("/api/dashboard");
+});
+
 financeServices.factory('ReportService', function($resource) {
   return $resource("/api/reports/:path", {}, {
     transactions: {method: "POST", isArray: true, params: {path: 'transactions'}}
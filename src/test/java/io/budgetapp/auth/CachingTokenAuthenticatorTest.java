@@ -0,0 +1,129 @@
+package io.budgetapp.auth;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.CacheBuilderSpec;
+import io.budgetapp.model.User;
+import io.dropwizard.auth.Authenticator;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class CachingTokenAuthenticatorTest {
+
+    private Authenticator<String, User> underlying;
+    private Transaction transaction;
+    private MetricRegistry metricRegistry;
+    private CachingTokenAuthenticator authenticator;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        underlying = mock(Authenticator.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        Session session = mock(Session.class);
+        transaction = mock(Transaction.class);
+        when(sessionFactory.getCurrentSession()).thenReturn(session);
+        when(session.getTransaction()).thenReturn(transaction);
+
+        metricRegistry = new MetricRegistry();
+        authenticator = new CachingTokenAuthenticator(metricRegistry, underlying, sessionFactory, CacheBuilderSpec.parse("maximumSize=10"));
+
+        when(underlying.authenticate("token-1")).thenReturn(Optional.of(new User(1L)));
+        when(underlying.authenticate("token-2")).thenReturn(Optional.of(new User(1L)));
+        when(underlying.authenticate("unknown")).thenReturn(Optional.empty());
+    }
+
+    @Test
+    public void shouldOnlyLookupTokenOnce() throws Exception {
+        assertTrue(authenticator.authenticate("token-1").isPresent());
+        assertTrue(authenticator.authenticate("token-1").isPresent());
+
+        verify(underlying, times(1)).authenticate("token-1");
+        assertEquals(1, metricRegistry.meter("io.budgetapp.auth.CachingTokenAuthenticator.hits").getCount());
+        assertEquals(1, metricRegistry.meter("io.budgetapp.auth.CachingTokenAuthenticator.misses").getCount());
+    }
+
+    @Test
+    public void shouldHandOutCopiesWithoutPassword() throws Exception {
+        User user = new User(1L);
+        user.setName("name");
+        user.setPassword("secret");
+        when(underlying.authenticate("token-3")).thenReturn(Optional.of(user));
+
+        User first = authenticator.authenticate("token-3").get();
+        first.setName("changed");
+        User second = authenticator.authenticate("token-3").get();
+
+        assertNotSame(first, second);
+        assertEquals("name", second.getName());
+        assertEquals("token-3", second.getToken());
+        assertNull(second.getPassword());
+    }
+
+    @Test
+    public void shouldNotCacheUnknownToken() throws Exception {
+        assertFalse(authenticator.authenticate("unknown").isPresent());
+        assertFalse(authenticator.authenticate("unknown").isPresent());
+
+        verify(underlying, times(2)).authenticate("unknown");
+        assertEquals(0, authenticator.size());
+    }
+
+    @Test
+    public void shouldInvalidateRevokedToken() throws Exception {
+        authenticator.authenticate("token-1");
+        authenticator.invalidate("token-1");
+        authenticator.authenticate("token-1");
+
+        verify(underlying, times(2)).authenticate("token-1");
+    }
+
+    @Test
+    public void shouldInvalidateAllTokensOfUser() throws Exception {
+        authenticator.authenticate("token-1");
+        authenticator.authenticate("token-2");
+        assertEquals(2, authenticator.size());
+
+        authenticator.invalidate(new User(1L));
+
+        assertEquals(0, authenticator.size());
+    }
+
+    @Test
+    public void shouldNotCacheTokenLoadedDuringLogout() throws Exception {
+        when(underlying.authenticate("token-3")).thenAnswer(invocation -> {
+            // the token is revoked while its row is read
+            authenticator.invalidate("token-3");
+            return Optional.of(new User(1L));
+        });
+
+        assertTrue(authenticator.authenticate("token-3").isPresent());
+
+        assertEquals(0, authenticator.size());
+    }
+
+    @Test
+    public void shouldInvalidateAgainAfterCommit() throws Exception {
+        when(transaction.isActive()).thenReturn(true);
+        authenticator.invalidate("token-1");
+        ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+        verify(transaction).registerSynchronization(synchronization.capture());
+
+        // read the token before the logout committed
+        authenticator.authenticate("token-1");
+        assertEquals(1, authenticator.size());
+        synchronization.getValue().afterCompletion(Status.STATUS_COMMITTED);
+
+        assertEquals(0, authenticator.size());
+    }
+}
@@ -0,0 +1,228 @@
+package io.budgetapp.benchmark;
+
+import io.budgetapp.configuration.AppConfiguration;
+import io.budgetapp.dao.BudgetDAO;
+import io.budgetapp.dao.BudgetTypeDAO;
+import io.budgetapp.dao.CategoryDAO;
+import io.budgetapp.dao.EmbeddedDatabase;
+import io.budgetapp.dao.RecurringDAO;
+import io.budgetapp.dao.TransactionDAO;
+import io.budgetapp.dao.UserDAO;
+import io.budgetapp.model.Budget;
+import io.budgetapp.model.BudgetType;
+import io.budgetapp.model.Category;
+import io.budgetapp.model.CategoryType;
+import io.budgetapp.model.DueRecurring;
+import io.budgetapp.model.Recurring;
+import io.budgetapp.model.RecurringSummary;
+import io.budgetapp.model.RecurringType;
+import io.budgetapp.model.Transaction;
+import io.budgetapp.model.User;
+import io.budgetapp.model.form.SignUpForm;
+import io.budgetapp.model.form.report.SearchFilter;
+import io.budgetapp.util.PeriodKey;
+import io.budgetapp.util.Util;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the {@link BudgetDAO}, {@link TransactionDAO} and {@link RecurringDAO} read queries, each in its own
+ * session like a <code>@UnitOfWork</code>, over <code>users</code> x <code>months</code> x <code>transactions</code>
+ * (per user and month) seeded rows. The queried user sits in the middle of the dataset.
+ *
+ * <pre>
+ * mvn -P benchmark test -DskipTests -Dbenchmark.args="DAOQueryBenchmark -rf csv -rff target/dao-query.csv"
+ * mvn -P benchmark test -DskipTests -Dbenchmark.args="DAOQueryBenchmark -p transactions=1000 -rf json -rff target/dao-query.json"
+ * </pre>
+ * Add <code>-jvmArgs "-Dbenchmark.jdbc.url=jdbc:postgresql://localhost/budgetapp -Dbenchmark.jdbc.user=... -Dbenchmark.jdbc.password=...
+ * -Dbenchmark.jdbc.dialect=org.hibernate.dialect.PostgreSQL9Dialect"</code> to run against an empty PostgreSQL database
+ * instead of the in-memory HSQLDB, see {@link EmbeddedDatabase}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DAOQueryBenchmark {
+
+    private static final String[] CATEGORIES = {"Food", "Transport", "Bills", "Leisure"};
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10"})
+    public int users;
+
+    @Param({"12"})
+    public int months;
+
+    @Param({"100", "1000"})
+    public int transactions;
+
+    private EmbeddedDatabase database;
+    private BudgetDAO budgetDAO;
+    private TransactionDAO transactionDAO;
+    private RecurringDAO recurringDAO;
+
+    private User user;
+    private Budget budget;
+    private LocalDate now;
+    private Date period;
+    private int periodKey;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        database = new EmbeddedDatabase("dao-" + users + "-" + months + "-" + transactions);
+        AppConfiguration configuration = new AppConfiguration();
+        UserDAO userDAO = new UserDAO(database.getSessionFactory());
+        CategoryDAO categoryDAO = new CategoryDAO(database.getSessionFactory(), configuration);
+        BudgetTypeDAO budgetTypeDAO = new BudgetTypeDAO(database.getSessionFactory());
+        budgetDAO = new BudgetDAO(database.getSessionFactory(), configuration);
+        transactionDAO = new TransactionDAO(database.getSessionFactory());
+        recurringDAO = new RecurringDAO(database.getSessionFactory());
+        now = LocalDate.now();
+        period = Util.currentYearMonth();
+        periodKey = PeriodKey.current();
+
+        // unique names, an external database may already hold an earlier run
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        for (int u = 0; u < users; u++) {
+            String username = "benchmark-" + run + "-" + u;
+            List<Budget> budgets = database.inTransaction(() -> seedUser(userDAO, categoryDAO, budgetTypeDAO, username));
+            for (int m = 0; m < months; m++) {
+                List<Budget> monthBudgets = budgets.subList(m * CATEGORIES.length, (m + 1) * CATEGORIES.length);
+                LocalDate month = now.minusMonths(m);
+                database.inTransaction(() -> seedTransactions(monthBudgets, month));
+            }
+            if (u == users / 2) {
+                user = budgets.get(0).getUser();
+                budget = budgets.get(0);
+            }
+        }
+    }
+
+    private List<Budget> seedUser(UserDAO userDAO, CategoryDAO categoryDAO, BudgetTypeDAO budgetTypeDAO, String username) {
+        SignUpForm signUp = new SignUpForm();
+        signUp.setUsername(username);
+        signUp.setPassword("password");
+        User newUser = userDAO.add(signUp);
+
+        List<Category> categories = new ArrayList<>();
+        for (String name : CATEGORIES) {
+            Category category = new Category();
+            category.setName(name);
+            category.setType(CategoryType.EXPENDITURE);
+            categories.add(categoryDAO.addCategory(newUser, category));
+        }
+        List<BudgetType> budgetTypes = budgetTypeDAO.addBudgetTypes(CATEGORIES.length);
+
+        // latest month first, one budget per category
+        List<Budget> budgets = new ArrayList<>();
+        for (int m = 0; m < months; m++) {
+            LocalDate month = now.minusMonths(m);
+            for (int c = 0; c < CATEGORIES.length; c++) {
+                Budget newBudget = new Budget();
+                newBudget.setName(CATEGORIES[c] + " budget");
+                newBudget.setProjected(100);
+                newBudget.setPeriodKey(PeriodKey.of(month));
+                newBudget.setCategory(categories.get(c));
+                newBudget.setBudgetType(budgetTypes.get(c));
+                budgets.add(newBudget);
+            }
+        }
+        budgetDAO.addBudgets(newUser, budgets);
+
+        for (BudgetType budgetType : budgetTypes) {
+            Recurring recurring = new Recurring();
+            recurring.setAmount(10);
+            recurring.setRecurringType(RecurringType.MONTHLY);
+            recurring.run(new Date());
+            recurring.setBudgetType(budgetType);
+            recurringDAO.addRecurring(recurring);
+        }
+        return budgets;
+    }
+
+    private void seedTransactions(List<Budget> budgets, LocalDate month) {
+        int days = month.getYear() == now.getYear() && month.getMonthValue() == now.getMonthValue() ? now.getDayOfMonth() : month.lengthOfMonth();
+        List<Transaction> newTransactions = new ArrayList<>(transactions);
+        for (int i = 0; i < transactions; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setName("Transaction " + i);
+            transaction.setAmount(i % 100);
+            transaction.setTransactionOn(Util.toDate(month.withDayOfMonth(1 + i % days)));
+            transaction.setBudget(budgets.get(i % budgets.size()));
+            newTransactions.add(transaction);
+        }
+        transactionDAO.addTransactions(newTransactions);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public List<Budget> budgetFindBudgets() {
+        return database.inTransaction(() -> budgetDAO.findBudgets(user, now.getMonthValue(), now.getYear(), false));
+    }
+
+    @Benchmark
+    public List<Budget> budgetFindByRange() {
+        LocalDate start = now.minusMonths(months - 1);
+        return database.inTransaction(() -> budgetDAO.findByRange(user, start.getMonthValue(), start.getYear(), now.getMonthValue(), now.getYear()));
+    }
+
+    @Benchmark
+    public List<Budget> budgetFindByUserAndCategory() {
+        return database.inTransaction(() -> budgetDAO.findByUserAndCategory(user, budget.getCategory().getId()));
+    }
+
+    @Benchmark
+    public List<Transaction> transactionFind() {
+        return database.inTransaction(() -> transactionDAO.find(user, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<Transaction> transactionFindByBudgetPage() {
+        return database.inTransaction(() -> transactionDAO.findByBudget(user, budget.getId(), null, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<Transaction> transactionFindByRange() {
+        return database.inTransaction(() -> transactionDAO.findByRange(user, period, new Date()));
+    }
+
+    @Benchmark
+    public List<Transaction> transactionFindTransactionsPage() {
+        return database.inTransaction(() -> transactionDAO.findTransactions(user, new SearchFilter(), null, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<RecurringSummary> recurringFindSummaries() {
+        return database.inTransaction(() -> recurringDAO.findSummaries(user, periodKey));
+    }
+
+    @Benchmark
+    public List<DueRecurring> recurringFindDueRecurrings() {
+        return database.inTransaction(() -> recurringDAO.findDueRecurrings(new Date(), periodKey, 1, Collections.singletonList(0)));
+    }
+}
@@ -0,0 +1,177 @@
+package io.budgetapp.benchmark;
+
+import io.budgetapp.crypto.PasswordEncoder;
+import io.budgetapp.dao.AuthTokenDAO;
+import io.budgetapp.dao.BudgetDAO;
+import io.budgetapp.dao.BudgetTypeDAO;
+import io.budgetapp.dao.CategoryDAO;
+import io.budgetapp.dao.DailySpendDAO;
+import io.budgetapp.dao.MonthlyRollupDAO;
+import io.budgetapp.dao.RecurringDAO;
+import io.budgetapp.dao.TransactionDAO;
+import io.budgetapp.dao.UserDAO;
+import io.budgetapp.model.AccountSummary;
+import io.budgetapp.model.Budget;
+import io.budgetapp.model.Category;
+import io.budgetapp.model.CategoryType;
+import io.budgetapp.model.DailySpend;
+import io.budgetapp.model.MonthlyRollup;
+import io.budgetapp.model.Point;
+import io.budgetapp.model.UsageSummary;
+import io.budgetapp.model.User;
+import io.budgetapp.service.FinanceService;
+import io.budgetapp.util.PeriodKey;
+import io.budgetapp.util.Util;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Grouping and stream work of the {@link FinanceService} summaries, with stub DAOs returning
+ * a synthetic user of <code>size</code> budgets over <code>size / 10</code> categories, so the
+ * database is not part of the measurement.
+ *
+ * <pre>
+ * mvn -P benchmark test -DskipTests -Dbenchmark.args="FinanceServiceBenchmark -prof gc"
+ * </pre>
+ * Transactions reach these summaries pre-aggregated as one daily spend per day and one monthly
+ * rollup per category, so their count only changes the amounts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FinanceServiceBenchmark {
+
+    private static final int MONTHS = 7;
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private FinanceService financeService;
+    private User user;
+    private int month;
+    private int year;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(size);
+        LocalDate now = LocalDate.now();
+        month = now.getMonthValue();
+        year = now.getYear();
+        user = new User(1);
+
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, size / 10); i++) {
+            Category category = new Category(i + 1);
+            category.setName("category " + i);
+            category.setType(i % 5 == 0 ? CategoryType.INCOME : CategoryType.EXPENDITURE);
+            categories.add(category);
+        }
+
+        List<Budget> budgets = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Budget budget = new Budget(i + 1);
+            budget.setName("budget " + i);
+            budget.setPeriodKey(PeriodKey.of(month, year));
+            budget.setCategory(categories.get(i % categories.size()));
+            budget.setProjected(random.nextInt(1000));
+            budget.setActual(random.nextInt(1200) - 100);
+            budgets.add(budget);
+        }
+
+        List<MonthlyRollup> currentRollups = new ArrayList<>();
+        List<MonthlyRollup> rangeRollups = new ArrayList<>();
+        for (int m = 0; m < MONTHS; m++) {
+            LocalDate period = now.minusMonths(m);
+            for (Category category : categories) {
+                MonthlyRollup rollup = new MonthlyRollup(user, PeriodKey.of(period), category, category.getType());
+                for (int i = 0; i < 10; i++) {
+                    rollup.addBudget(random.nextInt(1000), random.nextInt(1200) - 100);
+                }
+                rangeRollups.add(rollup);
+                if (m == 0) {
+                    currentRollups.add(rollup);
+                }
+            }
+        }
+
+        List<DailySpend> dailySpends = new ArrayList<>();
+        for (int day = 1; day <= now.getDayOfMonth(); day++) {
+            DailySpend dailySpend = new DailySpend(user, Util.toDate(now.withDayOfMonth(day)));
+            for (int i = 0; i < Math.max(1, size / 30); i++) {
+                dailySpend.add(random.nextInt(100));
+            }
+            dailySpends.add(dailySpend);
+        }
+
+        BudgetDAO budgetDAO = stub(BudgetDAO.class);
+        when(budgetDAO.findBudgets(any(User.class), anyInt(), anyInt(), anyBoolean())).thenReturn(budgets);
+        MonthlyRollupDAO monthlyRollupDAO = stub(MonthlyRollupDAO.class);
+        when(monthlyRollupDAO.findByPeriod(any(User.class), anyInt())).thenReturn(currentRollups);
+        when(monthlyRollupDAO.findByRange(any(User.class), anyInt(), anyInt())).thenReturn(rangeRollups);
+        DailySpendDAO dailySpendDAO = stub(DailySpendDAO.class);
+        when(dailySpendDAO.findByRange(any(User.class), any(Date.class), any(Date.class))).thenReturn(dailySpends);
+
+        financeService = new FinanceService(stub(UserDAO.class), budgetDAO, stub(BudgetTypeDAO.class), stub(CategoryDAO.class),
+                stub(TransactionDAO.class), stub(RecurringDAO.class), stub(AuthTokenDAO.class), monthlyRollupDAO, dailySpendDAO,
+                stub(PasswordEncoder.class));
+    }
+
+    @Benchmark
+    public AccountSummary findAccountSummaryByUser() {
+        return financeService.findAccountSummaryByUser(user, month, year);
+    }
+
+    @Benchmark
+    public UsageSummary findUsageSummaryByUser() {
+        return financeService.findUsageSummaryByUser(user, month, year);
+    }
+
+    @Benchmark
+    public List<Point> findUsageByCategory() {
+        return financeService.findUsageByCategory(user, month, year);
+    }
+
+    @Benchmark
+    public List<Point> findMonthlyTransactionUsage() {
+        return financeService.findMonthlyTransactionUsage(user);
+    }
+
+    @Benchmark
+    public List<Point> findTransactionUsage() {
+        return financeService.findTransactionUsage(user, month, year);
+    }
+
+    /**
+     * stub only mocks keep no invocation history, which would otherwise grow for the whole run
+     */
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+}
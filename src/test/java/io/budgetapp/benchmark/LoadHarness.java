@@ -0,0 +1,271 @@
+package io.budgetapp.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import com.codahale.metrics.SlidingWindowReservoir;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import io.budgetapp.BudgetApplication;
+import io.budgetapp.client.HTTPTokenClientFilter;
+import io.budgetapp.configuration.AppConfiguration;
+import io.budgetapp.model.Budget;
+import io.budgetapp.model.User;
+import io.budgetapp.model.form.SignUpForm;
+import io.budgetapp.model.form.TransactionForm;
+import io.budgetapp.resource.ResourceURL;
+import io.dropwizard.testing.ConfigOverride;
+import io.dropwizard.testing.DropwizardTestSupport;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop HTTP load against an in-process {@link BudgetApplication} started with <code>config/config.yml</code>
+ * (in-memory HSQLDB unless <code>DB_URL</code> is set). Each worker thread plays signed-up users through a mix of
+ * dashboard loads, transaction posts, batched imports and report searches, then throughput and latency percentiles
+ * are printed per resource method.
+ *
+ * <pre>
+ * mvn -P benchmark test -DskipTests -Dbenchmark.main=io.budgetapp.benchmark.LoadHarness -Dbenchmark.args="[users] [threads] [seconds] [warmup seconds]"
+ * </pre>
+ * Latencies include reading the response body. Every sample of the measured phase is kept, up to
+ * {@link #MAX_SAMPLES} per resource method, so the percentiles are exact.
+ */
+public class LoadHarness {
+
+    private static final int MAX_SAMPLES = 1 << 20;
+    private static final int BATCH_SIZE = 20;
+
+    private final int users;
+    private final int threads;
+    private final int seconds;
+    private final int warmupSeconds;
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+
+    private Client client;
+    private String baseUrl;
+
+    public LoadHarness(int users, int threads, int seconds, int warmupSeconds) {
+        this.users = users;
+        this.threads = threads;
+        this.seconds = seconds;
+        this.warmupSeconds = warmupSeconds;
+    }
+
+    /**
+     * a signed-up user with the budgets of the current month
+     */
+    private static class LoadUser {
+        private final WebTarget target;
+        private final List<Budget> budgets;
+
+        private LoadUser(WebTarget target, List<Budget> budgets) {
+            this.target = target;
+            this.budgets = budgets;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        int warmupSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 15;
+        new LoadHarness(users, threads, seconds, warmupSeconds).run();
+        // application executors are not daemon threads
+        System.exit(0);
+    }
+
+    public void run() throws Exception {
+        DropwizardTestSupport<AppConfiguration> app = new DropwizardTestSupport<>(BudgetApplication.class, "config/config.yml",
+                ConfigOverride.config("server.applicationConnectors[0].port", "0"),
+                ConfigOverride.config("server.adminConnectors[0].port", "0"));
+        app.before();
+        try {
+            // per request SQL logging would dominate the measurement
+            LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+            loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).setLevel(Level.WARN);
+            loggerContext.getLogger("io.budgetapp").setLevel(Level.WARN);
+            loggerContext.getLogger("org.hibernate.SQL").setLevel(Level.WARN);
+
+            client = ClientBuilder.newClient();
+            baseUrl = "http://localhost:" + app.getLocalPort();
+
+            List<LoadUser> loadUsers = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                loadUsers.add(signUp());
+            }
+            System.out.printf("%d users signed up, %d threads, %ds warmup, %ds measured%n", users, threads, warmupSeconds, seconds);
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (running) {
+                        play(loadUsers.get(random.nextInt(loadUsers.size())), random);
+                    }
+                });
+            }
+
+            TimeUnit.SECONDS.sleep(warmupSeconds);
+            timers.clear();
+            errors.clear();
+            measuring = true;
+            long start = System.nanoTime();
+            TimeUnit.SECONDS.sleep(seconds);
+            measuring = false;
+            double elapsed = (System.nanoTime() - start) / 1e9;
+            running = false;
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+
+            report(elapsed);
+        } finally {
+            if (client != null) {
+                client.close();
+            }
+            app.after();
+        }
+    }
+
+    private LoadUser signUp() {
+        SignUpForm signUp = new SignUpForm();
+        signUp.setUsername(UUID.randomUUID().toString().substring(0, 8) + "@load.test");
+        signUp.setPassword(UUID.randomUUID().toString().substring(0, 8));
+        client.target(baseUrl + ResourceURL.USER).request(MediaType.APPLICATION_JSON_TYPE).post(Entity.json(signUp)).close();
+        User user = client.target(baseUrl + ResourceURL.USER + "/auth").request(MediaType.APPLICATION_JSON_TYPE).post(Entity.json(signUp), User.class);
+
+        WebTarget target = client.target(baseUrl).register(new HTTPTokenClientFilter(user.getToken()));
+        // first access creates the default categories and budgets of the month
+        List<Budget> budgets = target.path(ResourceURL.BUDGET).request(MediaType.APPLICATION_JSON_TYPE).get(new GenericType<List<Budget>>() {});
+        return new LoadUser(target, budgets);
+    }
+
+    /**
+     * one user action, weighted towards reads the way the web client is used
+     */
+    private void play(LoadUser user, ThreadLocalRandom random) {
+        int action = random.nextInt(100);
+        if (action < 50) {
+            dashboard(user);
+        } else if (action < 80) {
+            addTransaction(user, random);
+        } else if (action < 90) {
+            addTransactions(user, random);
+        } else {
+            searchTransactions(user);
+        }
+    }
+
+    private void dashboard(LoadUser user) {
+        LocalDate now = LocalDate.now();
+        call("GET /api/users/usage", () -> month(user.target.path(ResourceURL.USER + "/usage"), now).buildGet());
+        call("GET /api/transactions/summary", () -> month(user.target.path(ResourceURL.TRANSACTION + "/summary"), now).buildGet());
+        call("GET /api/categories/summary", () -> month(user.target.path(ResourceURL.CATEGORY + "/summary"), now).buildGet());
+        call("GET /api/transactions/monthly", () -> request(user.target.path(ResourceURL.TRANSACTION + "/monthly")).buildGet());
+    }
+
+    private void addTransaction(LoadUser user, ThreadLocalRandom random) {
+        TransactionForm form = transactionForm(user, random);
+        call("POST /api/transactions", () -> request(user.target.path(ResourceURL.TRANSACTION)).buildPost(Entity.json(form)));
+    }
+
+    private void addTransactions(LoadUser user, ThreadLocalRandom random) {
+        List<TransactionForm> forms = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            forms.add(transactionForm(user, random));
+        }
+        call("POST /api/transactions/batched", () -> request(user.target.path(ResourceURL.TRANSACTION + "/batched")).buildPost(Entity.json(forms)));
+    }
+
+    private void searchTransactions(LoadUser user) {
+        call("POST /api/reports/transactions", () -> request(user.target.path(ResourceURL.REPORT + "/transactions").queryParam("limit", 50)).buildPost(Entity.json(Collections.emptyMap())));
+    }
+
+    private TransactionForm transactionForm(LoadUser user, ThreadLocalRandom random) {
+        Budget budget = new Budget(user.budgets.get(random.nextInt(user.budgets.size())).getId());
+        TransactionForm form = new TransactionForm();
+        form.setAmount(random.nextInt(1, 10000));
+        form.setBudget(budget);
+        return form;
+    }
+
+    private Invocation.Builder request(WebTarget target) {
+        return target.request(MediaType.APPLICATION_JSON_TYPE);
+    }
+
+    private Invocation.Builder month(WebTarget target, LocalDate month) {
+        return request(target.queryParam("month", month.getMonthValue()).queryParam("year", month.getYear()));
+    }
+
+    private void call(String name, Supplier<Invocation> invocation) {
+        long start = System.nanoTime();
+        int status;
+        try {
+            Response response = invocation.get().invoke();
+            status = response.getStatus();
+            response.readEntity(String.class);
+        } catch (RuntimeException e) {
+            status = -1;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (!measuring) {
+            return;
+        }
+        if (status < 200 || status >= 300) {
+            errors.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+        }
+        timers.computeIfAbsent(name, key -> new Timer(new SlidingWindowReservoir(MAX_SAMPLES))).update(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    private void report(double elapsed) {
+        System.out.printf("%n%-32s %9s %9s %7s %9s %9s %9s %9s %9s%n", "resource method", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<String, Timer> entry : new TreeMap<>(timers).entrySet()) {
+            Timer timer = entry.getValue();
+            Snapshot snapshot = timer.getSnapshot();
+            AtomicLong failed = errors.get(entry.getKey());
+            total += timer.getCount();
+            System.out.printf("%-32s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(),
+                    timer.getCount(),
+                    timer.getCount() / elapsed,
+                    failed == null ? 0 : failed.get(),
+                    millis(snapshot.getMedian()),
+                    millis(snapshot.get95thPercentile()),
+                    millis(snapshot.get99thPercentile()),
+                    millis(snapshot.get999thPercentile()),
+                    millis(snapshot.getMax()));
+        }
+        System.out.printf("%-32s %9d %9.1f%n", "total", total, total / elapsed);
+    }
+
+    private static double millis(double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,87 @@
+package io.budgetapp.benchmark;
+
+import io.budgetapp.crypto.PasswordEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link PasswordEncoder#encode(CharSequence)} and {@link PasswordEncoder#matches(CharSequence, String)}
+ * with a shared encoder, like the one used by the application.
+ *
+ * <pre>
+ * mvn -P benchmark test -DskipTests -Dbenchmark.args="PasswordEncoderBenchmark -t 4"
+ * mvn -P benchmark test -DskipTests -Dbenchmark.main=io.budgetapp.benchmark.PasswordEncoderBenchmark -Dbenchmark.args=
+ * </pre>
+ * The latter sweeps 1, 2, 4 ... N threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    @Param({"1024"})
+    public int iterations;
+
+    private ExecutorService executor;
+    private PasswordEncoder passwordEncoder;
+    private String encoded;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1024));
+        passwordEncoder = new PasswordEncoder("", iterations, executor);
+        encoded = passwordEncoder.encode("password");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode("password");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("password", encoded);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; ; threads = Math.min(threads * 2, processors)) {
+            Options options = new OptionsBuilder()
+                    .include(PasswordEncoderBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+            if (threads == processors) {
+                break;
+            }
+        }
+    }
+}
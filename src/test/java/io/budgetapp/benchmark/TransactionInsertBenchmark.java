@@ -0,0 +1,111 @@
+package io.budgetapp.benchmark;
+
+import com.google.common.collect.ImmutableMap;
+import io.budgetapp.configuration.AppConfiguration;
+import io.budgetapp.dao.BudgetDAO;
+import io.budgetapp.dao.BudgetTypeDAO;
+import io.budgetapp.dao.CategoryDAO;
+import io.budgetapp.dao.EmbeddedDatabase;
+import io.budgetapp.dao.TransactionDAO;
+import io.budgetapp.dao.UserDAO;
+import io.budgetapp.model.Budget;
+import io.budgetapp.model.Category;
+import io.budgetapp.model.CategoryType;
+import io.budgetapp.model.Transaction;
+import io.budgetapp.model.User;
+import io.budgetapp.model.form.SignUpForm;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second of {@link TransactionDAO#addTransactions(List)} against an in-memory database,
+ * <code>batchSize=1</code> disable JDBC batching.
+ *
+ * <pre>
+ * mvn -P benchmark test -DskipTests -Dbenchmark.args="TransactionInsertBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionInsertBenchmark {
+
+    private static final int ROWS = 5000;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private EmbeddedDatabase database;
+    private TransactionDAO transactionDAO;
+    private Budget budget;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        database = new EmbeddedDatabase("insert-" + batchSize, ImmutableMap.of(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(batchSize)));
+        UserDAO userDAO = new UserDAO(database.getSessionFactory());
+        CategoryDAO categoryDAO = new CategoryDAO(database.getSessionFactory(), new AppConfiguration());
+        BudgetDAO budgetDAO = new BudgetDAO(database.getSessionFactory(), new AppConfiguration());
+        BudgetTypeDAO budgetTypeDAO = new BudgetTypeDAO(database.getSessionFactory());
+        transactionDAO = new TransactionDAO(database.getSessionFactory());
+
+        budget = database.inTransaction(() -> {
+            SignUpForm signUp = new SignUpForm();
+            signUp.setUsername("benchmark");
+            signUp.setPassword("password");
+            User user = userDAO.add(signUp);
+
+            Category category = new Category();
+            category.setName("Benchmark");
+            category.setType(CategoryType.EXPENDITURE);
+            categoryDAO.addCategory(user, category);
+
+            Budget newBudget = new Budget();
+            newBudget.setName("Benchmark");
+            newBudget.setCategory(category);
+            newBudget.setBudgetType(budgetTypeDAO.addBudgetType());
+            return budgetDAO.addBudget(user, newBudget);
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Transaction> addTransactions() {
+        List<Transaction> transactions = new ArrayList<>(ROWS);
+        Date now = new Date();
+        for (int i = 0; i < ROWS; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setName("Benchmark");
+            transaction.setAmount(i);
+            transaction.setTransactionOn(now);
+            transaction.setBudget(budget);
+            transactions.add(transaction);
+        }
+        return database.inTransaction(() -> transactionDAO.addTransactions(transactions));
+    }
+}
@@ -0,0 +1,74 @@
+package io.budgetapp.crypto;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class PasswordEncoderTest {
+
+    @Test
+    public void shouldMatchEncodedPassword() {
+        PasswordEncoder passwordEncoder = new PasswordEncoder();
+        String encoded = passwordEncoder.encode("password");
+
+        assertTrue(encoded.startsWith("$v1$1024$"));
+        assertTrue(passwordEncoder.matches("password", encoded));
+        assertFalse(passwordEncoder.matches("wrong", encoded));
+        assertFalse(passwordEncoder.upgradeEncoding(encoded));
+    }
+
+    @Test
+    public void shouldMatchLegacyEncodedPassword() {
+        byte[] salt = new SaltGenerator().generateKey();
+        byte[] digest = new Digester("SHA-256", 1024).digest(PasswordEncoder.concatenate(salt, Utf8.encode("password")));
+        String legacy = new String(Hex.encode(PasswordEncoder.concatenate(salt, digest)));
+
+        PasswordEncoder passwordEncoder = new PasswordEncoder();
+
+        assertTrue(passwordEncoder.matches("password", legacy));
+        assertFalse(passwordEncoder.matches("wrong", legacy));
+        assertTrue(passwordEncoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    public void shouldMatchPasswordEncodedWithOtherWorkFactor() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            PasswordEncoder weak = new PasswordEncoder("", 16, executor);
+            PasswordEncoder strong = new PasswordEncoder("", 2048, executor);
+            String encoded = weak.encode("password");
+
+            assertTrue(strong.matches("password", encoded));
+            assertTrue(strong.upgradeEncoding(encoded));
+            assertFalse(weak.upgradeEncoding(strong.encode("password")));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldEncodeConcurrently() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        ExecutorService hashing = Executors.newFixedThreadPool(4);
+        try {
+            PasswordEncoder passwordEncoder = new PasswordEncoder("", 64, hashing);
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                String password = "password-" + i;
+                results.add(callers.submit(() -> passwordEncoder.matches(password, passwordEncoder.encode(password))));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            callers.shutdownNow();
+            hashing.shutdownNow();
+        }
+    }
+}
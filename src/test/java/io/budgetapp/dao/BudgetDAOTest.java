@@ -3,7 +3,7 @@ package io.budgetapp.dao;
 import io.budgetapp.configuration.AppConfiguration;
 import io.budgetapp.model.Budget;
 import io.budgetapp.model.User;
-import io.budgetapp.util.Util;
+import io.budgetapp.util.PeriodKey;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.junit.Before;
@@ -35,12 +35,12 @@ public class BudgetDAOTest {
         //setup
         Budget mockBudget = mock(Budget.class);
         //stub
-        when(mockBudget.getPeriod()).thenReturn(null);
+        when(mockBudget.getPeriodKey()).thenReturn(0);
 
         //call
         this.budgetDao.addBudget(this.user, mockBudget);
         //verify
-        verify(mockBudget).setPeriod(Util.currentYearMonth());
+        verify(mockBudget).setPeriodKey(PeriodKey.current());
         verify(mockBudget).setUser(this.user);
         verify(this.mockSession).saveOrUpdate(mockBudget);
     }
@@ -0,0 +1,113 @@
+package io.budgetapp.dao;
+
+import io.budgetapp.BudgetApplication;
+import io.budgetapp.hibernate.dialect.CustomHSQLDialect;
+import liquibase.Liquibase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.context.internal.ManagedSessionContext;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * In-memory HSQLDB migrated with the application changelog, for DAO level tests and benchmarks.
+ * Use a jdbc url through the <code>benchmark.jdbc.url</code> (and <code>.user</code>, <code>.password</code>,
+ * <code>.dialect</code>) system properties to run against another database.
+ */
+public class EmbeddedDatabase implements AutoCloseable {
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final SessionFactory sessionFactory;
+    // keep in-memory database alive until closed
+    private final Connection connection;
+
+    public EmbeddedDatabase(String name) {
+        this(name, null);
+    }
+
+    /**
+     * @param name in-memory database name
+     * @param properties additional hibernate properties, might be null
+     */
+    public EmbeddedDatabase(String name, Map<String, String> properties) {
+        this.url = System.getProperty("benchmark.jdbc.url", "jdbc:hsqldb:mem:" + name + ";sql.syntax_pgs=true");
+        this.user = System.getProperty("benchmark.jdbc.user", "sa");
+        this.password = System.getProperty("benchmark.jdbc.password", "");
+        try {
+            this.connection = DriverManager.getConnection(url, user, password);
+            new Liquibase("migrations.xml", new ClassLoaderResourceAccessor(), new JdbcConnection(connection)).update("");
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to migrate " + url, e);
+        }
+
+        Configuration configuration = new Configuration();
+        configuration.setProperty(AvailableSettings.URL, url);
+        configuration.setProperty(AvailableSettings.USER, user);
+        configuration.setProperty(AvailableSettings.PASS, password);
+        configuration.setProperty(AvailableSettings.DIALECT, System.getProperty("benchmark.jdbc.dialect", CustomHSQLDialect.class.getName()));
+        configuration.setProperty(AvailableSettings.CURRENT_SESSION_CONTEXT_CLASS, "managed");
+        configuration.setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(DefaultDAO.BATCH_SIZE));
+        configuration.setProperty(AvailableSettings.ORDER_INSERTS, "true");
+        configuration.setProperty(AvailableSettings.ORDER_UPDATES, "true");
+        if(properties != null) {
+            properties.forEach(configuration::setProperty);
+        }
+        BudgetApplication.ENTITIES.forEach(configuration::addAnnotatedClass);
+        this.sessionFactory = configuration.buildSessionFactory();
+    }
+
+    public SessionFactory getSessionFactory() {
+        return sessionFactory;
+    }
+
+    /**
+     * new plain JDBC connection to the database, must be closed by caller
+     */
+    public Connection getConnection() throws SQLException {
+        return DriverManager.getConnection(url, user, password);
+    }
+
+    /**
+     * run the work in a new session and transaction, the same way as <code>@UnitOfWork</code>
+     */
+    public <T> T inTransaction(Supplier<T> work) {
+        Session session = sessionFactory.openSession();
+        ManagedSessionContext.bind(session);
+        Transaction transaction = session.beginTransaction();
+        try {
+            T result = work.get();
+            transaction.commit();
+            return result;
+        } catch (RuntimeException e) {
+            transaction.rollback();
+            throw e;
+        } finally {
+            ManagedSessionContext.unbind(sessionFactory);
+            session.close();
+        }
+    }
+
+    public void inTransaction(Runnable work) {
+        inTransaction(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    @Override
+    public void close() throws SQLException {
+        sessionFactory.close();
+        connection.close();
+    }
+}
@@ -0,0 +1,251 @@
+package io.budgetapp.dao;
+
+import com.google.common.collect.ImmutableMap;
+import io.budgetapp.configuration.AppConfiguration;
+import io.budgetapp.model.Budget;
+import io.budgetapp.model.Category;
+import io.budgetapp.model.CategoryType;
+import io.budgetapp.model.Recurring;
+import io.budgetapp.model.RecurringType;
+import io.budgetapp.model.Transaction;
+import io.budgetapp.model.TransactionCursor;
+import io.budgetapp.model.User;
+import io.budgetapp.model.form.SignUpForm;
+import io.budgetapp.model.form.report.SearchFilter;
+import io.budgetapp.util.PeriodKey;
+import io.budgetapp.util.Util;
+import org.hibernate.ScrollableResults;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Run the DAO queries on HSQLDB and fail when the plan of any statement contains a full table scan.
+ * Not covered: {@link BudgetDAO#findNameUsages()} and {@link CategoryDAO#findNameUsages()} (startup load), scan by design.
+ */
+public class QueryPlanTest {
+
+    private static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+    private static EmbeddedDatabase database;
+    private static BudgetDAO budgetDAO;
+    private static TransactionDAO transactionDAO;
+    private static RecurringDAO recurringDAO;
+    private static MonthlyRollupDAO monthlyRollupDAO;
+    private static DailySpendDAO dailySpendDAO;
+    private static JobLeaseDAO jobLeaseDAO;
+    private static User user;
+    private static Budget budget;
+    private static Recurring recurring;
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeClass
+    public static void setupDatabase() {
+        database = new EmbeddedDatabase("query-plan", ImmutableMap.of(AvailableSettings.STATEMENT_INSPECTOR, CapturingStatementInspector.class.getName()));
+        AppConfiguration configuration = new AppConfiguration();
+        budgetDAO = new BudgetDAO(database.getSessionFactory(), configuration);
+        transactionDAO = new TransactionDAO(database.getSessionFactory());
+        recurringDAO = new RecurringDAO(database.getSessionFactory());
+        monthlyRollupDAO = new MonthlyRollupDAO(database.getSessionFactory());
+        dailySpendDAO = new DailySpendDAO(database.getSessionFactory());
+        jobLeaseDAO = new JobLeaseDAO(database.getSessionFactory());
+        UserDAO userDAO = new UserDAO(database.getSessionFactory());
+        CategoryDAO categoryDAO = new CategoryDAO(database.getSessionFactory(), configuration);
+        BudgetTypeDAO budgetTypeDAO = new BudgetTypeDAO(database.getSessionFactory());
+
+        database.inTransaction(() -> {
+            SignUpForm signUp = new SignUpForm();
+            signUp.setUsername("query-plan");
+            signUp.setPassword("password");
+            user = userDAO.add(signUp);
+
+            Category category = new Category();
+            category.setName("Category");
+            category.setType(CategoryType.EXPENDITURE);
+            categoryDAO.addCategory(user, category);
+
+            budget = new Budget();
+            budget.setName("Budget");
+            budget.setCategory(category);
+            budget.setBudgetType(budgetTypeDAO.addBudgetType());
+            budgetDAO.addBudget(user, budget);
+
+            recurring = new Recurring();
+            recurring.setAmount(1);
+            recurring.setRecurringType(RecurringType.MONTHLY);
+            recurring.run(new Date());
+            recurring.setBudgetType(budget.getBudgetType());
+            recurringDAO.addRecurring(recurring);
+
+            Transaction transaction = new Transaction();
+            transaction.setName("Transaction");
+            transaction.setAmount(1);
+            transaction.setTransactionOn(new Date());
+            transaction.setBudget(budget);
+            transaction.setRecurring(recurring);
+            transactionDAO.addTransaction(transaction);
+        });
+    }
+
+    @AfterClass
+    public static void closeDatabase() throws Exception {
+        database.close();
+    }
+
+    @Before
+    public void clearStatements() {
+        STATEMENTS.clear();
+    }
+
+    @Test
+    public void budgetQueries() throws Exception {
+        database.inTransaction(() -> {
+            budgetDAO.findById(budget.getId());
+            budgetDAO.findByIds(user, Collections.singletonList(budget.getId()));
+            budgetDAO.findBudgets(user);
+            budgetDAO.findBudgets(user, 1, 2017, true);
+            budgetDAO.findLatestBudget(user);
+            budgetDAO.findByRange(user, 1, 2017, 12, 2017);
+            budgetDAO.findByBudgetType(budget.getBudgetType().getId());
+            budgetDAO.findByBudgetTypes(Collections.singletonList(budget.getBudgetType().getId()));
+            budgetDAO.findByUserAndCategory(user, budget.getCategory().getId());
+        });
+        assertNoFullScan();
+    }
+
+    @Test
+    public void transactionQueries() throws Exception {
+        database.inTransaction(() -> {
+            SearchFilter filter = new SearchFilter();
+            TransactionCursor cursor = new TransactionCursor(new Date(), Long.MAX_VALUE);
+            transactionDAO.findById(1L);
+            transactionDAO.find(user, 10);
+            transactionDAO.findById(user, 1L);
+            transactionDAO.findByBudget(user, budget.getId());
+            transactionDAO.findByBudget(user, budget.getId(), cursor, 10);
+            transactionDAO.findByRecurring(user, recurring.getId());
+            transactionDAO.findByRecurring(user, recurring.getId(), cursor, 10);
+            transactionDAO.findByRange(user, Util.yearMonthDate(1, 2017), new Date());
+            transactionDAO.findTransactions(user, filter);
+            transactionDAO.findTransactions(user, filter, cursor, 10);
+            try (ScrollableResults results = transactionDAO.scrollTransactions(user, filter)) {
+                results.next();
+            }
+        });
+        assertNoFullScan();
+    }
+
+    @Test
+    public void recurringQueries() throws Exception {
+        database.inTransaction(() -> {
+            recurringDAO.findSummaries(user, PeriodKey.current());
+            recurringDAO.find(user, recurring.getId());
+            recurringDAO.findByBudgetTypeId(budget.getBudgetType().getId());
+            recurringDAO.findDueRecurrings(new Date(), PeriodKey.current(), 4, Arrays.asList(0, 1, 2, 3));
+            recurringDAO.findByIds(Collections.singletonList(recurring.getId()));
+            recurringDAO.findNextRunAt();
+        });
+        assertNoFullScan();
+    }
+
+    @Test
+    public void dueRecurringsShouldBeLimitedToOwnedPartitions() {
+        Date due = new Date(recurring.getNextRunAt().getTime() + 1);
+        int partition = (int) (user.getId() % 4);
+
+        assertEquals(1, database.inTransaction(() -> recurringDAO.findDueRecurrings(due, PeriodKey.current(), 4, Collections.singleton(partition))).size());
+        assertEquals(0, database.inTransaction(() -> recurringDAO.findDueRecurrings(due, PeriodKey.current(), 4, Collections.singleton((partition + 1) % 4))).size());
+    }
+
+    @Test
+    public void monthlyRollupQueries() throws Exception {
+        database.inTransaction(() -> {
+            monthlyRollupDAO.find(user, budget.getPeriodKey(), budget.getCategory());
+            monthlyRollupDAO.findByPeriod(user, budget.getPeriodKey());
+            monthlyRollupDAO.findByRange(user, PeriodKey.of(1, 2017), budget.getPeriodKey());
+        });
+        assertNoFullScan();
+    }
+
+    @Test
+    public void dailySpendQueries() throws Exception {
+        database.inTransaction(() -> {
+            dailySpendDAO.find(user, Util.toDate("2017-01-01"));
+            dailySpendDAO.findByRange(user, Util.toDate("2017-01-01"), new Date());
+        });
+        assertNoFullScan();
+    }
+
+    @Test
+    public void jobLeaseQueries() throws Exception {
+        database.inTransaction(() -> {
+            jobLeaseDAO.findNames("recurring.");
+            jobLeaseDAO.countLive("node.", new Date());
+        });
+        assertNoFullScan();
+    }
+
+    private void assertNoFullScan() throws Exception {
+        List<String> statements = new ArrayList<>(STATEMENTS);
+        assertFalse(statements.isEmpty());
+        try (Connection connection = database.getConnection()) {
+            for (String sql : statements) {
+                if(!sql.trim().toLowerCase().startsWith("select")) {
+                    continue;
+                }
+                String plan = explain(connection, sql);
+                assertEquals("Full scan in\n" + sql + "\n" + plan, Collections.emptyList(), fullScans(plan));
+            }
+        }
+    }
+
+    /**
+     * tables accessed by full scan, materialized IN lists and subqueries are fine
+     */
+    private List<String> fullScans(String plan) {
+        List<String> tables = new ArrayList<>();
+        String table = null;
+        for (String line : plan.split("\n")) {
+            line = line.trim();
+            if(line.startsWith("table=")) {
+                table = line.substring("table=".length());
+            } else if(line.equals("access=FULL SCAN") && table != null && !table.startsWith("SYSTEM_SUBQUERY")) {
+                tables.add(table);
+            }
+        }
+        return tables;
+    }
+
+    private String explain(Connection connection, String sql) throws Exception {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN PLAN FOR " + sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,66 @@
+package io.budgetapp.hibernate;
+
+import com.google.common.collect.ImmutableMap;
+import io.budgetapp.configuration.AppConfiguration;
+import io.budgetapp.dao.CategoryDAO;
+import io.budgetapp.dao.EmbeddedDatabase;
+import io.budgetapp.dao.UserDAO;
+import io.budgetapp.model.User;
+import io.budgetapp.model.form.SignUpForm;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SqlStatisticsTest {
+
+    private EmbeddedDatabase database;
+    private UserDAO userDAO;
+    private CategoryDAO categoryDAO;
+
+    @Before
+    public void setup() {
+        database = new EmbeddedDatabase("sql-statistics", ImmutableMap.of(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlStatisticsSessionListener.class.getName()));
+        SqlStatisticsEventListener.register(database.getSessionFactory());
+        userDAO = new UserDAO(database.getSessionFactory());
+        categoryDAO = new CategoryDAO(database.getSessionFactory(), new AppConfiguration());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        SqlStatistics.stop();
+        database.close();
+    }
+
+    @Test
+    public void shouldCountStatementsAndLoadsOfCurrentThread() {
+        // setup
+        SignUpForm signUp = new SignUpForm();
+        signUp.setUsername("sql-statistics");
+        signUp.setPassword("password");
+        User user = database.inTransaction(() -> userDAO.add(signUp));
+
+        // call
+        SqlStatistics statistics = SqlStatistics.start();
+        database.inTransaction(() -> {
+            userDAO.findByUsername("sql-statistics");
+            categoryDAO.findCategories(user);
+        });
+
+        // verify
+        assertEquals(2, statistics.getStatements());
+        assertEquals(1, statistics.getEntityLoads());
+        assertTrue(statistics.getFlushNanos() > 0);
+    }
+
+    @Test
+    public void shouldIgnoreWorkOutsideRequest() {
+        assertNull(SqlStatistics.current());
+
+        database.inTransaction(() -> userDAO.findByUsername("nobody"));
+
+        assertNull(SqlStatistics.current());
+    }
+}
@@ -0,0 +1,125 @@
+package io.budgetapp.job;
+
+import io.budgetapp.dao.EmbeddedDatabase;
+import io.budgetapp.dao.JobLeaseDAO;
+import io.budgetapp.model.JobLease;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Two instances sharing the leases of one database, time is passed explicitly
+ */
+public class JobLeasesTest {
+
+    private static final long DURATION = TimeUnit.SECONDS.toMillis(30);
+
+    private EmbeddedDatabase database;
+    private JobLeaseDAO jobLeaseDAO;
+    private JobLeases jobLeases;
+    private long now;
+
+    @Before
+    public void setup() {
+        database = new EmbeddedDatabase("job-leases-" + System.nanoTime());
+        jobLeaseDAO = new JobLeaseDAO(database.getSessionFactory());
+        jobLeases = new JobLeases(jobLeaseDAO, "recurring", 4);
+        now = System.currentTimeMillis();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Test
+    public void singleInstanceShouldOwnAllPartitions() {
+        Set<Integer> owned = renew("a", Collections.emptySet());
+        assertEquals(set(0, 1, 2, 3), owned);
+
+        now += DURATION / 3;
+        assertEquals(owned, renew("a", owned));
+    }
+
+    @Test
+    public void joiningInstanceShouldTakeOverHalf() {
+        Set<Integer> a = renew("a", Collections.emptySet());
+        Set<Integer> b = renew("b", Collections.emptySet());
+        assertEquals(Collections.emptySet(), b);
+
+        now += DURATION / 3;
+        a = renew("a", a);
+        b = renew("b", b);
+
+        assertEquals(set(0, 1), a);
+        assertEquals(set(2, 3), b);
+    }
+
+    @Test
+    public void partitionsOfDeadInstanceShouldMoveAfterExpiry() {
+        Set<Integer> a = renew("a", Collections.emptySet());
+        Set<Integer> b = renew("b", Collections.emptySet());
+        now += DURATION / 3;
+        a = renew("a", a);
+        b = renew("b", b);
+
+        // a stops renewing
+        now += DURATION / 3;
+        assertEquals(set(2, 3), renew("b", b));
+
+        now += DURATION;
+        assertEquals(set(0, 1, 2, 3), renew("b", b));
+    }
+
+    @Test
+    public void releasedPartitionsShouldMoveWithoutExpiry() {
+        Set<Integer> a = renew("a", Collections.emptySet());
+        Set<Integer> b = renew("b", Collections.emptySet());
+
+        database.inTransaction(() -> jobLeases.release("a", a, new Date(now)));
+        now += 1;
+
+        assertEquals(set(0, 1, 2, 3), renew("b", b));
+    }
+
+    @Test
+    public void shouldRenewWithDatabaseClock() {
+        long before = System.currentTimeMillis();
+        Date databaseNow = database.inTransaction(() -> jobLeaseDAO.now());
+        assertTrue(Math.abs(databaseNow.getTime() - before) < TimeUnit.MINUTES.toMillis(1));
+
+        assertEquals(set(0, 1, 2, 3), database.inTransaction(() -> jobLeases.renew("a", Collections.emptySet(), DURATION)));
+    }
+
+    @Test
+    public void leaseInsertedByAnotherInstanceShouldNotFailUnitOfWork() {
+        Date expiresAt = new Date(now + DURATION);
+        database.inTransaction(() -> jobLeaseDAO.add(new JobLease("recurring.0", "b", expiresAt)));
+
+        database.inTransaction(() -> {
+            assertFalse(jobLeaseDAO.add(new JobLease("recurring.0", "a", expiresAt)));
+            assertTrue(jobLeaseDAO.add(new JobLease("recurring.1", "a", expiresAt)));
+        });
+
+        assertEquals(2, (long) database.inTransaction(() -> jobLeaseDAO.countLive("recurring.", new Date(now))));
+        assertFalse(database.inTransaction(() -> jobLeaseDAO.acquire("recurring.0", "a", new Date(now), expiresAt)));
+    }
+
+    private Set<Integer> renew(String owner, Set<Integer> owned) {
+        return database.inTransaction(() -> jobLeases.renew(owner, owned, new Date(now), DURATION));
+    }
+
+    private Set<Integer> set(Integer... partitions) {
+        Set<Integer> set = new HashSet<>();
+        Collections.addAll(set, partitions);
+        return set;
+    }
+}
@@ -0,0 +1,171 @@
+package io.budgetapp.job;
+
+import com.codahale.metrics.MetricRegistry;
+import io.budgetapp.configuration.RecurringConfiguration;
+import io.budgetapp.managed.LeaseManager;
+import io.budgetapp.model.DueRecurring;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class RecurringJobTest {
+
+    private RecurringPoster recurringPosterMock;
+    private LeaseManager leaseManagerMock;
+    private ExecutorService executor;
+    private MetricRegistry metricRegistry;
+    private RecurringJob recurringJob;
+
+    @Before
+    public void setup() {
+        recurringPosterMock = mock(RecurringPoster.class);
+        leaseManagerMock = mock(LeaseManager.class);
+        when(leaseManagerMock.partition(anyLong())).thenAnswer(invocation -> (int) (invocation.<Long>getArgument(0) % 4));
+        when(leaseManagerMock.owns(anyInt())).thenReturn(true);
+        when(leaseManagerMock.getPartitions()).thenReturn(4);
+        when(leaseManagerMock.getOwned()).thenReturn(new HashSet<>(Arrays.asList(0, 1, 2, 3)));
+        executor = Executors.newFixedThreadPool(2);
+        metricRegistry = new MetricRegistry();
+        RecurringConfiguration configuration = new RecurringConfiguration();
+        configuration.setThreads(2);
+        configuration.setChunkSize(2);
+        recurringJob = new RecurringJob(recurringPosterMock, leaseManagerMock, executor, configuration, metricRegistry);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldPostEachUserPartitionInChunks() {
+        // setup
+        Date next = new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1));
+        List<Collection<Long>> chunks = Collections.synchronizedList(new ArrayList<>());
+
+        // stub
+        when(recurringPosterMock.findDueRecurrings(any(Date.class), eq(4), anyCollection())).thenReturn(Arrays.asList(
+                due(1, 1), due(2, 2), due(3, 1), due(4, 2), due(5, 1)));
+        when(recurringPosterMock.post(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            chunks.add(new ArrayList<>(ids));
+            return new HashSet<>(ids);
+        });
+        when(recurringPosterMock.findNextRunAt()).thenReturn(next);
+
+        // call
+        Date nextRunAt = recurringJob.run();
+
+        // verify
+        assertEquals(next, nextRunAt);
+        assertEquals(3, chunks.size());
+        assertTrue(chunks.contains(Arrays.asList(1L, 3L)));
+        assertTrue(chunks.contains(Collections.singletonList(5L)));
+        assertTrue(chunks.contains(Arrays.asList(2L, 4L)));
+        assertEquals(5, metricRegistry.meter(MetricRegistry.name(RecurringJob.class, "posted")).getCount());
+        assertEquals(5, metricRegistry.histogram(MetricRegistry.name(RecurringJob.class, "lag")).getCount());
+        assertEquals(1, metricRegistry.timer(MetricRegistry.name(RecurringJob.class, "runs")).getCount());
+    }
+
+    @Test
+    public void shouldRetryFailedChunkOneByOne() {
+        // setup
+        long start = System.currentTimeMillis();
+
+        // stub
+        when(recurringPosterMock.findDueRecurrings(any(Date.class), eq(4), anyCollection())).thenReturn(Arrays.asList(due(1, 1), due(3, 1)));
+        when(recurringPosterMock.post(Arrays.asList(1L, 3L))).thenThrow(new IllegalStateException("chunk"));
+        when(recurringPosterMock.post(Collections.singletonList(1L))).thenReturn(Collections.singleton(1L));
+        when(recurringPosterMock.post(Collections.singletonList(3L))).thenThrow(new IllegalStateException("item"));
+        when(recurringPosterMock.findNextRunAt()).thenReturn(new Date(start - 1000));
+
+        // call
+        Date nextRunAt = recurringJob.run();
+
+        // verify
+        assertTrue(nextRunAt.getTime() >= start + RecurringJob.RETRY_DELAY);
+        assertEquals(1, metricRegistry.meter(MetricRegistry.name(RecurringJob.class, "posted")).getCount());
+        assertEquals(1, metricRegistry.meter(MetricRegistry.name(RecurringJob.class, "failed")).getCount());
+        verify(recurringPosterMock, times(3)).post(anyCollection());
+    }
+
+    @Test
+    public void shouldMeasureLagOfPostedRecurringsOnly() {
+        // stub, recurring 3 has no budget in the current month
+        when(recurringPosterMock.findDueRecurrings(any(Date.class), eq(4), anyCollection())).thenReturn(Arrays.asList(due(1, 1), due(3, 1)));
+        when(recurringPosterMock.post(Arrays.asList(1L, 3L))).thenReturn(Collections.singleton(1L));
+
+        // call
+        recurringJob.run();
+
+        // verify
+        assertEquals(1, metricRegistry.meter(MetricRegistry.name(RecurringJob.class, "posted")).getCount());
+        assertEquals(1, metricRegistry.histogram(MetricRegistry.name(RecurringJob.class, "lag")).getCount());
+    }
+
+    @Test
+    public void shouldOnlyPostRecurringsOfOwnedPartitions() {
+        // setup
+        long start = System.currentTimeMillis();
+
+        // stub
+        when(leaseManagerMock.owns(2)).thenReturn(false);
+        when(recurringPosterMock.findDueRecurrings(any(Date.class), eq(4), anyCollection())).thenReturn(Arrays.asList(due(1, 1), due(2, 2), due(3, 5)));
+        when(recurringPosterMock.post(anyCollection())).thenAnswer(invocation -> new HashSet<>(invocation.<Collection<Long>>getArgument(0)));
+        when(recurringPosterMock.findNextRunAt()).thenReturn(new Date(start - 1000));
+
+        // call
+        Date nextRunAt = recurringJob.run();
+
+        // verify, the lease of partition 2 moved after the query
+        verify(recurringPosterMock).findDueRecurrings(any(Date.class), eq(4), eq(new HashSet<>(Arrays.asList(0, 1, 2, 3))));
+        verify(recurringPosterMock).post(Arrays.asList(1L, 3L));
+        verify(recurringPosterMock, times(1)).post(anyCollection());
+        // recurring of the other instance is still due, do not spin on it
+        assertTrue(nextRunAt.getTime() >= start + RecurringJob.RETRY_DELAY);
+    }
+
+    @Test
+    public void shouldNotQueryWithoutOwnedPartition() {
+        // stub
+        when(leaseManagerMock.getOwned()).thenReturn(Collections.emptySet());
+
+        // call
+        recurringJob.run();
+
+        // verify
+        verify(recurringPosterMock, never()).findDueRecurrings(any(Date.class), anyInt(), anyCollection());
+        verify(recurringPosterMock).findNextRunAt();
+    }
+
+    @Test
+    public void shouldNotPostWithoutDueRecurring() {
+        // stub
+        when(recurringPosterMock.findDueRecurrings(any(Date.class), eq(4), anyCollection())).thenReturn(Collections.emptyList());
+
+        // call
+        Date nextRunAt = recurringJob.run();
+
+        // verify
+        assertNull(nextRunAt);
+        verify(recurringPosterMock, never()).post(anyCollection());
+    }
+
+    private DueRecurring due(long id, long userId) {
+        return new DueRecurring(id, userId, new Date(System.currentTimeMillis() - 1000));
+    }
+}
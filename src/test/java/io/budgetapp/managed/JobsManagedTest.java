@@ -0,0 +1,113 @@
+package io.budgetapp.managed;
+
+import io.budgetapp.job.RecurringJob;
+import io.budgetapp.model.Recurring;
+import io.budgetapp.model.RecurringType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class JobsManagedTest {
+
+    private RecurringJob recurringJob;
+    private JobsManaged jobsManaged;
+
+    @Before
+    public void setup() {
+        recurringJob = mock(RecurringJob.class);
+        jobsManaged = new JobsManaged(recurringJob);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        jobsManaged.stop();
+    }
+
+    @Test
+    public void shouldKeepEarliestRun() {
+        long tomorrow = System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1);
+
+        jobsManaged.schedule(tomorrow);
+        jobsManaged.schedule(tomorrow + 1000);
+        assertEquals(tomorrow, jobsManaged.getScheduledAt());
+
+        jobsManaged.onRecurringAdded(recurring(new Date(tomorrow - 1000)));
+        assertEquals(tomorrow - 1000, jobsManaged.getScheduledAt());
+        verifyZeroInteractions(recurringJob);
+    }
+
+    @Test
+    public void shouldRefreshAfterScheduledRecurringDeleted() {
+        long tomorrow = System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1);
+        jobsManaged.schedule(tomorrow);
+
+        jobsManaged.onRecurringDeleted(recurring(new Date(tomorrow + 1000)));
+        assertEquals(tomorrow, jobsManaged.getScheduledAt());
+
+        jobsManaged.onRecurringDeleted(recurring(new Date(tomorrow)));
+        assertTrue(jobsManaged.getScheduledAt() <= System.currentTimeMillis() + JobsManaged.MIN_DELAY);
+    }
+
+    @Test
+    public void shouldRunSoonAfterLeasesAcquired() {
+        long now = System.currentTimeMillis();
+        jobsManaged.schedule(now + TimeUnit.DAYS.toMillis(1));
+
+        jobsManaged.onLeasesAcquired(Collections.singleton(1));
+
+        assertTrue(jobsManaged.getScheduledAt() <= System.currentTimeMillis() + JobsManaged.MIN_DELAY);
+    }
+
+    @Test
+    public void shouldDelayRecurringAlreadyDue() {
+        long now = System.currentTimeMillis();
+
+        jobsManaged.onRecurringAdded(recurring(new Date(now - TimeUnit.DAYS.toMillis(1))));
+
+        assertTrue(jobsManaged.getScheduledAt() >= now + JobsManaged.MIN_DELAY);
+    }
+
+    @Test
+    public void shouldSleepUntilNextRecurringIsDue() throws Exception {
+        long inTenMinutes = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(10);
+        when(recurringJob.run()).thenReturn(new Date(inTenMinutes));
+
+        jobsManaged.start();
+
+        verify(recurringJob, timeout(1000)).run();
+        for (int i = 0; i < 50 && jobsManaged.getScheduledAt() != inTenMinutes; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(inTenMinutes, jobsManaged.getScheduledAt());
+    }
+
+    @Test
+    public void shouldSleepAtMostMaxDelay() throws Exception {
+        when(recurringJob.run()).thenReturn(null);
+        long now = System.currentTimeMillis();
+
+        jobsManaged.start();
+
+        verify(recurringJob, timeout(1000)).run();
+        for (int i = 0; i < 50 && jobsManaged.getScheduledAt() == Long.MAX_VALUE; i++) {
+            Thread.sleep(20);
+        }
+        long scheduledAt = jobsManaged.getScheduledAt();
+        assertTrue(scheduledAt >= now + JobsManaged.MAX_DELAY);
+        assertTrue(scheduledAt <= System.currentTimeMillis() + JobsManaged.MAX_DELAY);
+    }
+
+    private Recurring recurring(Date nextRunAt) {
+        Recurring recurring = new Recurring();
+        recurring.setRecurringType(RecurringType.DAILY);
+        recurring.setNextRunAt(nextRunAt);
+        return recurring;
+    }
+}
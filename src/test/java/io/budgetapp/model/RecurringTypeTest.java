@@ -0,0 +1,48 @@
+package io.budgetapp.model;
+
+import io.budgetapp.util.Util;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+public class RecurringTypeTest {
+
+    @Test
+    public void shouldKeepDayOfMonthAfterShortMonths() {
+        LocalDate first = LocalDate.of(2017, 1, 31);
+
+        assertEquals(LocalDate.of(2017, 2, 28), RecurringType.MONTHLY.next(first, first));
+        assertEquals(LocalDate.of(2017, 3, 31), RecurringType.MONTHLY.next(first, LocalDate.of(2017, 2, 28)));
+        assertEquals(LocalDate.of(2017, 4, 30), RecurringType.MONTHLY.next(first, LocalDate.of(2017, 3, 31)));
+        assertEquals(LocalDate.of(2018, 2, 28), RecurringType.YEARLY.next(LocalDate.of(2016, 2, 29), LocalDate.of(2017, 2, 28)));
+    }
+
+    @Test
+    public void shouldNotShiftScheduleByLateRuns() {
+        LocalDate first = LocalDate.of(2017, 1, 10);
+
+        assertEquals(LocalDate.of(2017, 3, 10), RecurringType.MONTHLY.next(first, LocalDate.of(2017, 2, 12)));
+        assertEquals(LocalDate.of(2017, 1, 24), RecurringType.WEEKLY.next(first, LocalDate.of(2017, 1, 19)));
+        assertEquals(LocalDate.of(2017, 1, 13), RecurringType.DAILY.next(first, LocalDate.of(2017, 1, 12)));
+    }
+
+    @Test
+    public void shouldScheduleFromFirstRun() {
+        Recurring recurring = new Recurring();
+        recurring.setRecurringType(RecurringType.MONTHLY);
+        recurring.run(date(LocalDateTime.of(2017, 1, 31, 9, 0)));
+        recurring.run(date(LocalDateTime.of(2017, 2, 28, 9, 0)));
+
+        assertEquals(Util.toDate("2017-01-31"), recurring.getFirstRunAt());
+        assertEquals(Util.toDate("2017-03-31"), recurring.getNextRunAt());
+    }
+
+    private static Date date(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
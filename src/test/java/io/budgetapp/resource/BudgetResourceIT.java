@@ -110,7 +110,7 @@ public class BudgetResourceIT extends ResourceIT {
         // when
         Response response = post(ResourceURL.BUDGET, addBudgetForm);
         TransactionForm transactionForm = new TransactionForm();
-        transactionForm.setAmount(10.00);
+        transactionForm.setAmount(1000);
         Budget budget = new Budget();
         budget.setId(identityResponse(response).getId());
         transactionForm.setBudget(budget);
@@ -5,13 +5,16 @@ import io.budgetapp.BudgetApplication;
 import io.budgetapp.configuration.AppConfiguration;
 import io.budgetapp.model.Category;
 import io.budgetapp.model.CategoryType;
+import io.budgetapp.model.form.SignUpForm;
 import io.budgetapp.model.form.budget.AddBudgetForm;
 import io.dropwizard.testing.junit.DropwizardAppRule;
 import org.junit.Assert;
 import org.junit.ClassRule;
 import org.junit.Test;
 
+import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.Response;
+import java.util.List;
 
 
 /**
@@ -80,4 +83,23 @@ public class CategoryResourceIT extends ResourceIT {
         Response newReponse = delete(response.getLocation().getPath());
         assertBadRequest(newReponse);
     }
+
+    @Test
+    public void shouldSuggestCategoryNamesOfOtherUsers() {
+
+        // given another user with the default categories
+        SignUpForm signUp = new SignUpForm();
+        signUp.setUsername(randomEmail());
+        signUp.setPassword(randomAlphabets());
+        post(ResourceURL.USER, signUp);
+
+        // when
+        Response response = get(ResourceURL.CATEGORY + "/suggests?q=TRANS");
+        Response own = get(ResourceURL.CATEGORY + "/suggests?q=" + defaultCategory.getName());
+
+        // then
+        assertOk(response);
+        Assert.assertTrue(response.readEntity(new GenericType<List<String>>() {}).contains("Transportation"));
+        Assert.assertFalse(own.readEntity(new GenericType<List<String>>() {}).contains(defaultCategory.getName()));
+    }
 }
@@ -0,0 +1,65 @@
+package io.budgetapp.resource;
+
+import io.budgetapp.BudgetApplication;
+import io.budgetapp.configuration.AppConfiguration;
+import io.budgetapp.model.form.TransactionForm;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import javax.ws.rs.core.Response;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ */
+public class DashboardResourceIT extends ResourceIT {
+
+    @ClassRule
+    public static final DropwizardAppRule<AppConfiguration> RULE =
+            new DropwizardAppRule<>(BudgetApplication.class, resourceFilePath("config-test.yml"));
+
+    @Override
+    protected int getPort() {
+        return RULE.getLocalPort();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldFindAllWidgetsOfMonth() {
+        // when
+        Response response = get(ResourceURL.DASHBOARD);
+
+        // then
+        assertOk(response);
+        Map<String, Object> dashboard = response.readEntity(Map.class);
+        assertEquals(get(ResourceURL.USER + "/usage").readEntity(Map.class), dashboard.get("usage"));
+        assertEquals(get(ResourceURL.USER + "/account").readEntity(Map.class), dashboard.get("account"));
+        assertEquals(get(ResourceURL.TRANSACTION + "/summary").readEntity(List.class), dashboard.get("transactionUsage"));
+        assertEquals(get(ResourceURL.TRANSACTION + "/monthly").readEntity(List.class), dashboard.get("monthlyUsage"));
+        assertEquals(get(ResourceURL.TRANSACTION + "/today").readEntity(List.class), dashboard.get("recurringTransactions"));
+        assertEquals(get(ResourceURL.CATEGORY + "/summary").readEntity(List.class).size(), ((List<Object>) dashboard.get("categoryUsage")).size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldShowNewTransaction() {
+        // given
+        Map<String, Object> usage = (Map<String, Object>) get(ResourceURL.DASHBOARD).readEntity(Map.class).get("usage");
+        TransactionForm transaction = new TransactionForm();
+        transaction.setAmount(1000);
+        transaction.setBudget(defaultBudget);
+
+        // when
+        post(ResourceURL.TRANSACTION, transaction);
+        Response response = get(ResourceURL.DASHBOARD);
+
+        // then
+        assertOk(response);
+        Map<String, Object> changed = (Map<String, Object>) response.readEntity(Map.class).get("usage");
+        assertEquals(((Number) usage.get("actual")).doubleValue() + 10, ((Number) changed.get("actual")).doubleValue(), 0.001);
+    }
+}
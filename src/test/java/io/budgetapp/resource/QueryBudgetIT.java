@@ -0,0 +1,215 @@
+package io.budgetapp.resource;
+
+import io.budgetapp.BudgetApplication;
+import io.budgetapp.configuration.AppConfiguration;
+import io.budgetapp.model.Budget;
+import io.budgetapp.model.Category;
+import io.budgetapp.model.CategoryType;
+import io.budgetapp.model.RecurringType;
+import io.budgetapp.model.form.TransactionForm;
+import io.budgetapp.model.form.budget.AddBudgetForm;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import javax.ws.rs.core.Response;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * SQL statement budgets of the read endpoints. The user owns several categories, budgets, transactions
+ * and recurrings so that a query per row (N+1) exceeds the budget.
+ */
+public class QueryBudgetIT extends ResourceIT {
+
+    private static final int ROWS = 5;
+
+    @ClassRule
+    public static final DropwizardAppRule<AppConfiguration> RULE =
+            new DropwizardAppRule<>(BudgetApplication.class, resourceFilePath("config-test.yml"));
+
+    @Override
+    protected int getPort() {
+        return RULE.getLocalPort();
+    }
+
+    @BeforeClass
+    public static void populate() {
+        for (int i = 0; i < ROWS; i++) {
+            Category category = new Category();
+            category.setName(randomAlphabets());
+            category.setType(CategoryType.EXPENDITURE);
+            category.setId(id(post(ResourceURL.CATEGORY, category)));
+
+            AddBudgetForm addBudgetForm = new AddBudgetForm();
+            addBudgetForm.setName(randomAlphabets());
+            addBudgetForm.setCategoryId(category.getId());
+            addBudgetForm.setProjected(100);
+            Budget budget = new Budget();
+            budget.setId(id(post(ResourceURL.BUDGET, addBudgetForm)));
+
+            for (Budget target : new Budget[]{budget, defaultBudget}) {
+                TransactionForm transaction = new TransactionForm();
+                transaction.setAmount(1000);
+                transaction.setBudget(target);
+                post(ResourceURL.TRANSACTION, transaction);
+
+                TransactionForm recurring = new TransactionForm();
+                recurring.setAmount(500);
+                recurring.setRecurring(Boolean.TRUE);
+                recurring.setRecurringType(RecurringType.MONTHLY);
+                recurring.setBudget(target);
+                post(ResourceURL.TRANSACTION, recurring);
+            }
+        }
+    }
+
+    @Test
+    public void shouldFindAccountSummaryWithinBudget() {
+        Response response = get(ResourceURL.USER + "/account");
+
+        assertOk(response);
+        assertMaxStatements(response, 2);
+    }
+
+    @Test
+    public void shouldFindUsageSummaryWithinBudget() {
+        Response response = get(ResourceURL.USER + "/usage");
+
+        assertOk(response);
+        assertMaxStatements(response, 3);
+    }
+
+    @Test
+    public void shouldListBudgetsWithinBudget() {
+        Response response = get(ResourceURL.BUDGET);
+
+        assertOk(response);
+        assertMaxStatements(response, 2);
+    }
+
+    @Test
+    public void shouldFindBudgetWithinBudget() {
+        Response response = get(ResourceURL.BUDGET + "/" + defaultBudget.getId());
+
+        assertOk(response);
+        assertMaxStatements(response, 1);
+    }
+
+    @Test
+    public void shouldListBudgetTransactionsWithinBudget() {
+        Response response = get(ResourceURL.BUDGET + "/" + defaultBudget.getId() + "/transactions");
+
+        assertOk(response);
+        assertMaxStatements(response, 1);
+    }
+
+    @Test
+    public void shouldListCategoriesWithinBudget() {
+        Response response = get(ResourceURL.CATEGORY);
+
+        assertOk(response);
+        assertMaxStatements(response, 2);
+    }
+
+    @Test
+    public void shouldListCategoryBudgetsWithinBudget() {
+        Response response = get(ResourceURL.CATEGORY + "/" + defaultCategory.getId() + "/budgets");
+
+        assertOk(response);
+        assertMaxStatements(response, 1);
+    }
+
+    @Test
+    public void shouldFindCategorySummaryWithinBudget() {
+        Response response = get(ResourceURL.CATEGORY + "/summary");
+
+        assertOk(response);
+        assertMaxStatements(response, 3);
+    }
+
+    @Test
+    public void shouldListRecurringsWithinBudget() {
+        Response response = get(ResourceURL.RECURRING);
+
+        assertOk(response);
+        assertMaxStatements(response, 1);
+    }
+
+    @Test
+    public void shouldListTransactionsWithinBudget() {
+        Response response = get(ResourceURL.TRANSACTION);
+
+        assertOk(response);
+        assertMaxStatements(response, 1);
+    }
+
+    @Test
+    public void shouldSearchTransactionsWithinBudget() {
+        Response response = post(ResourceURL.REPORT + "/transactions", Collections.emptyMap());
+
+        assertOk(response);
+        assertMaxStatements(response, 1);
+    }
+
+    @Test
+    public void shouldAddTransactionWithinBudget() {
+        TransactionForm transaction = new TransactionForm();
+        transaction.setAmount(1000);
+        transaction.setBudget(defaultBudget);
+
+        Response response = post(ResourceURL.TRANSACTION, transaction);
+
+        assertCreated(response);
+        assertMaxStatements(response, 8);
+    }
+
+    @Test
+    public void shouldLoadDashboardWithinStatementBudget() {
+        // drop the cached dashboard of the month
+        TransactionForm transaction = new TransactionForm();
+        transaction.setAmount(1000);
+        transaction.setBudget(defaultBudget);
+        post(ResourceURL.TRANSACTION, transaction);
+
+        Response response = get(ResourceURL.DASHBOARD);
+
+        assertOk(response);
+        assertMaxStatements(response, 5);
+    }
+
+    @Test
+    public void shouldRevalidateDashboardWithVersionLookupOnly() {
+        for (String path : Arrays.asList(ResourceURL.DASHBOARD, ResourceURL.USER + "/account", ResourceURL.USER + "/usage", ResourceURL.BUDGET,
+                ResourceURL.CATEGORY, ResourceURL.CATEGORY + "/summary", ResourceURL.TRANSACTION + "/summary", ResourceURL.TRANSACTION + "/monthly")) {
+            Response response = get(path);
+            assertOk(response);
+
+            Response revalidated = get(path, response.getEntityTag());
+
+            assertEquals(path, Response.Status.NOT_MODIFIED.getStatusCode(), revalidated.getStatus());
+            assertMaxStatements(revalidated, 1);
+        }
+    }
+
+    @Test
+    public void shouldServeCachedSummariesWithVersionLookupOnly() {
+        for (String path : Arrays.asList(ResourceURL.DASHBOARD, ResourceURL.USER + "/account", ResourceURL.USER + "/usage",
+                ResourceURL.CATEGORY + "/summary", ResourceURL.TRANSACTION + "/summary", ResourceURL.TRANSACTION + "/monthly")) {
+            assertOk(get(path));
+
+            Response cached = get(path);
+
+            assertOk(cached);
+            assertMaxStatements(cached, 1);
+        }
+    }
+
+    private static long id(Response response) {
+        String[] raw = response.getLocation().toString().split("/");
+        return Long.valueOf(raw[raw.length - 1]);
+    }
+}
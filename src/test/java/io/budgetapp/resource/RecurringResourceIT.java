@@ -2,14 +2,21 @@ package io.budgetapp.resource;
 
 import io.budgetapp.BudgetApplication;
 import io.budgetapp.configuration.AppConfiguration;
+import io.budgetapp.model.Budget;
 import io.budgetapp.model.RecurringType;
 import io.budgetapp.model.form.TransactionForm;
+import io.budgetapp.model.form.budget.AddBudgetForm;
+import io.budgetapp.util.Util;
 import io.dropwizard.testing.junit.DropwizardAppRule;
 import org.junit.Assert;
 import org.junit.ClassRule;
 import org.junit.Test;
 
+import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.Response;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 
 /**
  *
@@ -36,7 +43,7 @@ public class RecurringResourceIT extends ResourceIT {
 
         // given
         TransactionForm transaction = new TransactionForm();
-        transaction.setAmount(10.00);
+        transaction.setAmount(1000);
         transaction.setRecurring(Boolean.TRUE);
         transaction.setRecurringType(RecurringType.MONTHLY);
         transaction.setBudget(defaultBudget);
@@ -52,4 +59,75 @@ public class RecurringResourceIT extends ResourceIT {
         int finalCount = identityResponses(after).size();
         Assert.assertTrue(finalCount - originalCount - 1 == 0);
     }
+
+    @Test
+    public void shouldListRecurringWithBudgetAndCategory() {
+
+        // given
+        TransactionForm transaction = new TransactionForm();
+        transaction.setAmount(2000);
+        transaction.setRecurring(Boolean.TRUE);
+        transaction.setRecurringType(RecurringType.WEEKLY);
+        transaction.setBudget(defaultBudget);
+
+        // when
+        assertCreated(post(ResourceURL.TRANSACTION, transaction));
+        Response response = get(ResourceURL.RECURRING);
+
+        // then
+        assertOk(response);
+        List<Map<String, Object>> recurrings = response.readEntity(new GenericType<List<Map<String, Object>>>() {});
+        Map<String, Object> recurring = recurrings
+                .stream()
+                .filter(r -> "WEEKLY".equals(r.get("recurringType")))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        Assert.assertEquals(defaultBudget.getName(), recurring.get("name"));
+        Assert.assertEquals(defaultCategory.getName(), recurring.get("categoryName"));
+        Assert.assertNotNull(recurring.get("lastRunAt"));
+        Assert.assertTrue(((Number) recurring.get("nextRunAt")).longValue() > ((Number) recurring.get("lastRunAt")).longValue());
+    }
+
+    @Test
+    public void shouldListRecurringWithoutBudgetInCurrentMonth() {
+
+        // given, a recurring of next month whose budget was deleted from the current month
+        AddBudgetForm budget = new AddBudgetForm();
+        budget.setName(randomAlphabets());
+        budget.setCategoryId(defaultCategory.getId());
+        long budgetId = identityResponse(post(ResourceURL.BUDGET, budget)).getId();
+        LocalDate nextMonth = LocalDate.now().plusMonths(1).withDayOfMonth(1);
+        List<Map<String, Object>> budgets = get(ResourceURL.BUDGET + "/" + nextMonth.getMonthValue() + "/" + nextMonth.getYear())
+                .readEntity(new GenericType<List<Map<String, Object>>>() {});
+        long nextBudgetId = budgets
+                .stream()
+                .filter(b -> budget.getName().equals(b.get("name")))
+                .map(b -> ((Number) b.get("id")).longValue())
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        assertDeleted(delete(ResourceURL.BUDGET + "/" + budgetId));
+
+        TransactionForm transaction = new TransactionForm();
+        transaction.setAmount(3000);
+        transaction.setRecurring(Boolean.TRUE);
+        transaction.setRecurringType(RecurringType.YEARLY);
+        transaction.setTransactionOn(Util.toDate(nextMonth));
+        transaction.setBudget(new Budget(nextBudgetId));
+        assertCreated(post(ResourceURL.TRANSACTION, transaction));
+
+        // when
+        Response response = get(ResourceURL.RECURRING);
+
+        // then
+        assertOk(response);
+        List<Map<String, Object>> recurrings = response.readEntity(new GenericType<List<Map<String, Object>>>() {});
+        Map<String, Object> recurring = recurrings
+                .stream()
+                .filter(r -> "YEARLY".equals(r.get("recurringType")))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        Assert.assertNull(recurring.get("budgetId"));
+        Assert.assertNull(recurring.get("categoryName"));
+        Assert.assertEquals(30.0, ((Number) recurring.get("amount")).doubleValue(), 0.001);
+    }
 }
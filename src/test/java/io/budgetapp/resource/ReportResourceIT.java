@@ -0,0 +1,87 @@
+package io.budgetapp.resource;
+
+import io.budgetapp.BudgetApplication;
+import io.budgetapp.configuration.AppConfiguration;
+import io.budgetapp.model.form.TransactionForm;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Response;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ *
+ */
+public class ReportResourceIT extends ResourceIT {
+
+    @ClassRule
+    public static final DropwizardAppRule<AppConfiguration> RULE =
+            new DropwizardAppRule<>(BudgetApplication.class, resourceFilePath("config-test.yml"));
+
+    @Override
+    protected int getPort() {
+        return RULE.getLocalPort();
+    }
+
+    @Test
+    public void shouldAbleExportTransactionsAsCsv() {
+
+        // given
+        TransactionForm transaction = new TransactionForm();
+        transaction.setAmount(1250);
+        transaction.setRemark("lunch, with \"friends\"");
+        transaction.setBudget(defaultBudget);
+        post(ResourceURL.TRANSACTION, transaction);
+
+        // when
+        Response response = export("csv", Collections.emptyMap());
+
+        // then
+        assertOk(response);
+        Assert.assertTrue(response.getMediaType().toString().startsWith("text/csv"));
+        String[] lines = response.readEntity(String.class).split("\r\n");
+        Assert.assertEquals("id,date,budget,category,amount,remark,auto", lines[0]);
+        Assert.assertTrue(lines[1].endsWith("," + defaultBudget.getName() + "," + defaultCategory.getName() + ",12.50,\"lunch, with \"\"friends\"\"\",false"));
+    }
+
+    @Test
+    public void shouldAbleExportTransactionsAsNdjson() {
+
+        // given
+        TransactionForm transaction = new TransactionForm();
+        transaction.setAmount(9900);
+        transaction.setBudget(defaultBudget);
+        post(ResourceURL.TRANSACTION, transaction);
+        Map<String, Object> filter = new HashMap<>();
+        filter.put("minAmount", 99.0);
+        filter.put("maxAmount", 99.0);
+
+        // when
+        Response response = export("ndjson", filter);
+
+        // then
+        assertOk(response);
+        String[] lines = response.readEntity(String.class).split("\n");
+        Assert.assertEquals(1, lines.length);
+        Assert.assertTrue(lines[0].contains("\"amount\":99.00"));
+        Assert.assertTrue(lines[0].contains("\"budget\":\"" + defaultBudget.getName() + "\""));
+    }
+
+    @Test
+    public void shouldNotExportUnknownFormat() {
+        assertBadRequest(export("xml", Collections.emptyMap()));
+    }
+
+    private Response export(String format, Map<String, Object> filter) {
+        return client
+                .target(getUrl(ResourceURL.REPORT + "/transactions/export"))
+                .queryParam("format", format)
+                .request()
+                .post(Entity.json(filter));
+    }
+}
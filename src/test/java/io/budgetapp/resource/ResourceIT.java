@@ -1,6 +1,7 @@
 package io.budgetapp.resource;
 
 import com.google.common.io.Resources;
+import io.budgetapp.application.SqlStatisticsFeature;
 import io.budgetapp.client.HTTPTokenClientFilter;
 import io.budgetapp.modal.IdentityResponse;
 import io.budgetapp.model.Budget;
@@ -16,7 +17,9 @@ import org.junit.BeforeClass;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.io.File;
@@ -26,6 +29,8 @@ import java.util.logging.Logger;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  *
@@ -107,6 +112,17 @@ public abstract class ResourceIT {
                 .buildGet().invoke();
     }
 
+    /**
+     * conditional GET with the tag of an earlier response
+     */
+    protected Response get(String path, EntityTag ifNoneMatch) {
+        return client
+                .target(getUrl(path))
+                .request(MediaType.APPLICATION_JSON_TYPE)
+                .header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch)
+                .buildGet().invoke();
+    }
+
     protected IdentityResponse identityResponse(Response response) {
         return response.readEntity(IdentityResponse.class);
     }
@@ -135,6 +151,17 @@ public abstract class ResourceIT {
         assertThat(response.getStatus(), is(400));
     }
 
+    /**
+     * fail when the call executed more SQL statements than its budget,
+     * counted by {@link SqlStatisticsFeature} which config-test.yml exposes as a header
+     */
+    protected void assertMaxStatements(Response response, int max) {
+        String count = response.getHeaderString(SqlStatisticsFeature.SQL_COUNT_HEADER);
+        assertNotNull("missing " + SqlStatisticsFeature.SQL_COUNT_HEADER + " header", count);
+        int statements = Integer.parseInt(count);
+        assertTrue("executed " + statements + " SQL statements, budget is " + max, statements <= max);
+    }
+
     protected static String randomAlphabets() {
         return UUID.randomUUID().toString().substring(0, 8);
     }
@@ -9,13 +9,23 @@ import io.budgetapp.model.Category;
 import io.budgetapp.model.CategoryType;
 import io.budgetapp.model.form.TransactionForm;
 import io.budgetapp.model.form.budget.AddBudgetForm;
+import io.budgetapp.util.Util;
 import io.dropwizard.testing.junit.DropwizardAppRule;
 import org.junit.Assert;
 import org.junit.ClassRule;
 import org.junit.Test;
 
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 
 /**
@@ -37,7 +47,7 @@ public class TransactionResourceIT extends ResourceIT {
 
         // given
         TransactionForm transaction = new TransactionForm();
-        transaction.setAmount(10.00);
+        transaction.setAmount(1000);
         transaction.setBudget(defaultBudget);
 
         // when
@@ -53,7 +63,7 @@ public class TransactionResourceIT extends ResourceIT {
 
         // given
         TransactionForm transaction = new TransactionForm();
-        transaction.setAmount(10.00);
+        transaction.setAmount(1000);
         transaction.setBudget(defaultBudget);
         Response response = post(ResourceURL.TRANSACTION, transaction);
         IdentityResponse identityResponse = identityResponse(response);
@@ -83,7 +93,7 @@ public class TransactionResourceIT extends ResourceIT {
 
         // given
         TransactionForm transaction = new TransactionForm();
-        transaction.setAmount(10.00);
+        transaction.setAmount(1000);
         transaction.setBudget(defaultBudget);
 
         // when
@@ -105,7 +115,7 @@ public class TransactionResourceIT extends ResourceIT {
         budget.setName(randomAlphabets());
 
         TransactionForm transaction = new TransactionForm();
-        transaction.setAmount(10.00);
+        transaction.setAmount(1000);
 
         // when
         Response categoryResponse = post(ResourceURL.CATEGORY, category);
@@ -124,4 +134,152 @@ public class TransactionResourceIT extends ResourceIT {
         assertOk(newResponse);
         Assert.assertEquals(1, ids.size());
     }
+
+    @Test
+    public void shouldAbleImportTransactions() throws Exception {
+        // given, a name which can not be mistaken for an id
+        AddBudgetForm budget = new AddBudgetForm();
+        budget.setName("Import " + randomAlphabets());
+        budget.setCategoryId(defaultCategory.getId());
+        Long budgetId = identityResponse(post(ResourceURL.BUDGET, budget)).getId();
+        String today = LocalDate.now().toString();
+        String csv = "date,amount,remark,budget\n" +
+                today + ",10.50,\"by name, quoted\"," + budget.getName() + "\n" +
+                today + ",-3,by id," + budgetId + "\n" +
+                today + ",abc,bad amount," + defaultBudget.getId() + "\n" +
+                today + ",1,unknown budget," + randomAlphabets() + "\n";
+
+        // when
+        Response response = client
+                .target(getUrl(ResourceURL.TRANSACTION + "/import"))
+                .request(MediaType.APPLICATION_JSON_TYPE)
+                .post(Entity.entity(csv, "text/csv"));
+
+        // then
+        Assert.assertEquals(202, response.getStatus());
+        Map<String, Object> status = response.readEntity(new GenericType<Map<String, Object>>() {});
+        for (int i = 0; i < 50 && !"COMPLETED".equals(status.get("state")) && !"FAILED".equals(status.get("state")); i++) {
+            Thread.sleep(100);
+            status = get(response.getLocation().getPath()).readEntity(new GenericType<Map<String, Object>>() {});
+        }
+        Assert.assertEquals("COMPLETED", status.get("state"));
+        Assert.assertEquals(4, status.get("parsed"));
+        Assert.assertEquals(2, status.get("committed"));
+        Assert.assertEquals(2, status.get("rejected"));
+    }
+
+    @Test
+    public void shouldNotFindUnknownImport() {
+        assertNotFound(get(ResourceURL.TRANSACTION + "/import/" + randomAlphabets()));
+    }
+
+
+    @Test
+    public void shouldAblePageTransactionsByBudget() {
+        // given
+        AddBudgetForm budget = new AddBudgetForm();
+        budget.setName(randomAlphabets());
+        budget.setCategoryId(defaultCategory.getId());
+        Long budgetId = identityResponse(post(ResourceURL.BUDGET, budget)).getId();
+        for (int i = 0; i < 5; i++) {
+            TransactionForm transaction = new TransactionForm();
+            transaction.setAmount(i + 1);
+            transaction.setBudget(new Budget(budgetId));
+            post(ResourceURL.TRANSACTION, transaction);
+        }
+
+        // when
+        Response first = get("/api/budgets/" + budgetId + "/transactions?limit=2");
+        Response second = get("/api/budgets/" + budgetId + "/transactions?limit=2&cursor=" + first.getHeaderString(AbstractResource.NEXT_CURSOR_HEADER));
+        Response last = get("/api/budgets/" + budgetId + "/transactions?limit=2&cursor=" + second.getHeaderString(AbstractResource.NEXT_CURSOR_HEADER));
+
+        // then
+        List<IdentityResponse> firstIds = identityResponses(first);
+        List<IdentityResponse> secondIds = identityResponses(second);
+        Assert.assertEquals(2, firstIds.size());
+        Assert.assertEquals(2, secondIds.size());
+        Assert.assertTrue(firstIds.get(1).getId() > secondIds.get(0).getId());
+        Assert.assertEquals(1, identityResponses(last).size());
+        Assert.assertNull(last.getHeaderString(AbstractResource.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    public void shouldNotPageWithInvalidCursor() {
+        assertBadRequest(get("/api/budgets/" + defaultBudget.getId() + "/transactions?cursor=invalid"));
+    }
+
+    @Test
+    public void shouldUpdateSummaryWithTransactions() {
+        // given
+        double total = todaySummary();
+        TransactionForm transaction = new TransactionForm();
+        transaction.setAmount(1000);
+        transaction.setBudget(defaultBudget);
+        IdentityResponse created = identityResponse(post(ResourceURL.TRANSACTION, transaction));
+        Assert.assertEquals(total + 10, todaySummary(), 0.001);
+
+        // when
+        delete(ResourceURL.TRANSACTION + "/" + created.getId());
+
+        // then
+        Assert.assertEquals(total, todaySummary(), 0.001);
+    }
+
+    @Test
+    public void shouldKeepRollupsInStepWithParallelTransactions() throws Exception {
+        // given, two budgets sharing the rollup of a new category
+        Category category = new Category();
+        category.setName(randomAlphabets());
+        category.setType(CategoryType.EXPENDITURE);
+        Long categoryId = identityResponse(post(ResourceURL.CATEGORY, category)).getId();
+        List<Long> budgetIds = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            AddBudgetForm budget = new AddBudgetForm();
+            budget.setName(randomAlphabets());
+            budget.setCategoryId(categoryId);
+            budgetIds.add(identityResponse(post(ResourceURL.BUDGET, budget)).getId());
+        }
+        double today = todaySummary();
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Response>> responses = new ArrayList<>();
+        long total = 0;
+        try {
+            for (int i = 0; i < 40; i++) {
+                TransactionForm transaction = new TransactionForm();
+                transaction.setAmount(i % 5 == 0 ? -250 : 100 + i);
+                transaction.setBudget(new Budget(budgetIds.get(i % 2)));
+                total += transaction.getAmount();
+                responses.add(executor.submit(() -> post(ResourceURL.TRANSACTION, transaction)));
+            }
+            for (Future<Response> response : responses) {
+                assertCreated(response.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        List<Map<String, Object>> points = get(ResourceURL.CATEGORY + "/summary").readEntity(new GenericType<List<Map<String, Object>>>() {});
+        double actual = points
+                .stream()
+                .filter(point -> ((Number) point.get("key")).longValue() == categoryId)
+                .mapToDouble(point -> ((Number) point.get("value")).doubleValue())
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        Assert.assertEquals(total / 100.0, actual, 0.001);
+        Assert.assertEquals(today + total / 100.0, todaySummary(), 0.001);
+    }
+
+    private double todaySummary() {
+        long today = Util.toDate(LocalDate.now()).getTime();
+        List<Map<String, Object>> points = get(ResourceURL.TRANSACTION + "/summary").readEntity(new GenericType<List<Map<String, Object>>>() {});
+        return points
+                .stream()
+                .filter(point -> ((Number) point.get("key")).longValue() == today)
+                .mapToDouble(point -> ((Number) point.get("value")).doubleValue())
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+    }
 }
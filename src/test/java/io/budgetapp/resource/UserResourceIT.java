@@ -7,14 +7,17 @@ import io.budgetapp.modal.ErrorResponse;
 import io.budgetapp.model.User;
 import io.budgetapp.model.form.LoginForm;
 import io.budgetapp.model.form.SignUpForm;
+import io.budgetapp.model.form.TransactionForm;
 import io.budgetapp.model.form.user.Password;
 import io.dropwizard.testing.junit.DropwizardAppRule;
 import org.junit.Assert;
 import org.junit.ClassRule;
 import org.junit.Test;
 
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.Response;
 import java.util.Arrays;
+import java.util.Map;
 
 import static org.junit.Assert.*;
 import static org.hamcrest.CoreMatchers.*;
@@ -84,4 +87,55 @@ public class UserResourceIT extends ResourceIT {
         assertOk(authResponse);
         Assert.assertNotNull(authResponse.readEntity(User.class).getToken());
     }
+
+    @Test
+    public void shouldUpdateUsageSummaryWithTransactions() {
+        // given
+        double spent = ((Number) get("/api/users/usage").readEntity(Map.class).get("actual")).doubleValue();
+        TransactionForm transaction = new TransactionForm();
+        transaction.setAmount(1000);
+        transaction.setBudget(defaultBudget);
+
+        // when
+        post(ResourceURL.TRANSACTION, transaction);
+        Response response = get("/api/users/usage");
+
+        // then
+        assertOk(response);
+        assertEquals(spent + 10, ((Number) response.readEntity(Map.class).get("actual")).doubleValue(), 0.001);
+    }
+
+    @Test
+    public void shouldRevalidateUsageSummaryUntilDataChanges() {
+        // given
+        Response response = get("/api/users/usage");
+        EntityTag tag = response.getEntityTag();
+        TransactionForm transaction = new TransactionForm();
+        transaction.setAmount(1000);
+        transaction.setBudget(defaultBudget);
+
+        // when
+        Response unchanged = get("/api/users/usage", tag);
+        post(ResourceURL.TRANSACTION, transaction);
+        Response changed = get("/api/users/usage", tag);
+
+        // then
+        assertOk(response);
+        assertNotNull(tag);
+        assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), unchanged.getStatus());
+        assertOk(changed);
+        assertNotEquals(tag, changed.getEntityTag());
+    }
+
+    @Test
+    public void shouldRecordSqlStatisticsPerResourceMethod() {
+        // when
+        Response response = get("/api/users/usage");
+
+        // then
+        assertOk(response);
+        assertTrue(Integer.valueOf(response.getHeaderString("X-SQL-Count")) > 0);
+        assertTrue(RULE.getEnvironment().metrics().getHistograms().get("io.budgetapp.resource.UserResource.findUsageSummary.sql-statements").getCount() > 0);
+        assertTrue((Long) RULE.getEnvironment().metrics().getGauges().get("hibernate.queries").getValue() > 0);
+    }
 }
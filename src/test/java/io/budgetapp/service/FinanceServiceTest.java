@@ -5,25 +5,34 @@ import io.budgetapp.crypto.PasswordEncoder;
 import io.budgetapp.dao.*;
 import io.budgetapp.model.*;
 import io.budgetapp.model.form.SignUpForm;
+import io.budgetapp.model.form.TransactionForm;
 import io.budgetapp.model.form.recurring.AddRecurringForm;
 import io.budgetapp.model.form.report.SearchFilter;
 import io.budgetapp.model.form.user.Password;
 import io.budgetapp.model.form.user.Profile;
 import io.budgetapp.model.form.budget.AddBudgetForm;
 import io.budgetapp.model.form.budget.UpdateBudgetForm;
+import io.budgetapp.util.PeriodKey;
 import io.budgetapp.util.Util;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 
 import static junit.framework.Assert.assertTrue;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public class FinanceServiceTest {
 
@@ -34,6 +43,8 @@ public class FinanceServiceTest {
     private TransactionDAO transactionDAOMock;
     private RecurringDAO recurringDAOMock;
     private AuthTokenDAO authTokenDAOMock;
+    private MonthlyRollupDAO monthlyRollupDAOMock;
+    private DailySpendDAO dailySpendDAOMock;
     private PasswordEncoder passwordEncoderMock;
     private SignUpForm signUpFormMock;
 
@@ -46,6 +57,8 @@ public class FinanceServiceTest {
         transactionDAOMock = mock(TransactionDAO.class);
         recurringDAOMock = mock(RecurringDAO.class);
         authTokenDAOMock = mock(AuthTokenDAO.class);
+        monthlyRollupDAOMock = mock(MonthlyRollupDAO.class);
+        dailySpendDAOMock = mock(DailySpendDAO.class);
         passwordEncoderMock = mock(PasswordEncoder.class);
         signUpFormMock = mock(SignUpForm.class);
     }
@@ -55,7 +68,7 @@ public class FinanceServiceTest {
     @Test(expected=DataConstraintException.class)
     public void addUserExistingUserNameTest(){
         //given
-        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, passwordEncoderMock);
+        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
         SignUpForm form = new SignUpForm();
         form.setUsername("usernameExists");
         form.setPassword("password");
@@ -78,7 +91,7 @@ public class FinanceServiceTest {
     @Test
     public void addUserTest(){
         //given
-        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, passwordEncoderMock);
+        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
         SignUpForm form = new SignUpForm();
 
 
@@ -100,24 +113,29 @@ public class FinanceServiceTest {
 
     @Test
     public void updateTest(){
-        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, passwordEncoderMock);
-        User user = new User();
+        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
+        User user = new User(1L);
+        User originalUser = new User(1L);
         Profile profile = new Profile();
         profile.setName("testName");
         profile.setCurrency("cad");
 
+        //when
+        when(userDAOMock.findById(1L)).thenReturn(originalUser);
+
         //action
         User updatedUser = financeService.update(user, profile);
 
         //result
-        verify(userDAOMock).update(user);
+        verify(userDAOMock).update(originalUser);
+        assertNull(user.getName());
         assertEquals(updatedUser.getName(), profile.getName());
         assertEquals(updatedUser.getCurrency(), profile.getCurrency());
     }
 
     @Test(expected=DataConstraintException.class)
     public void changePasswordInconsistentPasswordTestConfirm(){
-        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, passwordEncoderMock);
+        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
         User user = new User();
         Password password = new Password();
         password.setPassword("test");
@@ -132,7 +150,7 @@ public class FinanceServiceTest {
 
     @Test(expected=DataConstraintException.class)
     public void changePasswordInconsistentPasswordTestOriginal(){
-        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, passwordEncoderMock);
+        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
         User user = new User();
         user.setPassword("fail");
         Password password = new Password();
@@ -141,6 +159,7 @@ public class FinanceServiceTest {
         password.setOriginal("test");
 
         //when
+        when(userDAOMock.findById(any())).thenReturn(user);
         when(passwordEncoderMock.matches(password.getOriginal(), user.getPassword())).thenReturn(false);
         financeService.changePassword(user, password);
 
@@ -151,7 +170,7 @@ public class FinanceServiceTest {
 
     @Test
     public void changePasswordConsistentPasswordTest() {
-        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, passwordEncoderMock);
+        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
         User userReal = new User();
         userReal.setUsername("dummy user");
         userReal.setPassword("dummy pass");
@@ -179,22 +198,26 @@ public class FinanceServiceTest {
     @Test
     public void test_addBudget(){
         //setup
-        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, passwordEncoderMock);
+        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
         User mockUser = mock(User.class);
         AddBudgetForm mockAddBudgetForm = mock(AddBudgetForm.class);
 
+        //stub
+        when(this.categoryDAOMock.findById(anyLong())).thenReturn(mock(Category.class));
+
         //call
         financeService.addBudget(mockUser, mockAddBudgetForm);
 
         //verify
         verify(this.budgetTypeDAOMock).addBudgetType();
         verify(this.budgetDAOMock).addBudget(any(User.class), any(Budget.class));
+        verify(this.monthlyRollupDAOMock).apply(argThat(rollup -> rollup.getBudgets() == 1));
     }
 
     @Test
     public void test_updateBudget(){
         //setup
-        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, passwordEncoderMock);
+        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
         User mockUser = mock(User.class);
         UpdateBudgetForm mockUpdateBudgetForm = mock(UpdateBudgetForm.class);
         Budget mockBudget = mock(Budget.class);
@@ -205,7 +228,7 @@ public class FinanceServiceTest {
 
         when(mockUpdateBudgetForm.getId()).thenReturn(1L);
         when(mockUpdateBudgetForm.getName()).thenReturn("TESTING");
-        when(mockUpdateBudgetForm.getProjected()).thenReturn(1D);
+        when(mockUpdateBudgetForm.getProjected()).thenReturn(100L);
         when(mockBudget.getCategory()).thenReturn(mockCategory);
         when(mockCategory.getId()).thenReturn(1L);
         when(mockCategory.getType()).thenReturn(null);
@@ -219,7 +242,7 @@ public class FinanceServiceTest {
         verify(this.budgetDAOMock).findById(mockUser, mockUpdateBudgetForm.getId());
         verify(this.categoryDAOMock).findById(1L);
         verify(mockBudget).setName(anyString());
-        verify(mockBudget).setProjected(anyDouble());
+        verify(mockBudget).setProjected(anyLong());
         verify(this.budgetDAOMock).update(mockBudget);
     }
 
@@ -228,7 +251,7 @@ public class FinanceServiceTest {
         // Set up
         FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock,
                                                            categoryDAOMock, transactionDAOMock, recurringDAOMock,
-                                                           authTokenDAOMock, passwordEncoderMock);
+                                                           authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
         User testUser = new User();
         AddRecurringForm addRecurringFormMock = mock( AddRecurringForm.class );
         Budget mockBudget = Mockito.mock( Budget.class );
@@ -239,13 +262,14 @@ public class FinanceServiceTest {
         // Stub
         when( financeService.findBudgetById( testUser, 0 ) ).thenReturn( mockBudget );
         when( addRecurringFormMock.getRecurringAt() ).thenReturn( new Date() );
-        when( addRecurringFormMock.getAmount() ).thenReturn( 10.00 );
+        when( addRecurringFormMock.getAmount() ).thenReturn( 1000L );
         when( addRecurringFormMock.getRecurringType() ).thenReturn( RecurringType.MONTHLY );
         when( mockBudget.getBudgetType() ).thenReturn( new BudgetType() );
+        when( mockBudget.getCategory() ).thenReturn( new Category() );
         when( addRecurringFormMock.getRemark() ).thenReturn( "" );
         when( mockBudget.getName() ).thenReturn( "" );
         when( recurringDAOMock.addRecurring( any() ) ).thenReturn( recurringMock );
-        when( recurringMock.getAmount() ).thenReturn( 10.00 );
+        when( recurringMock.getAmount() ).thenReturn( 1000L );
 
         // Pre-lim date check
         Assert.assertTrue( Util.inMonth( addRecurringFormMock.getRecurringAt(), now ) );
@@ -262,7 +286,7 @@ public class FinanceServiceTest {
         //Set up
         FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock,
                                                            categoryDAOMock, transactionDAOMock, recurringDAOMock,
-                                                           authTokenDAOMock, passwordEncoderMock);
+                                                           authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
         User testUser = new User();
         Long recurringId = 100L;
         Recurring toDelete = new Recurring();
@@ -281,7 +305,7 @@ public class FinanceServiceTest {
     @Test
     public void test_deleteCategory(){
     	//setup
-        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, passwordEncoderMock);
+        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
         User mockUser = mock(User.class);
         Category mockCategory = mock(Category.class);
         //stub
@@ -297,20 +321,21 @@ public class FinanceServiceTest {
     @Test
     public void deleteTransactionTest(){
         // setup
-        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, passwordEncoderMock);
+        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
         User mockUser = mock(User.class);
         Transaction mockTransaction = mock(Transaction.class);
         Budget mockBudget = mock(Budget.class);
 
         Long id = (long)1;
-        Double actual = 4.0;
-        Double amount = 2.0;
+        Long actual = 400L;
+        Long amount = 200L;
 
         // stubs
         when(transactionDAOMock.findById(mockUser, id)).thenReturn(Optional.ofNullable(mockTransaction));
         when(mockTransaction.getId()).thenReturn(id);
         when(mockTransaction.getBudget()).thenReturn(mockBudget);
         when(mockBudget.getActual()).thenReturn(actual);
+        when(mockBudget.getCategory()).thenReturn(new Category());
         when(mockTransaction.getAmount()).thenReturn(amount);
 
         // call
@@ -324,7 +349,7 @@ public class FinanceServiceTest {
     @Test
     public void findTransactionByIdTest(){
         // setup
-        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, passwordEncoderMock);
+        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
         Long iD = (long)2;
 
         // call
@@ -337,7 +362,7 @@ public class FinanceServiceTest {
     @Test
     public void findTodayRecurringsTransactionsTest(){
         // setup
-        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, passwordEncoderMock);
+        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
         User testUser = new User();
         SearchFilter testSearchFilter = new SearchFilter();
         testSearchFilter.setStartOn(new Date());
@@ -351,5 +376,288 @@ public class FinanceServiceTest {
         assertTrue(returnlist instanceof List);
     }
 
-}
 
+    @Test
+    public void addTransactionsShouldUpdateEachBudgetOnce(){
+        // setup
+        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
+        User user = new User(1L);
+        Budget food = new Budget(2L);
+        food.setPeriodKey(PeriodKey.current());
+        food.setCategory(new Category(1L));
+        Budget rent = new Budget(1L);
+        rent.setPeriodKey(PeriodKey.current());
+        rent.setCategory(new Category(1L));
+
+        List<TransactionForm> forms = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            TransactionForm form = new TransactionForm();
+            form.setAmount(150);
+            form.setTransactionOn(new Date());
+            form.setBudget(new Budget(i % 2 == 0 ? 2L : 1L));
+            forms.add(form);
+        }
+
+        // stub
+        when(budgetDAOMock.findByIds(eq(user), anyCollection())).thenReturn(Arrays.asList(food, rent));
+
+        // call
+        financeService.addTransactions(user, forms);
+
+        // verify
+        InOrder inOrder = inOrder(budgetDAOMock);
+        inOrder.verify(budgetDAOMock).update(rent);
+        inOrder.verify(budgetDAOMock).update(food);
+        verify(budgetDAOMock, times(2)).update(any(Budget.class));
+        verify(transactionDAOMock).addTransactions(argThat(transactions -> transactions.size() == 10));
+        assertEquals(750, food.getActual());
+        assertEquals(750, rent.getActual());
+        verify(userDAOMock).incrementDataVersion(user);
+    }
+
+    @Test
+    public void addTransactionsShouldUpdateMonthlyRollup(){
+        // setup
+        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
+        User user = new User(1L);
+        Category category = new Category(1L);
+        category.setType(CategoryType.EXPENDITURE);
+        Budget budget = new Budget(1L);
+        budget.setPeriodKey(PeriodKey.current());
+        budget.setCategory(category);
+        budget.setActual(2);
+
+        TransactionForm form = new TransactionForm();
+        form.setAmount(-3);
+        form.setTransactionOn(new Date());
+        form.setBudget(new Budget(1L));
+
+        // stub
+        when(budgetDAOMock.findByIds(eq(user), anyCollection())).thenReturn(Arrays.asList(budget));
+
+        // call
+        financeService.addTransactions(user, Arrays.asList(form));
+
+        // verify, the budget turned from spending into refund
+        ArgumentCaptor<MonthlyRollup> change = ArgumentCaptor.forClass(MonthlyRollup.class);
+        verify(monthlyRollupDAOMock).apply(change.capture());
+        assertEquals(0, change.getValue().getBudgets());
+        assertEquals(0, change.getValue().getProjected());
+        assertEquals(-3, change.getValue().getActual());
+        assertEquals(-2, change.getValue().getSpent());
+        assertEquals(-1, change.getValue().getRefund());
+    }
+
+    @Test
+    public void addTransactionsShouldApplyRollupsByMonthAndCategory(){
+        // setup
+        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
+        User user = new User(1L);
+        Category home = new Category(1L);
+        home.setType(CategoryType.EXPENDITURE);
+        Category food = new Category(2L);
+        food.setType(CategoryType.EXPENDITURE);
+        int period = PeriodKey.current();
+        // budget ids do not follow the category order
+        Budget grocery = new Budget(1L);
+        grocery.setPeriodKey(period);
+        grocery.setCategory(food);
+        Budget rent = new Budget(2L);
+        rent.setPeriodKey(period);
+        rent.setCategory(home);
+        Budget dining = new Budget(3L);
+        dining.setPeriodKey(period);
+        dining.setCategory(food);
+        Budget nextRent = new Budget(4L);
+        nextRent.setPeriodKey(PeriodKey.plusMonths(period, 1));
+        nextRent.setCategory(home);
+        Budget previousGrocery = new Budget(5L);
+        previousGrocery.setPeriodKey(PeriodKey.plusMonths(period, -1));
+        previousGrocery.setCategory(food);
+
+        List<TransactionForm> forms = new ArrayList<>();
+        for (Budget budget : Arrays.asList(grocery, rent, dining, nextRent, previousGrocery)) {
+            TransactionForm form = new TransactionForm();
+            form.setAmount(budget.getId());
+            form.setTransactionOn(PeriodKey.toDate(budget.getPeriodKey()));
+            form.setBudget(new Budget(budget.getId()));
+            forms.add(form);
+        }
+
+        // stub
+        when(budgetDAOMock.findByIds(eq(user), anyCollection())).thenReturn(Arrays.asList(grocery, rent, dining, nextRent, previousGrocery));
+
+        // call
+        financeService.addTransactions(user, forms);
+
+        // verify, one apply per month and category in that order, after every budget update
+        InOrder order = inOrder(budgetDAOMock, monthlyRollupDAOMock);
+        order.verify(budgetDAOMock, times(5)).update(any(Budget.class));
+        ArgumentCaptor<MonthlyRollup> changes = ArgumentCaptor.forClass(MonthlyRollup.class);
+        order.verify(monthlyRollupDAOMock, times(4)).apply(changes.capture());
+        List<MonthlyRollup> applied = changes.getAllValues();
+        assertEquals(PeriodKey.plusMonths(period, -1), applied.get(0).getPeriodKey());
+        assertEquals(period, applied.get(1).getPeriodKey());
+        assertEquals(home, applied.get(1).getCategory());
+        assertEquals(2, applied.get(1).getActual());
+        assertEquals(period, applied.get(2).getPeriodKey());
+        assertEquals(food, applied.get(2).getCategory());
+        assertEquals(4, applied.get(2).getActual());
+        assertEquals(PeriodKey.plusMonths(period, 1), applied.get(3).getPeriodKey());
+    }
+
+    @Test
+    public void findDashboardShouldLoadBudgetsOnce(){
+        // setup
+        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
+        User user = new User(1L);
+        Category salary = new Category(1L);
+        salary.setType(CategoryType.INCOME);
+        Category home = new Category(2L);
+        home.setName("Home");
+        home.setType(CategoryType.EXPENDITURE);
+        Category food = new Category(3L);
+        food.setName("Food");
+        food.setType(CategoryType.EXPENDITURE);
+        Budget income = new Budget(1L);
+        income.setCategory(salary);
+        income.setActual(5000);
+        Budget rent = new Budget(2L);
+        rent.setCategory(home);
+        rent.setProjected(1000);
+        rent.setActual(900);
+        Budget grocery = new Budget(3L);
+        grocery.setCategory(food);
+        grocery.setProjected(800);
+        grocery.setActual(500);
+        Budget dining = new Budget(4L);
+        dining.setCategory(food);
+        dining.setProjected(200);
+        dining.setActual(600);
+
+        // stub
+        when(budgetDAOMock.findBudgets(user, 8, 2017, false)).thenReturn(Arrays.asList(income, rent, grocery, dining));
+
+        // call
+        Dashboard dashboard = financeService.findDashboard(user, 8, 2017);
+
+        // verify
+        verify(budgetDAOMock, times(1)).findBudgets(user, 8, 2017, false);
+        verify(monthlyRollupDAOMock, never()).findByPeriod(any(User.class), anyInt());
+        assertEquals(3, dashboard.getAccount().getGroups().size());
+        assertEquals(5000, dashboard.getUsage().getIncome());
+        assertEquals(2000, dashboard.getUsage().getProjected());
+        assertEquals(2000, dashboard.getUsage().getActual());
+        assertEquals(2, dashboard.getCategoryUsage().size());
+        assertEquals("Food", dashboard.getCategoryUsage().get(0).getLabel());
+        assertEquals(1100, dashboard.getCategoryUsage().get(0).getValue());
+        assertEquals(900, dashboard.getCategoryUsage().get(1).getValue());
+        assertEquals(18, dashboard.getMonthlyUsage().size());
+    }
+
+    @Test
+    public void addTransactionsShouldUpdateEachDailySpendOnce(){
+        // setup
+        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
+        User user = new User(1L);
+        Budget budget = new Budget(1L);
+        budget.setPeriodKey(PeriodKey.of(1, 2017));
+        budget.setCategory(new Category(1L));
+        Date firstDay = Util.toDate("2017-01-01");
+        Date secondDay = Util.toDate("2017-01-02");
+
+        List<TransactionForm> forms = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            TransactionForm form = new TransactionForm();
+            form.setAmount(2);
+            form.setTransactionOn(i % 2 == 0 ? firstDay : secondDay);
+            form.setBudget(new Budget(1L));
+            forms.add(form);
+        }
+
+        // stub
+        when(budgetDAOMock.findByIds(eq(user), anyCollection())).thenReturn(Arrays.asList(budget));
+
+        // call
+        financeService.addTransactions(user, forms);
+
+        // verify
+        ArgumentCaptor<DailySpend> changes = ArgumentCaptor.forClass(DailySpend.class);
+        verify(dailySpendDAOMock, times(2)).apply(changes.capture());
+        assertEquals(firstDay, changes.getAllValues().get(0).getDay());
+        assertEquals(secondDay, changes.getAllValues().get(1).getDay());
+        for (DailySpend change : changes.getAllValues()) {
+            assertEquals(2, change.getCount());
+            assertEquals(4, change.getTotal());
+        }
+    }
+
+    @Test
+    public void postRecurringsShouldPostClaimedRecurrings(){
+        // setup
+        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
+        User user = new User();
+        user.setId(1L);
+        Budget budget = recurringBudget(user, 1L);
+        Recurring recurring = recurring(1L, budget.getBudgetType());
+
+        // stub
+        when(recurringDAOMock.findByIds(anyCollection())).thenReturn(Arrays.asList(recurring));
+        when(budgetDAOMock.findByBudgetTypes(anyCollection())).thenReturn(Arrays.asList(budget));
+        when(recurringDAOMock.updateRun(eq(1L), any(Date.class), any(Date.class))).thenReturn(true);
+
+        // call
+        Set<Long> posted = financeService.postRecurrings(Arrays.asList(1L));
+
+        // verify
+        assertEquals(Collections.singleton(1L), posted);
+        assertEquals(10, budget.getActual(), 0.001);
+        verify(recurringDAOMock).updateRun(eq(1L), any(Date.class), argThat(next -> next.after(new Date())));
+        verify(transactionDAOMock).addTransactions(argThat(transactions -> transactions.size() == 1 && transactions.get(0).getRecurring() == recurring));
+    }
+
+    @Test
+    public void postRecurringsShouldSkipRecurringPostedByAnotherRun(){
+        // setup
+        FinanceService financeService = new FinanceService(userDAOMock, budgetDAOMock, budgetTypeDAOMock, categoryDAOMock, transactionDAOMock, recurringDAOMock, authTokenDAOMock, monthlyRollupDAOMock, dailySpendDAOMock, passwordEncoderMock);
+        User user = new User();
+        user.setId(1L);
+        Budget budget = recurringBudget(user, 1L);
+        Recurring recurring = recurring(1L, budget.getBudgetType());
+
+        // stub
+        when(recurringDAOMock.findByIds(anyCollection())).thenReturn(Arrays.asList(recurring));
+        when(budgetDAOMock.findByBudgetTypes(anyCollection())).thenReturn(Arrays.asList(budget));
+        when(recurringDAOMock.updateRun(eq(1L), any(Date.class), any(Date.class))).thenReturn(false);
+
+        // call
+        Set<Long> posted = financeService.postRecurrings(Arrays.asList(1L));
+
+        // verify
+        assertEquals(Collections.emptySet(), posted);
+        assertEquals(0, budget.getActual(), 0.001);
+        verify(transactionDAOMock).addTransactions(argThat(List::isEmpty));
+    }
+
+    private Budget recurringBudget(User user, long id) {
+        BudgetType budgetType = new BudgetType();
+        budgetType.setId(id);
+        Budget budget = new Budget(id);
+        budget.setUser(user);
+        budget.setPeriodKey(PeriodKey.current());
+        budget.setCategory(new Category(1L));
+        budget.setBudgetType(budgetType);
+        return budget;
+    }
+
+    private Recurring recurring(long id, BudgetType budgetType) {
+        Recurring recurring = new Recurring();
+        recurring.setId(id);
+        recurring.setAmount(10);
+        recurring.setRecurringType(RecurringType.DAILY);
+        recurring.setBudgetType(budgetType);
+        recurring.run(Util.toDate(LocalDate.now().minusDays(1)));
+        return recurring;
+    }
+
+}
@@ -0,0 +1,109 @@
+package io.budgetapp.service;
+
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.budgetapp.application.DataConstraintException;
+import io.budgetapp.application.NotFoundException;
+import io.budgetapp.configuration.ImportConfiguration;
+import io.budgetapp.job.TransactionImporter;
+import io.budgetapp.model.ImportStatus;
+import io.budgetapp.model.User;
+import io.budgetapp.model.form.TransactionForm;
+import io.dropwizard.util.Size;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ImportServiceTest {
+
+    private final User user = new User(1L);
+
+    private TransactionImporter importer;
+    private ImportConfiguration configuration;
+    private ImportService importService;
+
+    @Before
+    public void setup() {
+        importer = mock(TransactionImporter.class);
+        configuration = new ImportConfiguration();
+        configuration.setMaxFileSize(Size.bytes(64));
+        importService = new ImportService(importer, MoreExecutors.newDirectExecutorService(), configuration);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldKeepSignOfRefunds() throws Exception {
+        when(importer.addTransactions(eq(user), anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(1)).size());
+
+        ImportStatus status = importService.importTransactions(user, csv("date,amount,budget\n2017-08-01,-12.50,1\n2017-08-02,3,1\n"), null);
+
+        ArgumentCaptor<List<TransactionForm>> forms = ArgumentCaptor.forClass(List.class);
+        verify(importer).addTransactions(eq(user), forms.capture());
+        assertEquals(-1250, forms.getValue().get(0).getAmount());
+        assertEquals(300, forms.getValue().get(1).getAmount());
+        assertEquals(ImportStatus.State.COMPLETED, status.getState());
+    }
+
+    @Test(expected = DataConstraintException.class)
+    public void shouldRejectOversizedFile() throws Exception {
+        StringBuilder content = new StringBuilder("date,amount,budget\n");
+        for (int i = 0; i < 10; i++) {
+            content.append("2017-08-01,1,1\n");
+        }
+
+        try {
+            importService.importTransactions(user, csv(content.toString()), null);
+        } finally {
+            verifyZeroInteractions(importer);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldKeepImportUntilRetentionAfterItFinished() throws Exception {
+        ExecutorService executor = mock(ExecutorService.class);
+        AtomicLong nanos = new AtomicLong();
+        Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        importService = new ImportService(importer, executor, configuration, ticker);
+        when(importer.addTransactions(eq(user), anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(1)).size());
+
+        ImportStatus status = importService.importTransactions(user, csv("date,amount,budget\n2017-08-01,3,1\n"), null);
+        ArgumentCaptor<Runnable> job = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).execute(job.capture());
+
+        // queued longer than the retention without being polled
+        long retention = configuration.getRetention().toNanoseconds();
+        nanos.addAndGet(retention * 2);
+        assertSame(status, importService.findImport(user, status.getId()));
+
+        job.getValue().run();
+        nanos.addAndGet(retention - 1);
+        assertEquals(ImportStatus.State.COMPLETED, importService.findImport(user, status.getId()).getState());
+
+        nanos.addAndGet(1);
+        try {
+            importService.findImport(user, status.getId());
+            fail();
+        } catch (NotFoundException e) {
+            // expired after the retention since it finished
+        }
+    }
+
+    private static ByteArrayInputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,92 @@
+package io.budgetapp.service;
+
+import io.budgetapp.model.Budget;
+import io.budgetapp.model.Category;
+import io.budgetapp.model.User;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class SuggestionServiceTest {
+
+    private final User user = new User(1L);
+    private final User otherUser = new User(2L);
+
+    private Transaction transaction;
+    private SuggestionService suggestionService;
+
+    @Before
+    public void setup() {
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        Session session = mock(Session.class);
+        transaction = mock(Transaction.class);
+        when(sessionFactory.getCurrentSession()).thenReturn(session);
+        when(session.getTransaction()).thenReturn(transaction);
+
+        suggestionService = new SuggestionService(sessionFactory);
+    }
+
+    private static Budget budget(String name) {
+        Budget budget = new Budget();
+        budget.setName(name);
+        return budget;
+    }
+
+    private Synchronization synchronization() {
+        ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+        verify(transaction).registerSynchronization(synchronization.capture());
+        return synchronization.getValue();
+    }
+
+    @Test
+    public void shouldSuggestBudgetAfterCommit() {
+        when(transaction.isActive()).thenReturn(true);
+        suggestionService.onBudgetsAdded(user, Collections.singletonList(budget("Rent")));
+
+        assertEquals(Collections.emptyList(), suggestionService.findBudgetSuggestions(otherUser, "ren"));
+        synchronization().afterCompletion(Status.STATUS_COMMITTED);
+        assertEquals(Collections.singletonList("Rent"), suggestionService.findBudgetSuggestions(otherUser, "ren"));
+    }
+
+    @Test
+    public void shouldNotSuggestRolledBackBudget() {
+        when(transaction.isActive()).thenReturn(true);
+        suggestionService.onBudgetsAdded(user, Collections.singletonList(budget("Rent")));
+
+        synchronization().afterCompletion(Status.STATUS_ROLLEDBACK);
+        assertEquals(Collections.emptyList(), suggestionService.findBudgetSuggestions(otherUser, "ren"));
+    }
+
+    @Test
+    public void shouldFollowRenamedAndDeletedNames() {
+        Budget budget = budget("Rent");
+        suggestionService.onBudgetsAdded(user, Collections.singletonList(budget));
+        budget.setName("House Rent");
+        suggestionService.onBudgetRenamed(user, budget, "Rent");
+
+        assertEquals(Collections.singletonList("House Rent"), suggestionService.findBudgetSuggestions(otherUser, "ren"));
+
+        suggestionService.onBudgetDeleted(user, budget);
+        assertEquals(Collections.emptyList(), suggestionService.findBudgetSuggestions(otherUser, "ren"));
+    }
+
+    @Test
+    public void shouldNotSuggestDeletedCategory() {
+        Category category = new Category();
+        category.setName("Travel");
+        suggestionService.onCategoriesAdded(user, Collections.singletonList(category));
+        suggestionService.onCategoryDeleted(user, category);
+
+        assertEquals(Collections.emptyList(), suggestionService.findCategorySuggestions(otherUser, "tra"));
+    }
+}
@@ -0,0 +1,153 @@
+package io.budgetapp.service;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.CacheBuilderSpec;
+import io.budgetapp.model.User;
+import io.budgetapp.service.SummaryCache.Summary;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class SummaryCacheTest {
+
+    private final User user = new User(1L);
+    private final User otherUser = new User(2L);
+
+    private Transaction transaction;
+    private MetricRegistry metricRegistry;
+    private SummaryCache summaryCache;
+    private AtomicInteger loads;
+
+    @Before
+    public void setup() {
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        Session session = mock(Session.class);
+        transaction = mock(Transaction.class);
+        when(sessionFactory.getCurrentSession()).thenReturn(session);
+        when(session.getTransaction()).thenReturn(transaction);
+
+        metricRegistry = new MetricRegistry();
+        summaryCache = new SummaryCache(metricRegistry, sessionFactory, CacheBuilderSpec.parse("maximumWeight=100, concurrencyLevel=1"));
+        loads = new AtomicInteger();
+    }
+
+    private Supplier<List<Integer>> loader() {
+        return () -> Collections.singletonList(loads.incrementAndGet());
+    }
+
+    private List<Integer> get(User user, Summary summary, int month, int year) {
+        return summaryCache.get(user, summary, month, year, loader());
+    }
+
+    @Test
+    public void shouldLoadSummaryOnce() {
+        assertEquals(get(user, Summary.ACCOUNT, 8, 2017), get(user, Summary.ACCOUNT, 8, 2017));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, metricRegistry.meter("io.budgetapp.service.SummaryCache.hits").getCount());
+        assertEquals(1, metricRegistry.meter("io.budgetapp.service.SummaryCache.misses").getCount());
+        assertEquals(1, metricRegistry.timer("io.budgetapp.service.SummaryCache.loads").getCount());
+    }
+
+    @Test
+    public void shouldInvalidateChangedMonthsOnly() {
+        get(user, Summary.ACCOUNT, 8, 2017);
+        get(user, Summary.ACCOUNT, 7, 2017);
+        get(user, Summary.TRANSACTION_USAGE, 9, 2017);
+        get(user, Summary.TRANSACTION_USAGE, 10, 2017);
+        get(otherUser, Summary.ACCOUNT, 8, 2017);
+        assertEquals(5, summaryCache.size());
+
+        summaryCache.onDataChanged(user, Collections.singleton(201708));
+
+        // account of august and the daily spending of september, which starts with the end of august
+        assertEquals(3, summaryCache.size());
+        get(user, Summary.ACCOUNT, 7, 2017);
+        get(user, Summary.TRANSACTION_USAGE, 10, 2017);
+        get(otherUser, Summary.ACCOUNT, 8, 2017);
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    public void shouldInvalidateMonthlyUsageOfFollowingMonths() {
+        get(user, Summary.MONTHLY_USAGE, 8, 2017);
+        get(user, Summary.MONTHLY_USAGE, 1, 2018);
+        get(user, Summary.MONTHLY_USAGE, 3, 2018);
+
+        summaryCache.onDataChanged(user, Arrays.asList(201707, 201708));
+
+        assertEquals(1, summaryCache.size());
+    }
+
+    @Test
+    public void shouldInvalidateAllMonths() {
+        get(user, Summary.ACCOUNT, 8, 2017);
+        get(user, Summary.USAGE, 7, 2016);
+        get(otherUser, Summary.USAGE, 7, 2016);
+
+        summaryCache.onDataChanged(user);
+
+        assertEquals(1, summaryCache.size());
+    }
+
+    @Test
+    public void shouldNotCacheSummaryLoadedDuringWrite() {
+        summaryCache.get(user, Summary.USAGE, 8, 2017, () -> {
+            summaryCache.onDataChanged(user, Collections.singleton(201601));
+            return Collections.emptyList();
+        });
+
+        assertEquals(0, summaryCache.size());
+    }
+
+    @Test
+    public void shouldInvalidateAgainAfterCommit() {
+        when(transaction.isActive()).thenReturn(true);
+        summaryCache.onDataChanged(user, Collections.singleton(201708));
+        ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+        verify(transaction).registerSynchronization(synchronization.capture());
+
+        // read the month before the write committed
+        get(user, Summary.USAGE, 8, 2017);
+        synchronization.getValue().afterCompletion(Status.STATUS_COMMITTED);
+
+        assertEquals(0, summaryCache.size());
+    }
+
+    @Test
+    public void shouldEvictByWeight() {
+        List<Integer> large = Collections.nCopies(60, 0);
+        summaryCache.get(user, Summary.CATEGORY_USAGE, 7, 2017, () -> large);
+        summaryCache.get(otherUser, Summary.CATEGORY_USAGE, 8, 2017, () -> large);
+
+        assertEquals(1, summaryCache.size());
+        assertEquals(1L, metricRegistry.getGauges().get("io.budgetapp.service.SummaryCache.evictions").getValue());
+    }
+
+    @Test
+    public void shouldEvictSummariesOfUserTogether() {
+        summaryCache.get(user, Summary.CATEGORY_USAGE, 7, 2017, () -> Collections.nCopies(40, 0));
+        summaryCache.get(otherUser, Summary.CATEGORY_USAGE, 7, 2017, () -> Collections.nCopies(20, 0));
+        summaryCache.get(user, Summary.CATEGORY_USAGE, 8, 2017, () -> Collections.nCopies(70, 0));
+
+        // the summaries of the user outweigh the cache together, the other user keeps theirs
+        assertEquals(1, summaryCache.size());
+        get(otherUser, Summary.CATEGORY_USAGE, 7, 2017);
+        assertEquals(0, loads.get());
+        assertEquals(0.25, metricRegistry.getGauges().get("io.budgetapp.service.SummaryCache.hit-ratio").getValue());
+    }
+}
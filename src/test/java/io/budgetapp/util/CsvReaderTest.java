@@ -0,0 +1,42 @@
+package io.budgetapp.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class CsvReaderTest {
+
+    @Test
+    public void shouldReadSimpleRecords() throws Exception {
+        CsvReader reader = new CsvReader(new StringReader("date,amount\r\n2017-01-01,10\n2017-01-02,"));
+
+        assertEquals(Arrays.asList("date", "amount"), reader.readRecord());
+        assertEquals(Arrays.asList("2017-01-01", "10"), reader.readRecord());
+        assertEquals(Arrays.asList("2017-01-02", ""), reader.readRecord());
+        assertNull(reader.readRecord());
+        assertEquals(3, reader.getRecordNumber());
+    }
+
+    @Test
+    public void shouldReadQuotedFields() throws Exception {
+        CsvReader reader = new CsvReader(new StringReader("\uFEFF\"a,b\",\"say \"\"hi\"\"\",\"multi\nline\"\nnext"));
+
+        assertEquals(Arrays.asList("a,b", "say \"hi\"", "multi\nline"), reader.readRecord());
+        assertEquals(Arrays.asList("next"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectUnterminatedQuote() throws Exception {
+        new CsvReader(new StringReader("\"abc\nxyz")).readRecord();
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectTooLongField() throws Exception {
+        new CsvReader(new StringReader("abcdef"), ',', 5).readRecord();
+    }
+}
@@ -0,0 +1,72 @@
+package io.budgetapp.util;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.budgetapp.model.Budget;
+import io.budgetapp.model.form.TransactionForm;
+import io.budgetapp.model.form.report.SearchFilter;
+import io.dropwizard.jackson.Jackson;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.*;
+
+public class MoneyTest {
+
+    private final ObjectMapper objectMapper = Jackson.newObjectMapper();
+
+    @Test
+    public void shouldParseAndFormatMinorUnits() {
+        assertEquals(1250, Money.parse("12.5"));
+        assertEquals(1250, Money.parse(" 12.50 "));
+        assertEquals(-1, Money.parse("-0.005"));
+        assertEquals(1, Money.parse("0.005"));
+        assertEquals(-1000, Money.parse("-10"));
+        assertEquals("12.50", Money.format(1250));
+        assertEquals("-0.05", Money.format(-5));
+        assertEquals(new BigDecimal("0.10"), Money.toDecimal(10));
+    }
+
+    @Test
+    public void shouldAddWithoutBinaryRounding() {
+        long total = 0;
+        for (int i = 0; i < 10; i++) {
+            total += Money.parse("0.1");
+        }
+        assertEquals("1.00", Money.format(total));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void shouldRejectOverflow() {
+        Money.parse("92233720368547758.08");
+    }
+
+    @Test
+    public void shouldKeepDecimalsOnTheWire() throws Exception {
+        Budget budget = new Budget(1L);
+        budget.setProjected(1250);
+        budget.setActual(-5);
+
+        String json = objectMapper.writeValueAsString(budget);
+
+        assertTrue(json, json.contains("\"projected\":12.50"));
+        assertTrue(json, json.contains("\"actual\":-0.05"));
+        assertEquals(1250, objectMapper.readValue(json, Budget.class).getProjected());
+    }
+
+    @Test
+    public void shouldReadNumbersAndStrings() throws Exception {
+        assertEquals(1999, objectMapper.readValue("{\"amount\":19.99}", TransactionForm.class).getAmount());
+        assertEquals(2000, objectMapper.readValue("{\"amount\":20}", TransactionForm.class).getAmount());
+        assertEquals(1999, objectMapper.readValue("{\"amount\":\"19.99\"}", TransactionForm.class).getAmount());
+        assertEquals(0, objectMapper.readValue("{\"amount\":null}", TransactionForm.class).getAmount());
+        assertNull(objectMapper.readValue("{\"minAmount\":null}", SearchFilter.class).getMinAmount());
+        assertEquals(Long.valueOf(150), objectMapper.readValue("{\"minAmount\":1.5}", SearchFilter.class).getMinAmount());
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void shouldRejectNonNumericAmount() throws Exception {
+        objectMapper.readValue("{\"amount\":\"ten\"}", TransactionForm.class);
+    }
+}
@@ -0,0 +1,35 @@
+package io.budgetapp.util;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.*;
+
+public class PeriodKeyTest {
+
+    @Test
+    public void shouldKeyMonths() {
+        assertEquals(201708, PeriodKey.of(8, 2017));
+        assertEquals(201708, PeriodKey.of(LocalDate.of(2017, 8, 31)));
+        assertEquals(201708, PeriodKey.of(Util.toDate("2017-08-01")));
+        assertEquals(2017, PeriodKey.year(201708));
+        assertEquals(8, PeriodKey.month(201708));
+    }
+
+    @Test
+    public void shouldRollMonthsOverYears() {
+        assertEquals(201801, PeriodKey.of(13, 2017));
+        assertEquals(201612, PeriodKey.of(0, 2017));
+        assertEquals(201802, PeriodKey.plusMonths(201711, 3));
+        assertEquals(201611, PeriodKey.plusMonths(201705, -6));
+        assertTrue(PeriodKey.of(12, 2016) < PeriodKey.of(1, 2017));
+    }
+
+    @Test
+    public void shouldConvertToFirstDay() {
+        assertEquals(LocalDate.of(2017, 8, 1), PeriodKey.toLocalDate(201708));
+        assertEquals(Util.toDate("2017-08-01"), PeriodKey.toDate(201708));
+        assertEquals(Util.toDate("2017-08-01"), Util.yearMonthDate(8, 2017));
+    }
+}
@@ -0,0 +1,83 @@
+package io.budgetapp.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class SuggestionIndexTest {
+
+    private SuggestionIndex index;
+
+    @Before
+    public void setup() {
+        index = new SuggestionIndex();
+        index.add("Groceries", SuggestionIndex.SHARED, 50);
+        index.add("Gross Salary", SuggestionIndex.SHARED, 5);
+        index.add("Rent", SuggestionIndex.SHARED, 40);
+        index.add("Car Rental", 1, 2);
+        index.add("Utilities", SuggestionIndex.SHARED, 30);
+    }
+
+    @Test
+    public void shouldMatchSubstringIgnoringCase() {
+        assertEquals(Arrays.asList("Groceries", "Gross Salary"), index.find("GRO", 2, 10));
+        assertEquals(Arrays.asList("Rent", "Car Rental"), index.find("ent", 2, 10));
+        assertEquals(Collections.singletonList("Gross Salary"), index.find("ss sal", 2, 10));
+    }
+
+    @Test
+    public void shouldMatchShortQuery() {
+        assertEquals(Arrays.asList("Groceries", "Rent", "Utilities", "Car Rental"), index.find("e", 2, 10));
+        assertEquals(Arrays.asList("Groceries", "Rent", "Utilities"), index.find(null, 2, 3));
+    }
+
+    @Test
+    public void shouldRankByUsage() {
+        index.add("Car Rental", 2, 100);
+
+        assertEquals(Arrays.asList("Car Rental", "Rent"), index.find("ren", 3, 10));
+    }
+
+    @Test
+    public void shouldSkipNamesOnlyUsedByTheUser() {
+        assertEquals(Collections.singletonList("Rent"), index.find("ren", 1, 10));
+
+        // another user uses the same name
+        index.add("Car Rental", 2, 1);
+        assertEquals(Arrays.asList("Rent", "Car Rental"), index.find("ren", 1, 10));
+    }
+
+    @Test
+    public void shouldNotMatchMissingGram() {
+        assertEquals(Collections.emptyList(), index.find("xyz", 2, 10));
+        assertEquals(Collections.emptyList(), index.find("groceriesx", 2, 10));
+    }
+
+    @Test
+    public void shouldAddNameOnce() {
+        index.add("Rent", 3, 1);
+
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    public void shouldNotMatchNameWithoutUsages() {
+        index.remove("Car Rental", 2);
+
+        assertEquals(Collections.singletonList("Rent"), index.find("ren", 2, 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void shouldMatchNameUsedAgain() {
+        index.remove("Car Rental", 2);
+        index.add("Car Rental", 3, 1);
+
+        assertEquals(Arrays.asList("Rent", "Car Rental"), index.find("ren", 2, 10));
+        assertEquals(Collections.singletonList("Rent"), index.find("ren", 3, 10));
+    }
+}